@@ -7,10 +7,17 @@ import com.facebook.imagepipeline.core.ImagePipelineConfig;
 import com.facebook.imagepipeline.memory.PoolConfig;
 import com.facebook.imagepipeline.memory.PoolFactory;
 
+import com.kafitra.lynxhost.LoadPriority;
+import com.kafitra.lynxhost.LynxBootstrap;
+import com.kafitra.lynxhost.LynxBootstrap.Mode;
+import com.kafitra.lynxhost.LynxViewPool;
+import com.kafitra.lynxhost.TemplateLoader;
 import com.lynx.tasm.LynxEnv;
+import com.lynx.tasm.LynxViewBuilder;
 import com.lynx.tasm.service.LynxServiceCenter;
 import com.lynx.service.image.LynxImageService;
 import com.lynx.service.log.LynxLogService;
+import com.lynx.xelement.XElementBehaviors;
 
 /**
  * Application class that initializes Lynx runtime and registers native modules.
@@ -20,35 +27,63 @@ public class DemoApplication extends Application {
     @Override
     public void onCreate() {
         super.onCreate();
-        initLynxService();
-        initLynxEnv();
+        final LynxViewPool pool = LynxViewPool.getInstance(this);
+        pool.setViewConfig(DemoApplication::configureLynxView);
+
+        // Independent steps overlap: Fresco and the first template load run on background
+        // threads while LynxEnv starts on the main thread. Per-step timings are logged
+        // under the "LynxBootstrap" tag.
+        new LynxBootstrap()
+                .addStep("template-prefetch", Mode.BACKGROUND, this::prefetchFirstTemplate)
+                .addStep("fresco", Mode.BACKGROUND, this::initFresco)
+                .addStep("lynx-services", Mode.MAIN, this::registerLynxServices, "fresco")
+                .addStep("lynx-env", Mode.MAIN, this::initLynxEnv)
+                .addStep("autolink", Mode.MAIN, LynxAutolinkRegistry::registerAll, "lynx-env")
+                .addStep("autolink-preload", Mode.BACKGROUND,
+                        LynxAutolinkRegistry::preloadInBackground)
+                .addStep("view-prewarm", Mode.MAIN, pool::prewarm, "autolink", "lynx-services")
+                .start(this);
+    }
+
+    /**
+     * Start loading the first screen's bundle before MainActivity exists.
+     */
+    private void prefetchFirstTemplate() {
+        TemplateLoader.getInstance(this).prefetch(MainActivity.BUNDLE_URL, LoadPriority.HIGH);
     }
 
     /**
-     * Initialize Lynx services: Image (Fresco), Log, and Http.
+     * Initialize Fresco (required by LynxImageService).
      */
-    private void initLynxService() {
-        // Initialize Fresco (required by LynxImageService)
+    private void initFresco() {
         final PoolFactory factory = new PoolFactory(PoolConfig.newBuilder().build());
         ImagePipelineConfig.Builder builder = ImagePipelineConfig
                 .newBuilder(getApplicationContext())
                 .setPoolFactory(factory);
         Fresco.initialize(getApplicationContext(), builder.build());
+    }
 
-        // Register Lynx services
+    /**
+     * Register Lynx services: Image and Log.
+     */
+    private void registerLynxServices() {
         LynxServiceCenter.inst().registerService(LynxImageService.getInstance());
         LynxServiceCenter.inst().registerService(LynxLogService.INSTANCE);
     }
 
     /**
-     * Initialize LynxEnv and register native modules.
-     * Modules are auto-linked via LynxAutolinkRegistry — generated by `npx @kafitra/lynx-cli link`.
+     * Initialize the Lynx engine. Native modules are registered by the "autolink" step —
+     * LynxAutolinkRegistry is generated by `npx @kafitra/lynx-cli link`.
      */
     private void initLynxEnv() {
-        // Initialize the Lynx engine
         LynxEnv.inst().init(this, null, null, null);
+    }
 
-        // Register all auto-linked native modules
-        LynxAutolinkRegistry.registerAll();
+    /**
+     * Configure every LynxView with XElement support.
+     */
+    private static void configureLynxView(LynxViewBuilder builder) {
+        builder.addBehaviors(new XElementBehaviors().create());
+        LynxAutolinkRegistry.configureView(builder);
     }
 }
@@ -3,6 +3,7 @@ package com.kafitra.demo;
 import com.lynx.tasm.LynxEnv;
 
 import com.kafitra.lynxdeviceinfo.LynxDeviceInfoModule;
+import com.kafitra.lynxhost.StartupTraceModule;
 
 /**
  * Auto-generated by @kafitra/lynx-autolink.
@@ -10,8 +11,31 @@ import com.kafitra.lynxdeviceinfo.LynxDeviceInfoModule;
  * DO NOT EDIT MANUALLY.
  */
 public class LynxAutolinkRegistry {
+    /**
+     * Register eager and background modules with LynxEnv.
+     * Call once from Application.onCreate(), after LynxEnv.init().
+     */
     public static void registerAll() {
         LynxEnv.inst().registerModule(
+            "LynxStartupTrace",
+            StartupTraceModule.class
+        );
+    }
+
+    /**
+     * Load and initialize the classes of background modules.
+     * Call once from a background thread during startup.
+     */
+    public static void preloadInBackground() {
+        // no background modules
+    }
+
+    /**
+     * Register lazy modules and native UI components with a LynxViewBuilder.
+     * Call for every view, before LynxViewBuilder.build().
+     */
+    public static void configureView(com.lynx.tasm.LynxViewBuilder builder) {
+        builder.registerModule(
             "LynxDeviceInfo",
             LynxDeviceInfoModule.class
         );
@@ -4,9 +4,8 @@ import android.app.Activity;
 import android.os.Bundle;
 import android.view.View;
 
+import com.kafitra.lynxhost.LynxViewPool;
 import com.lynx.tasm.LynxView;
-import com.lynx.tasm.LynxViewBuilder;
-import com.lynx.xelement.XElementBehaviors;
 
 /**
  * Main activity that renders the Lynx bundle in a full-screen LynxView.
@@ -22,8 +21,8 @@ public class MainActivity extends Activity {
     // Bundle URL is selected automatically:
     //   Debug builds  → dev server on localhost:3000 (requires: adb reverse tcp:3000 tcp:3000)
     //   Release builds → assets/main.lynx.bundle bundled inside the APK
-    // DemoTemplateProvider will fall back to the asset bundle if the dev server is unreachable.
-    private static final String BUNDLE_URL = BuildConfig.DEBUG
+    // LynxTemplateProvider will fall back to the asset bundle if the dev server is unreachable.
+    static final String BUNDLE_URL = BuildConfig.DEBUG
             ? "http://localhost:3000/main.lynx.bundle"
             : "main.lynx.bundle";
 
@@ -37,28 +36,19 @@ public class MainActivity extends Activity {
                         | View.SYSTEM_UI_FLAG_LAYOUT_FULLSCREEN
         );
 
-        mLynxView = buildLynxView();
+        // Prewarmed by DemoApplication, which also started loading the bundle
+        mLynxView = LynxViewPool.getInstance(this).acquire(this);
         setContentView(mLynxView);
 
         // Render the Lynx bundle
         mLynxView.renderTemplateUrl(BUNDLE_URL, "");
     }
 
-    /**
-     * Build a LynxView with template provider and XElement support.
-     */
-    private LynxView buildLynxView() {
-        LynxViewBuilder viewBuilder = new LynxViewBuilder();
-        viewBuilder.setTemplateProvider(new DemoTemplateProvider(this));
-        viewBuilder.addBehaviors(new XElementBehaviors().create());
-        return viewBuilder.build(this);
-    }
-
     @Override
     protected void onDestroy() {
         super.onDestroy();
         if (mLynxView != null) {
-            mLynxView.destroy();
+            LynxViewPool.getInstance(this).release(mLynxView);
             mLynxView = null;
         }
     }
@@ -5,33 +5,63 @@ import com.facebook.drawee.backends.pipeline.Fresco;
 import com.facebook.imagepipeline.core.ImagePipelineConfig;
 import com.facebook.imagepipeline.memory.PoolConfig;
 import com.facebook.imagepipeline.memory.PoolFactory;
+import com.kafitra.lynxhost.LoadPriority;
+import com.kafitra.lynxhost.LynxBootstrap;
+import com.kafitra.lynxhost.LynxBootstrap.Mode;
+import com.kafitra.lynxhost.LynxViewPool;
+import com.kafitra.lynxhost.TemplateLoader;
 import com.lynx.tasm.LynxEnv;
+import com.lynx.tasm.LynxViewBuilder;
 import com.lynx.tasm.service.LynxServiceCenter;
 import com.lynx.service.image.LynxImageService;
 import com.lynx.service.log.LynxLogService;
+import com.lynx.xelement.XElementBehaviors;
 
 public class LynxApplication extends Application {
 
     @Override
     public void onCreate() {
         super.onCreate();
-        initLynxService();
-        initLynxEnv();
+        final LynxViewPool pool = LynxViewPool.getInstance(this);
+        pool.setViewConfig(LynxApplication::configureLynxView);
+
+        // Fresco and the template load run in the background while LynxEnv starts on the
+        // main thread. Add Mode.DEFERRED steps for work the first screen does not need.
+        new LynxBootstrap()
+                .addStep("template-prefetch", Mode.BACKGROUND, this::prefetchFirstTemplate)
+                .addStep("fresco", Mode.BACKGROUND, this::initFresco)
+                .addStep("lynx-services", Mode.MAIN, this::registerLynxServices, "fresco")
+                .addStep("lynx-env", Mode.MAIN, this::initLynxEnv)
+                .addStep("autolink", Mode.MAIN, LynxAutolinkRegistry::registerAll, "lynx-env")
+                .addStep("autolink-preload", Mode.BACKGROUND,
+                        LynxAutolinkRegistry::preloadInBackground)
+                .addStep("view-prewarm", Mode.MAIN, pool::prewarm, "autolink", "lynx-services")
+                .start(this);
+    }
+
+    private void prefetchFirstTemplate() {
+        TemplateLoader.getInstance(this).prefetch(MainActivity.BUNDLE_URL, LoadPriority.HIGH);
     }
 
-    private void initLynxService() {
+    private void initFresco() {
         final PoolFactory factory = new PoolFactory(PoolConfig.newBuilder().build());
         ImagePipelineConfig.Builder config = ImagePipelineConfig
                 .newBuilder(getApplicationContext())
                 .setPoolFactory(factory);
         Fresco.initialize(getApplicationContext(), config.build());
+    }
 
+    private void registerLynxServices() {
         LynxServiceCenter.inst().registerService(LynxImageService.getInstance());
         LynxServiceCenter.inst().registerService(LynxLogService.INSTANCE);
     }
 
     private void initLynxEnv() {
         LynxEnv.inst().init(this, null, null, null);
-        LynxAutolinkRegistry.registerAll();
+    }
+
+    private static void configureLynxView(LynxViewBuilder builder) {
+        builder.addBehaviors(new XElementBehaviors().create());
+        LynxAutolinkRegistry.configureView(builder);
     }
 }
@@ -4,6 +4,7 @@ import com.lynx.tasm.LynxEnv;
 
 import com.kafitra.lynxcamera.LynxCameraView;
 import com.kafitra.lynxdeviceinfo.LynxDeviceInfoModule;
+import com.kafitra.lynxhost.StartupTraceModule;
 import com.kafitra.lynxstorage.LynxStorageModule;
 
 /**
@@ -12,20 +13,44 @@ import com.kafitra.lynxstorage.LynxStorageModule;
  * DO NOT EDIT MANUALLY.
  */
 public class LynxAutolinkRegistry {
+    /**
+     * Register eager and background modules with LynxEnv.
+     * Call once from Application.onCreate(), after LynxEnv.init().
+     */
     public static void registerAll() {
         LynxEnv.inst().registerModule(
-            "LynxDeviceInfo",
-            LynxDeviceInfoModule.class
+            "LynxStartupTrace",
+            StartupTraceModule.class
         );
         LynxEnv.inst().registerModule(
             "LynxStorage",
             LynxStorageModule.class
         );
     }
+
+    /**
+     * Load and initialize the classes of background modules.
+     * Call once from a background thread during startup.
+     */
+    public static void preloadInBackground() {
+        preload(LynxStorageModule.class);
+    }
+
+    /**
+     * Register lazy modules and native UI components with a LynxViewBuilder.
+     * Call for every view, before LynxViewBuilder.build().
+     */
+    public static void configureView(com.lynx.tasm.LynxViewBuilder builder) {
+        builder.registerModule(
+            "LynxDeviceInfo",
+            LynxDeviceInfoModule.class
+        );
+        addUIBehaviorsTo(builder);
+    }
+
     /**
      * Register all native UI components with a LynxViewBuilder.
-     * Call this in your Activity after creating the LynxViewBuilder,
-     * before calling LynxViewBuilder.build().
+     * Prefer configureView(), which also registers lazy modules.
      */
     public static void addUIBehaviorsTo(com.lynx.tasm.LynxViewBuilder builder) {
         builder.addBehavior(new com.lynx.tasm.behavior.Behavior("camera") {
@@ -35,4 +60,12 @@ public class LynxAutolinkRegistry {
             }
         });
     }
+
+    private static void preload(Class<?> moduleClass) {
+        try {
+            Class.forName(moduleClass.getName(), true, moduleClass.getClassLoader());
+        } catch (ClassNotFoundException e) {
+            throw new IllegalStateException(e);
+        }
+    }
 }
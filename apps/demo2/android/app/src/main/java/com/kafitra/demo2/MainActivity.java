@@ -2,26 +2,19 @@ package com.kafitra.demo2;
 
 import androidx.appcompat.app.AppCompatActivity;
 import android.os.Bundle;
-import android.os.Handler;
-import android.os.Looper;
 import android.view.View;
+import com.kafitra.lynxhost.DevReloadClient;
+import com.kafitra.lynxhost.LynxViewPool;
 import com.lynx.tasm.LynxView;
-import com.lynx.tasm.LynxViewBuilder;
-import com.lynx.xelement.XElementBehaviors;
-import java.io.IOException;
-import java.net.HttpURLConnection;
-import java.net.URL;
 
 public class MainActivity extends AppCompatActivity {
 
     private LynxView mLynxView;
-    private final Handler mMainHandler = new Handler(Looper.getMainLooper());
-    private String mLastEtag = null;
-    private boolean mInitialEtagSet = false;
-    private Runnable mPollRunnable;
-    private static final int POLL_INTERVAL_MS = 1500;
+    private DevReloadClient mReloadClient;
+    /** Data the template was rendered with; a live reload renders with it again. */
+    private String mTemplateData = "";
 
-    private static final String BUNDLE_URL = BuildConfig.DEBUG
+    static final String BUNDLE_URL = BuildConfig.DEBUG
             ? "http://localhost:3000/main.lynx.bundle"
             : "main.lynx.bundle";
 
@@ -30,77 +23,37 @@ public class MainActivity extends AppCompatActivity {
         super.onCreate(savedInstanceState);
         getWindow().getDecorView().setSystemUiVisibility(
                 View.SYSTEM_UI_FLAG_FULLSCREEN | View.SYSTEM_UI_FLAG_LAYOUT_FULLSCREEN);
-        mLynxView = buildLynxView();
+        // Prewarmed by LynxApplication; the template is already loading.
+        mLynxView = LynxViewPool.getInstance(this).acquire(this);
         setContentView(mLynxView);
-        mLynxView.renderTemplateUrl(BUNDLE_URL, "");
+        mLynxView.renderTemplateUrl(BUNDLE_URL, mTemplateData);
 
         if (BuildConfig.DEBUG) {
-            startPolling();
+            startLiveReload();
         }
     }
 
-    private LynxView buildLynxView() {
-        LynxViewBuilder viewBuilder = new LynxViewBuilder();
-        viewBuilder.setTemplateProvider(new LynxTemplateProvider(this));
-        viewBuilder.addBehaviors(new XElementBehaviors().create());
-        LynxAutolinkRegistry.addUIBehaviorsTo(viewBuilder);
-        return viewBuilder.build(this);
-    }
-
-    /** Poll bundle URL via HEAD request; reload when ETag changes. */
-    private void startPolling() {
-        mPollRunnable = new Runnable() {
-            @Override
-            public void run() {
-                checkForUpdate();
-                mMainHandler.postDelayed(this, POLL_INTERVAL_MS);
-            }
-        };
-        mMainHandler.postDelayed(mPollRunnable, POLL_INTERVAL_MS);
-    }
-
-    private void checkForUpdate() {
-        new Thread(() -> {
-            try {
-                HttpURLConnection conn = (HttpURLConnection) new URL(BUNDLE_URL).openConnection();
-                conn.setRequestMethod("HEAD");
-                conn.setConnectTimeout(1000);
-                conn.setReadTimeout(1000);
-                if (mLastEtag != null) {
-                    conn.setRequestProperty("If-None-Match", mLastEtag);
-                }
-                conn.connect();
-                int code = conn.getResponseCode();
-                String etag = conn.getHeaderField("ETag");
-                conn.disconnect();
-
-                if (code == 200 && etag != null && !etag.equals(mLastEtag)) {
-                    if (!mInitialEtagSet) {
-                        // First poll — just record ETag, don't reload (initial render already done)
-                        mInitialEtagSet = true;
-                    } else {
-                        android.util.Log.d("LynxHMR", "Bundle changed (ETag: " + etag + "), reloading...");
-                        mMainHandler.post(() -> {
-                            if (mLynxView != null) mLynxView.renderTemplateUrl(BUNDLE_URL, "");
-                        });
-                    }
-                    mLastEtag = etag;
-                }
-            } catch (IOException ignored) {
-                // Dev server not running yet — silently retry next poll
-            }
-        }).start();
+    /**
+     * Reload when {@code lynx dev} pushes a bundle change: the same LynxView re-renders with
+     * the same data, and only a patch against the previous build is downloaded.
+     */
+    private void startLiveReload() {
+        mReloadClient = new DevReloadClient(this, BUNDLE_URL, () -> {
+            android.util.Log.d("LynxHMR", "Bundle changed, reloading...");
+            if (mLynxView != null) mLynxView.renderTemplateUrl(BUNDLE_URL, mTemplateData);
+        });
+        mReloadClient.start();
     }
 
     @Override
     protected void onDestroy() {
         super.onDestroy();
-        if (mPollRunnable != null) {
-            mMainHandler.removeCallbacks(mPollRunnable);
-            mPollRunnable = null;
+        if (mReloadClient != null) {
+            mReloadClient.stop();
+            mReloadClient = null;
         }
         if (mLynxView != null) {
-            mLynxView.destroy();
+            LynxViewPool.getInstance(this).release(mLynxView);
             mLynxView = null;
         }
     }
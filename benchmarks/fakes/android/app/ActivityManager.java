@@ -0,0 +1,20 @@
+package android.app;
+
+/** Fake. */
+public class ActivityManager {
+
+    public static class MemoryInfo {
+        public long totalMem;
+    }
+
+    public void getMemoryInfo(MemoryInfo outInfo) {
+    }
+
+    public int getMemoryClass() {
+        return 256;
+    }
+
+    public boolean isLowRamDevice() {
+        return false;
+    }
+}
@@ -0,0 +1,28 @@
+package android.content;
+
+import java.io.File;
+
+/** Fake: only what the module sources call. Benchmarks subclass it. */
+public class Context {
+    public static final int MODE_PRIVATE = 0;
+    public static final String ACTIVITY_SERVICE = "activity";
+    public static final String DISPLAY_SERVICE = "display";
+    public static final String POWER_SERVICE = "power";
+
+    public Context getApplicationContext() {
+        return this;
+    }
+
+    /** No system services on the JVM; callers already handle {@code null}. */
+    public Object getSystemService(String name) {
+        return null;
+    }
+
+    public SharedPreferences getSharedPreferences(String name, int mode) {
+        throw new UnsupportedOperationException("override in the benchmark");
+    }
+
+    public File getCacheDir() {
+        return new File(System.getProperty("java.io.tmpdir"));
+    }
+}
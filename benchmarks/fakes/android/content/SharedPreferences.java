@@ -0,0 +1,25 @@
+package android.content;
+
+import java.util.Map;
+
+/** Fake: the subset of the Android interface the module sources use. */
+public interface SharedPreferences {
+
+    boolean contains(String key);
+
+    String getString(String key, String defValue);
+
+    Map<String, ?> getAll();
+
+    Editor edit();
+
+    interface Editor {
+        Editor putString(String key, String value);
+
+        Editor remove(String key);
+
+        Editor clear();
+
+        void apply();
+    }
+}
@@ -0,0 +1,10 @@
+package android.hardware.display;
+
+import android.view.Display;
+
+/** Fake. */
+public final class DisplayManager {
+    public Display getDisplay(int displayId) {
+        return null;
+    }
+}
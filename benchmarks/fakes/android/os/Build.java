@@ -0,0 +1,20 @@
+package android.os;
+
+/** Fake: fixed values of a typical mid-range phone. */
+public class Build {
+    public static String BRAND = "google";
+    public static String MODEL = "Pixel 8";
+    public static String MANUFACTURER = "Google";
+    public static String DEVICE = "shiba";
+
+    public static class VERSION {
+        public static int SDK_INT = 34;
+        public static String RELEASE = "14";
+        public static int MEDIA_PERFORMANCE_CLASS = 0;
+    }
+
+    public static class VERSION_CODES {
+        public static final int Q = 29;
+        public static final int S = 31;
+    }
+}
@@ -0,0 +1,8 @@
+package android.os;
+
+/** Fake. */
+public final class Debug {
+    public static long getNativeHeapAllocatedSize() {
+        return 0;
+    }
+}
@@ -0,0 +1,18 @@
+package android.os;
+
+/** Fake: construction works, posting does not (telemetry is not benchmarked). */
+public class Handler {
+    public Handler(Looper looper) {
+    }
+
+    public boolean post(Runnable r) {
+        throw new UnsupportedOperationException("no looper on the JVM");
+    }
+
+    public boolean postDelayed(Runnable r, long delayMillis) {
+        throw new UnsupportedOperationException("no looper on the JVM");
+    }
+
+    public void removeCallbacks(Runnable r) {
+    }
+}
@@ -0,0 +1,8 @@
+package android.os;
+
+/** Fake: there is no main looper on the JVM. */
+public final class Looper {
+    public static Looper getMainLooper() {
+        return new Looper();
+    }
+}
@@ -0,0 +1,12 @@
+package android.os;
+
+/** Fake. */
+public final class PowerManager {
+    public int getCurrentThermalStatus() {
+        return 0;
+    }
+
+    public boolean isPowerSaveMode() {
+        return false;
+    }
+}
@@ -0,0 +1,19 @@
+package android.view;
+
+/** Fake: frame callbacks never fire on the JVM. */
+public final class Choreographer {
+
+    public interface FrameCallback {
+        void doFrame(long frameTimeNanos);
+    }
+
+    public static Choreographer getInstance() {
+        return new Choreographer();
+    }
+
+    public void postFrameCallback(FrameCallback callback) {
+    }
+
+    public void removeFrameCallback(FrameCallback callback) {
+    }
+}
@@ -0,0 +1,10 @@
+package android.view;
+
+/** Fake. */
+public final class Display {
+    public static final int DEFAULT_DISPLAY = 0;
+
+    public float getRefreshRate() {
+        return 60f;
+    }
+}
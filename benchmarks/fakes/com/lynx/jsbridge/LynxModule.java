@@ -0,0 +1,12 @@
+package com.lynx.jsbridge;
+
+import android.content.Context;
+
+/** Fake base class; the bridge itself is not part of the measurement. */
+public abstract class LynxModule {
+    protected Context mContext;
+
+    public LynxModule(Context context) {
+        mContext = context;
+    }
+}
@@ -0,0 +1,17 @@
+package com.lynx.react.bridge;
+
+import java.util.ArrayList;
+
+/** Fake: an {@link ArrayList}, like the Lynx class. */
+public class JavaOnlyArray extends ArrayList<Object> {
+
+    private static final long serialVersionUID = 1L;
+
+    public void pushMap(JavaOnlyMap map) {
+        add(map);
+    }
+
+    public void pushArray(JavaOnlyArray array) {
+        add(array);
+    }
+}
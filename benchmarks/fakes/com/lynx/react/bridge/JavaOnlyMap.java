@@ -0,0 +1,58 @@
+package com.lynx.react.bridge;
+
+import java.util.HashMap;
+
+/** Fake: a {@link HashMap}, like the Lynx class, so allocation per call is comparable. */
+public class JavaOnlyMap extends HashMap<String, Object> implements ReadableMap {
+
+    private static final long serialVersionUID = 1L;
+
+    public void putString(String key, String value) {
+        put(key, value);
+    }
+
+    public void putInt(String key, int value) {
+        put(key, value);
+    }
+
+    public void putDouble(String key, double value) {
+        put(key, value);
+    }
+
+    public void putBoolean(String key, boolean value) {
+        put(key, value);
+    }
+
+    @Override
+    public boolean hasKey(String name) {
+        return containsKey(name);
+    }
+
+    @Override
+    public int getInt(String name) {
+        return ((Number) get(name)).intValue();
+    }
+
+    @Override
+    public int getInt(String name, int defaultValue) {
+        Object value = get(name);
+        return value instanceof Number ? ((Number) value).intValue() : defaultValue;
+    }
+
+    @Override
+    public double getDouble(String name, double defaultValue) {
+        Object value = get(name);
+        return value instanceof Number ? ((Number) value).doubleValue() : defaultValue;
+    }
+
+    @Override
+    public boolean getBoolean(String name) {
+        return (Boolean) get(name);
+    }
+
+    @Override
+    public String getString(String name, String defaultValue) {
+        Object value = get(name);
+        return value instanceof String ? (String) value : defaultValue;
+    }
+}
@@ -0,0 +1,17 @@
+package com.lynx.react.bridge;
+
+/** Fake: the subset of the Lynx interface the module sources use. */
+public interface ReadableMap {
+
+    boolean hasKey(String name);
+
+    int getInt(String name);
+
+    int getInt(String name, int defaultValue);
+
+    double getDouble(String name, double defaultValue);
+
+    boolean getBoolean(String name);
+
+    String getString(String name, String defaultValue);
+}
@@ -0,0 +1,11 @@
+package com.lynx.tasm.behavior;
+
+import android.content.Context;
+
+import com.lynx.react.bridge.JavaOnlyArray;
+
+/** Fake: global events go nowhere. */
+public class LynxContext extends Context {
+    public void sendGlobalEvent(String name, JavaOnlyArray params) {
+    }
+}
@@ -0,0 +1,23 @@
+package org.json;
+
+import java.util.ArrayList;
+
+/** Fake: strings only, serialized the way org.json does for plain keys. */
+public class JSONArray {
+    private final ArrayList<Object> mValues = new ArrayList<>();
+
+    public JSONArray put(Object value) {
+        mValues.add(value);
+        return this;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder out = new StringBuilder("[");
+        for (int i = 0; i < mValues.size(); i++) {
+            if (i > 0) out.append(',');
+            out.append('"').append(String.valueOf(mValues.get(i)).replace("\"", "\\\"")).append('"');
+        }
+        return out.append(']').toString();
+    }
+}
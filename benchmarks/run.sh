@@ -0,0 +1,60 @@
+#!/bin/sh
+# Compile the native modules' Java sources against the fakes in fakes/ and run the JMH
+# benchmarks with the GC profiler on the local JVM (no Android SDK needed). Exits non-zero
+# when a benchmark allocates more per call than allocation-budget.properties allows.
+#
+#   ./run.sh                       all benchmarks, gated
+#   ./run.sh StorageBenchmark      benchmarks matching a regex
+#   ./run.sh --update              measure and rewrite the budgets
+set -e
+cd "$(dirname "$0")"
+
+MAVEN=https://repo1.maven.org/maven2
+LIB=build/lib
+OUT=build/classes
+GEN=build/generated
+mkdir -p "$LIB" "$OUT" "$GEN"
+
+# Jars are pinned by SHA-256 (matching the .sha1 files on Maven Central); a cached or
+# downloaded jar with any other content is deleted and the run fails.
+sha256() {
+  if command -v sha256sum >/dev/null 2>&1; then sha256sum "$1"; else shasum -a 256 "$1"; fi | cut -d' ' -f1
+}
+fetch() { # group/path artifact version sha256
+  jar="$LIB/$2-$3.jar"
+  if [ ! -f "$jar" ]; then
+    curl -fsSL -o "$jar.part" "$MAVEN/$1/$2/$3/$2-$3.jar"
+    mv "$jar.part" "$jar"
+  fi
+  if [ "$(sha256 "$jar")" != "$4" ]; then
+    echo "checksum mismatch for $jar" >&2
+    rm -f "$jar"
+    exit 1
+  fi
+}
+fetch org/openjdk/jmh jmh-core 1.37 \
+  dc0eaf2bbf0036a70b60798c785d6e03a9daf06b68b8edb0f1ba9eb3421baeb3
+CP="$jar"
+fetch net/sf/jopt-simple jopt-simple 5.0.4 \
+  df26cc58f235f477db07f753ba5a3ab243ebe5789d9f89ecf68dd62ea9a66c28
+CP="$CP:$jar"
+fetch org/apache/commons commons-math3 3.6.1 \
+  1e56d7b058d28b65abd256b8458e3885b674c1d588fa43cd7d1cbb9c7ef2b308
+CP="$CP:$jar"
+fetch org/openjdk/jmh jmh-generator-annprocess 1.37 \
+  6a5604b5b804e0daca1145df1077609321687734a8b49387e49f10557c186c77
+PROCESSOR="$jar"
+
+PACKAGES=../packages
+rm -rf "$OUT" "$GEN" && mkdir -p "$OUT" "$GEN"
+# --release 8: the modules target Java 8, so catch newer APIs here too. Lint warnings fail
+# the build, so they are fixed rather than accumulated.
+javac -encoding UTF-8 --release 8 -Xlint:all,-options,-processing -Werror \
+  -cp "$CP" -processorpath "$PROCESSOR:$CP" -s "$GEN" -d "$OUT" \
+  $(find fakes src -name '*.java') \
+  "$PACKAGES/lynx-storage/android/src/main/java/com/kafitra/lynxstorage/LynxStorageModule.java" \
+  $(find "$PACKAGES/lynx-device-info/android/src/main/java" -name '*.java') \
+  $(find "$PACKAGES/lynx-scheduler/android/src/main/java" -name '*.java') \
+  "$PACKAGES/lynx-camera/android/src/main/java/com/kafitra/lynxcamera/CameraParams.java"
+
+java -cp "$OUT:$CP" com.kafitra.benchmarks.AllocationGate "$@"
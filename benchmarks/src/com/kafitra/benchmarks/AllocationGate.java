@@ -0,0 +1,137 @@
+package com.kafitra.benchmarks;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Properties;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * AllocationGate — runs the benchmarks with JMH's GC profiler and fails if any
+ * of them allocates more per call than its budget.
+ *
+ * <p>Budgets are bytes per operation ({@code gc.alloc.rate.norm}) in
+ * {@code allocation-budget.properties}, keyed {@code Class.method}. A
+ * benchmark without a budget is reported but does not fail the run.
+ *
+ * <pre>
+ * AllocationGate [--update] [regex ...]
+ * </pre>
+ *
+ * {@code --update} writes the measured values back as the new budgets, rounded
+ * up to the next multiple of {@link #ROUNDING} bytes. Regexes select
+ * benchmarks as in JMH; all run by default.
+ */
+public final class AllocationGate {
+
+    private static final String BUDGET_FILE = "allocation-budget.properties";
+    private static final String ALLOC_NORM = "gc.alloc.rate.norm";
+    /** Measurement noise: escape analysis can differ slightly between runs. */
+    private static final double TOLERANCE_BYTES = 8;
+    private static final int ROUNDING = 8;
+
+    public static void main(String[] args) throws RunnerException, IOException {
+        boolean update = false;
+        ChainedOptionsBuilder options = new OptionsBuilder().addProfiler(GCProfiler.class);
+        boolean selected = false;
+        for (String arg : args) {
+            if ("--update".equals(arg)) {
+                update = true;
+            } else {
+                options.include(arg);
+                selected = true;
+            }
+        }
+        if (!selected) options.include("com\\.kafitra\\..*Benchmark");
+
+        Collection<RunResult> results = new Runner(options.build()).run();
+
+        File budgetFile = new File(BUDGET_FILE);
+        Properties budgets = load(budgetFile);
+        Map<String, Double> measured = new TreeMap<>();
+        for (RunResult run : results) {
+            String label = run.getParams().getBenchmark();
+            String key = label.substring(label.lastIndexOf('.', label.lastIndexOf('.') - 1) + 1);
+            measured.put(key, allocationPerOp(run));
+        }
+
+        System.out.println();
+        System.out.printf(Locale.US, "%-45s %14s %14s%n", "benchmark", "B/op", "budget");
+        int failures = 0;
+        for (Map.Entry<String, Double> entry : measured.entrySet()) {
+            String key = entry.getKey();
+            double bytes = entry.getValue();
+            String budgetText = budgets.getProperty(key);
+            String verdict = "";
+            if (budgetText == null) {
+                verdict = "  (no budget)";
+            } else if (bytes > Double.parseDouble(budgetText) + TOLERANCE_BYTES) {
+                verdict = "  OVER BUDGET";
+                failures++;
+            }
+            System.out.printf(Locale.US, "%-45s %14.1f %14s%s%n",
+                    key, bytes, budgetText == null ? "-" : budgetText, verdict);
+            if (update) {
+                // Whole bytes first, so a zero-allocation path keeps a budget of 0.
+                long rounded = (Math.round(bytes) + ROUNDING - 1) / ROUNDING * ROUNDING;
+                budgets.setProperty(key, Long.toString(rounded));
+            }
+        }
+
+        if (update) {
+            // Sorted and without Properties.store()'s timestamp, so diffs show only real changes.
+            try (Writer out = new OutputStreamWriter(
+                    new FileOutputStream(budgetFile), StandardCharsets.ISO_8859_1)) {
+                out.write("# Bytes allocated per call (gc.alloc.rate.norm).\n");
+                out.write("# Regenerate with ./run.sh --update and review the diff.\n");
+                for (String key : new TreeSet<>(budgets.stringPropertyNames())) {
+                    out.write(key + "=" + budgets.getProperty(key) + "\n");
+                }
+            }
+            System.out.println("\nUpdated " + budgetFile);
+            return;
+        }
+        if (failures > 0) {
+            System.err.println("\n" + failures + " benchmark(s) allocate more than their budget.");
+            System.exit(1);
+        }
+    }
+
+    private static double allocationPerOp(RunResult run) {
+        // Keyed lookups: JMH declares the secondary results with a raw Result type.
+        for (String key : run.getSecondaryResults().keySet()) {
+            // JMH before 1.36 prefixes profiler results with "·".
+            if (key.replace("·", "").equals(ALLOC_NORM)) {
+                return run.getSecondaryResults().get(key).getScore();
+            }
+        }
+        throw new IllegalStateException("GC profiler reported no " + ALLOC_NORM
+                + " for " + run.getParams().getBenchmark());
+    }
+
+    private static Properties load(File file) throws IOException {
+        Properties properties = new Properties();
+        if (file.exists()) {
+            try (InputStream in = new FileInputStream(file)) {
+                properties.load(in);
+            }
+        }
+        return properties;
+    }
+}
@@ -0,0 +1,70 @@
+package com.kafitra.lynxcamera;
+
+import android.util.Size;
+
+import com.lynx.react.bridge.JavaOnlyMap;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The parts of {@link LynxCameraView} that run on every prop change, method
+ * call and capture without touching the camera: {@link CameraParams}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class CameraParamsBenchmark {
+
+    private JavaOnlyMap mSnapshotParams;
+    private long mNow;
+
+    @Setup
+    public void setUp() {
+        mSnapshotParams = new JavaOnlyMap();
+        mSnapshotParams.putInt("maxWidth", 1280);
+        mSnapshotParams.putInt("maxHeight", 720);
+        mSnapshotParams.putInt("quality", 85);
+        mNow = System.currentTimeMillis();
+    }
+
+    @Benchmark
+    public Size parseSize() {
+        return CameraParams.parseSize("1920x1080");
+    }
+
+    @Benchmark
+    public CameraParams.Snapshot parseSnapshotParams() {
+        return CameraParams.Snapshot.parse(mSnapshotParams);
+    }
+
+    @Benchmark
+    public JavaOnlyMap captureResult() {
+        return CameraParams.captureResult(
+                "file:///data/user/0/app/cache/lynx_camera_20260218_143005_123.jpg",
+                4000, 3000, 182, 2_457_600);
+    }
+
+    @Benchmark
+    public JavaOnlyMap errorResult() {
+        return CameraParams.errorResult("CAMERA_NOT_READY", "Camera is not initialised yet");
+    }
+
+    @Benchmark
+    public String outputFileName() {
+        return CameraParams.outputFileName("lynx_camera_", mNow);
+    }
+}
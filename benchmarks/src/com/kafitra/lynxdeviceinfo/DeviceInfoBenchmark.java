@@ -0,0 +1,59 @@
+package com.kafitra.lynxdeviceinfo;
+
+import android.content.Context;
+
+import com.lynx.react.bridge.ReadableMap;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link LynxDeviceInfoModule} getters. {@code getAll} and
+ * {@code getPerformanceClass} are cached after the first call, so their
+ * steady state should not allocate.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class DeviceInfoBenchmark {
+
+    private LynxDeviceInfoModule mModule;
+
+    @Setup
+    public void setUp() {
+        mModule = new LynxDeviceInfoModule(new Context());
+    }
+
+    @Benchmark
+    public String getBrand() {
+        return mModule.getBrand();
+    }
+
+    @Benchmark
+    public int getSDKVersion() {
+        return mModule.getSDKVersion();
+    }
+
+    @Benchmark
+    public ReadableMap getAll() {
+        return mModule.getAll();
+    }
+
+    @Benchmark
+    public ReadableMap getPerformanceClass() {
+        return mModule.getPerformanceClass();
+    }
+}
@@ -0,0 +1,80 @@
+package com.kafitra.lynxstorage;
+
+import android.content.SharedPreferences;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * In-memory {@link SharedPreferences}. Like the Android implementation,
+ * {@link #getAll()} returns a copy and each {@link #edit()} creates a new
+ * editor, so per-call allocation is comparable; disk writes are not modelled.
+ */
+final class FakeSharedPreferences implements SharedPreferences {
+
+    private final Map<String, Object> mValues = new HashMap<>();
+
+    @Override
+    public boolean contains(String key) {
+        synchronized (mValues) {
+            return mValues.containsKey(key);
+        }
+    }
+
+    @Override
+    public String getString(String key, String defValue) {
+        synchronized (mValues) {
+            Object value = mValues.get(key);
+            return value != null ? (String) value : defValue;
+        }
+    }
+
+    @Override
+    public Map<String, ?> getAll() {
+        synchronized (mValues) {
+            return new HashMap<>(mValues);
+        }
+    }
+
+    @Override
+    public Editor edit() {
+        return new FakeEditor();
+    }
+
+    private final class FakeEditor implements Editor {
+        private final Map<String, Object> mModified = new HashMap<>();
+        private boolean mClear;
+
+        @Override
+        public Editor putString(String key, String value) {
+            mModified.put(key, value);
+            return this;
+        }
+
+        @Override
+        public Editor remove(String key) {
+            mModified.put(key, this);
+            return this;
+        }
+
+        @Override
+        public Editor clear() {
+            mClear = true;
+            return this;
+        }
+
+        @Override
+        public void apply() {
+            synchronized (mValues) {
+                if (mClear) mValues.clear();
+                for (Map.Entry<String, Object> e : mModified.entrySet()) {
+                    if (e.getValue() == this || e.getValue() == null) {
+                        mValues.remove(e.getKey());
+                    } else {
+                        mValues.put(e.getKey(), e.getValue());
+                    }
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package com.kafitra.lynxstorage;
+
+import android.content.Context;
+import android.content.SharedPreferences;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link LynxStorageModule} method bodies against {@link FakeSharedPreferences},
+ * i.e. the module's own overhead per bridge call.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class StorageBenchmark {
+
+    private static final int KEYS = 20;
+
+    private LynxStorageModule mModule;
+
+    @Setup
+    public void setUp() {
+        final SharedPreferences prefs = new FakeSharedPreferences();
+        mModule = new LynxStorageModule(new Context() {
+            @Override
+            public SharedPreferences getSharedPreferences(String name, int mode) {
+                return prefs;
+            }
+        });
+        for (int i = 0; i < KEYS; i++) mModule.setString("key" + i, "value" + i);
+    }
+
+    @Benchmark
+    public String getStringHit() {
+        return mModule.getString("key7");
+    }
+
+    @Benchmark
+    public String getStringMiss() {
+        return mModule.getString("missing");
+    }
+
+    @Benchmark
+    public void setString() {
+        mModule.setString("key7", "value7");
+    }
+
+    @Benchmark
+    public String getAllKeys() {
+        return mModule.getAllKeys();
+    }
+}
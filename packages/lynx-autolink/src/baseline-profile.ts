@@ -0,0 +1,105 @@
+import * as fs from "node:fs";
+import * as path from "node:path";
+import type { LynxModuleMetadata } from "./types.js";
+
+const MARKER_START = "# lynx-autolink-start";
+const MARKER_END = "# lynx-autolink-end";
+
+/** "com.example.Foo" → "com/example/Foo" */
+function internalName(fqcn: string): string {
+  return fqcn.split(".").join("/");
+}
+
+/** Class rule plus every method, with the given method flags (e.g. "HSP"). */
+function classRules(fqcn: string, flags: string, preloadClass: boolean): string[] {
+  const name = internalName(fqcn);
+  return [
+    ...(preloadClass ? [`L${name};`] : []),
+    `${flags}L${name};->**(**)**`,
+  ];
+}
+
+/**
+ * Baseline profile rules for the generated registry and every linked class.
+ *
+ * Eager and background modules, and UI components, are marked hot at startup
+ * (`HSP`) and their classes preloaded. Lazy modules are only used once a view
+ * exists, so they are marked hot after startup (`HP`).
+ */
+export function baselineProfileRules(
+  javaPackage: string,
+  modules: LynxModuleMetadata[],
+): string[] {
+  const registry = `${javaPackage}.LynxAutolinkRegistry`;
+  const rules = [
+    ...classRules(registry, "HSP", true),
+    // Anonymous Behavior subclasses created by configureView()
+    ...classRules(`${registry}$*`, "HSP", true),
+  ];
+  for (const mod of modules) {
+    const { moduleClass, componentClass, registration } = mod.android;
+    if (moduleClass) {
+      const lazy = registration === "lazy";
+      rules.push(...classRules(moduleClass, lazy ? "HP" : "HSP", !lazy));
+    }
+    if (componentClass) {
+      rules.push(...classRules(componentClass, "HSP", true));
+    }
+  }
+  return Array.from(new Set(rules));
+}
+
+/**
+ * Write baseline profile rules for the autolinked code into the app's
+ * `src/main/baseline-prof.txt`.
+ *
+ * AGP merges this file with the profiles shipped inside each library and
+ * compiles the result ahead of time at install (through Play, or through
+ * `androidx.profileinstaller` for sideloaded builds). Linked packages usually
+ * ship rules for their own hot paths; these cover the generated registry and
+ * any linked module that does not.
+ *
+ * Uses marker comments to identify the managed block — safe to re-run. Rules
+ * outside the block are left alone; the file is created if missing.
+ *
+ * @param profileFile - Absolute path to `app/src/main/baseline-prof.txt`.
+ * @param javaPackage - Java package of the generated `LynxAutolinkRegistry`.
+ * @param modules     - List of resolved Lynx modules.
+ * @returns             `false` if the block was already up to date and the file was left untouched.
+ */
+export function injectBaselineProfile(
+  profileFile: string,
+  javaPackage: string,
+  modules: LynxModuleMetadata[],
+): boolean {
+  const exists = fs.existsSync(profileFile);
+  const content = exists ? fs.readFileSync(profileFile, "utf8") : "";
+
+  const newBlock = [
+    MARKER_START,
+    "# Generated by lynx link: the autolink registry and every linked class.",
+    ...baselineProfileRules(javaPackage, modules),
+    MARKER_END,
+  ].join("\n");
+
+  const startIdx = content.indexOf(MARKER_START);
+  const endIdx = content.indexOf(MARKER_END);
+
+  let newContent: string;
+  if (startIdx !== -1 && endIdx !== -1 && endIdx > startIdx) {
+    // Replace existing managed block
+    newContent =
+      content.slice(0, startIdx) +
+      newBlock +
+      content.slice(endIdx + MARKER_END.length);
+  } else {
+    // Append block at end (ensure newline separator)
+    const separator = content.endsWith("\n") || content === "" ? "" : "\n";
+    newContent = content + separator + (content === "" ? "" : "\n") + newBlock + "\n";
+  }
+
+  if (exists && newContent === content) return false;
+  fs.mkdirSync(path.dirname(profileFile), { recursive: true });
+  fs.writeFileSync(profileFile, newContent, "utf8");
+  return true;
+}
@@ -8,16 +8,18 @@ import { packageNameToGradleProject } from "./scanner.js";
  *
  * @param buildFile - Absolute path to `android/app/build.gradle`.
  * @param modules   - List of resolved Lynx modules.
+ * @returns           `false` if every dependency was already present and the file was left untouched.
  */
 export function injectBuildGradle(
   buildFile: string,
   modules: LynxModuleMetadata[],
-): void {
+): boolean {
   if (!fs.existsSync(buildFile)) {
     throw new Error(`[lynx-autolink] build.gradle not found at: ${buildFile}`);
   }
 
-  let content = fs.readFileSync(buildFile, "utf8");
+  const original = fs.readFileSync(buildFile, "utf8");
+  let content = original;
 
   for (const mod of modules) {
     const gradleProjectName =
@@ -42,5 +44,7 @@ export function injectBuildGradle(
       content.slice(0, insertAt) + "\n" + depLine + content.slice(insertAt);
   }
 
+  if (content === original) return false;
   fs.writeFileSync(buildFile, content, "utf8");
+  return true;
 }
@@ -38,11 +38,12 @@ function buildModuleEntry(
  *
  * @param settingsFile  - Absolute path to the `settings.gradle` file.
  * @param modules       - List of resolved Lynx modules.
+ * @returns             `false` if the file was already up to date and left untouched.
  */
 export function injectSettings(
   settingsFile: string,
   modules: LynxModuleMetadata[],
-): void {
+): boolean {
   const settingsDir = path.dirname(settingsFile);
 
   let content = "";
@@ -90,5 +91,7 @@ export function injectSettings(
     newContent = content + separator + "\n" + newBlock + "\n";
   }
 
+  if (newContent === content && fs.existsSync(settingsFile)) return false;
   fs.writeFileSync(settingsFile, newContent, "utf8");
+  return true;
 }
@@ -1,6 +1,15 @@
-export type { LynxModuleMetadata, LynxModuleAndroidConfig } from "./types.js";
+export type {
+  LynxModuleMetadata,
+  LynxModuleAndroidConfig,
+  LynxModuleRegistration,
+} from "./types.js";
 export { validateMetadata } from "./schema.js";
-export { scanModules, packageNameToGradleProject } from "./scanner.js";
+export {
+  scanModules,
+  scanModulesAsync,
+  packageNameToGradleProject,
+} from "./scanner.js";
+export type { ScanOptions } from "./scanner.js";
 export {
   generateJavaRegistry,
   writeJavaRegistry,
@@ -9,3 +18,7 @@ export {
 export { injectSettings } from "./gradle-settings.js";
 export { injectBuildGradle } from "./gradle-build.js";
 export { injectManifestPermissions } from "./manifest.js";
+export {
+  injectBaselineProfile,
+  baselineProfileRules,
+} from "./baseline-profile.js";
@@ -18,17 +18,38 @@ function packageToPath(javaPackage: string): string {
   return javaPackage.split(".").join("/");
 }
 
+/** `LynxEnv.inst().registerModule(...)` — or the LynxViewBuilder equivalent — for one module. */
+function registerModuleCall(target: string, mod: LynxModuleMetadata): string {
+  const className = simpleClassName(mod.android.moduleClass!);
+  return `        ${target}.registerModule(\n            "${mod.name}",\n            ${className}.class\n        );`;
+}
+
 /**
  * Generate the source code for `LynxAutolinkRegistry.java`.
  *
+ * Native modules are registered according to `android.registration`:
+ * - `eager` (default) — globally with `LynxEnv` in `registerAll()`.
+ * - `background` — also in `registerAll()`, while `preloadInBackground()`
+ *   loads and initializes the class (static initializers, dependencies) so
+ *   that work stays off the main thread.
+ * - `lazy` — per view in `configureView(builder)`, so nothing about the
+ *   module is loaded until the first LynxView is built.
+ *
+ * UI components are always lazy: their class is first touched when an
+ * element with their tag is created.
+ *
  * @param modules     - List of detected Lynx modules.
  * @param javaPackage - Java package for the generated class (matches the host app's applicationId).
  * @returns           Java source code as a string.
  */
 export function generateJavaRegistry(
-  modules: LynxModuleMetadata[],
+  allModules: LynxModuleMetadata[],
   javaPackage: string,
 ): string {
+  // Library-only packages are wired into Gradle but register nothing.
+  const modules = allModules.filter(
+    (m) => m.android.moduleClass || m.android.componentClass,
+  );
   if (modules.length === 0) {
     return [
       `package ${javaPackage};`,
@@ -42,6 +63,14 @@ export function generateJavaRegistry(
       "    public static void registerAll() {",
       "        // No Lynx Native Modules found.",
       "    }",
+      "",
+      "    public static void preloadInBackground() {",
+      "        // No Lynx Native Modules found.",
+      "    }",
+      "",
+      "    public static void configureView(com.lynx.tasm.LynxViewBuilder builder) {",
+      "        // No Lynx Native Modules found.",
+      "    }",
       "}",
     ].join("\n");
   }
@@ -58,17 +87,22 @@ export function generateJavaRegistry(
     .map((fqcn) => `import ${fqcn};`)
     .join("\n");
 
-  const moduleRegistrations = modules
-    .flatMap((mod) => {
-      const lines: string[] = [];
-      if (mod.android.moduleClass) {
-        const className = simpleClassName(mod.android.moduleClass);
-        lines.push(
-          `        LynxEnv.inst().registerModule(\n            "${mod.name}",\n            ${className}.class\n        );`,
-        );
-      }
-      return lines;
-    })
+  const nativeModules = modules.filter((m) => m.android.moduleClass);
+  const policy = (m: LynxModuleMetadata) => m.android.registration ?? "eager";
+  const globalModules = nativeModules.filter((m) => policy(m) !== "lazy");
+  const backgroundModules = nativeModules.filter((m) => policy(m) === "background");
+  const lazyModules = nativeModules.filter((m) => policy(m) === "lazy");
+
+  const moduleRegistrations = globalModules
+    .map((mod) => registerModuleCall("LynxEnv.inst()", mod))
+    .join("\n");
+
+  const preloads = backgroundModules
+    .map((mod) => `        preload(${simpleClassName(mod.android.moduleClass!)}.class);`)
+    .join("\n");
+
+  const lazyRegistrations = lazyModules
+    .map((mod) => registerModuleCall("builder", mod))
     .join("\n");
 
   const uiBehaviors = modules
@@ -87,10 +121,10 @@ export function generateJavaRegistry(
 
   const uiMethod = hasBehavior
     ? [
+        "",
         "    /**",
         "     * Register all native UI components with a LynxViewBuilder.",
-        "     * Call this in your Activity after creating the LynxViewBuilder,",
-        "     * before calling LynxViewBuilder.build().",
+        "     * Prefer configureView(), which also registers lazy modules.",
         "     */",
         "    public static void addUIBehaviorsTo(com.lynx.tasm.LynxViewBuilder builder) {",
         uiBehaviors || "        // no UI components",
@@ -98,6 +132,19 @@ export function generateJavaRegistry(
       ].join("\n")
     : "";
 
+  const preloadHelper = backgroundModules.length
+    ? [
+        "",
+        "    private static void preload(Class<?> moduleClass) {",
+        "        try {",
+        "            Class.forName(moduleClass.getName(), true, moduleClass.getClassLoader());",
+        "        } catch (ClassNotFoundException e) {",
+        "            throw new IllegalStateException(e);",
+        "        }",
+        "    }",
+      ].join("\n")
+    : "";
+
   return [
     `package ${javaPackage};`,
     "",
@@ -111,10 +158,32 @@ export function generateJavaRegistry(
     " * DO NOT EDIT MANUALLY.",
     " */",
     "public class LynxAutolinkRegistry {",
+    "    /**",
+    "     * Register eager and background modules with LynxEnv.",
+    "     * Call once from Application.onCreate(), after LynxEnv.init().",
+    "     */",
     "    public static void registerAll() {",
     moduleRegistrations || "        // no modules",
     "    }",
-    uiMethod,
+    "",
+    "    /**",
+    "     * Load and initialize the classes of background modules.",
+    "     * Call once from a background thread during startup.",
+    "     */",
+    "    public static void preloadInBackground() {",
+    preloads || "        // no background modules",
+    "    }",
+    "",
+    "    /**",
+    "     * Register lazy modules and native UI components with a LynxViewBuilder.",
+    "     * Call for every view, before LynxViewBuilder.build().",
+    "     */",
+    "    public static void configureView(com.lynx.tasm.LynxViewBuilder builder) {",
+    lazyRegistrations || "        // no lazy modules",
+    ...(hasBehavior ? ["        addUIBehaviorsTo(builder);"] : []),
+    "    }",
+    ...(uiMethod ? [uiMethod] : []),
+    ...(preloadHelper ? [preloadHelper] : []),
     "}",
   ].join("\n");
 }
@@ -137,12 +206,14 @@ export function readApplicationId(buildGradlePath: string): string | null {
  * @param javaPackage   - Java package name (e.g. "com.kafitra.demo"). If not supplied,
  *                        it is inferred from `applicationId` in `build.gradle`.
  * @param modules       - List of detected Lynx modules.
+ * @returns               `false` if the file already had this content and was left untouched,
+ *                        so Gradle does not recompile it.
  */
 export function writeJavaRegistry(
   androidAppDir: string,
   javaPackage: string | undefined,
   modules: LynxModuleMetadata[],
-): void {
+): boolean {
   let pkg = javaPackage;
   if (!pkg) {
     const buildGradle = path.join(androidAppDir, "build.gradle");
@@ -165,6 +236,11 @@ export function writeJavaRegistry(
   );
   const outPath = path.join(androidAppDir, outRelative);
 
+  const content = source + "\n";
+  if (fs.existsSync(outPath) && fs.readFileSync(outPath, "utf8") === content) {
+    return false;
+  }
   fs.mkdirSync(path.dirname(outPath), { recursive: true });
-  fs.writeFileSync(outPath, source + "\n", "utf8");
+  fs.writeFileSync(outPath, content, "utf8");
+  return true;
 }
@@ -26,11 +26,12 @@ function collectPermissions(modules: LynxModuleMetadata[]): string[] {
  *
  * @param manifestFile - Absolute path to `AndroidManifest.xml`.
  * @param modules      - List of resolved Lynx modules.
+ * @returns              `false` if the permission block was already up to date and the file was left untouched.
  */
 export function injectManifestPermissions(
   manifestFile: string,
   modules: LynxModuleMetadata[],
-): void {
+): boolean {
   if (!fs.existsSync(manifestFile)) {
     throw new Error(
       `[lynx-autolink] AndroidManifest.xml not found at: ${manifestFile}`,
@@ -75,5 +76,7 @@ export function injectManifestPermissions(
       content.slice(appTagIdx);
   }
 
+  if (newContent === content) return false;
   fs.writeFileSync(manifestFile, newContent, "utf8");
+  return true;
 }
@@ -0,0 +1,110 @@
+import * as fs from "node:fs";
+import * as path from "node:path";
+import { createHash } from "node:crypto";
+
+const CACHE_VERSION = 1;
+
+/**
+ * Files that every package manager rewrites on install. Their mtimes form the
+ * cache key, so any install starts from a clean cache.
+ */
+const INSTALL_MARKERS_IN_NODE_MODULES = [
+  ".modules.yaml", // pnpm
+  ".package-lock.json", // npm
+  ".yarn-integrity", // yarn classic
+  ".yarn-state.yml", // yarn berry (node-modules linker)
+];
+const LOCKFILES = ["pnpm-lock.yaml", "package-lock.json", "yarn.lock", "bun.lockb"];
+
+/** One entry of a `node_modules` or `@scope` directory. */
+export interface CachedEntry {
+  name: string;
+  /** An `@scope` directory, listed separately. */
+  scope?: boolean;
+  /**
+   * Resolves outside any `node_modules` (a workspace package or `file:` link).
+   * Its contents can change without touching the directory, so it is
+   * re-checked on every scan.
+   */
+  linked?: boolean;
+  /** Whether the package had a `lynx.module.json`. */
+  hasMetadata: boolean;
+}
+
+/** A directory as it looked at the last scan; valid while its mtime is unchanged. */
+export interface CachedDir {
+  mtimeMs: number;
+  entries: CachedEntry[];
+}
+
+/** A parsed `lynx.module.json`; valid while its mtime and size, or its hash, are unchanged. */
+export interface CachedMetadata {
+  mtimeMs: number;
+  size: number;
+  sha256: string;
+  raw: unknown;
+}
+
+export interface ScanCache {
+  version: number;
+  key: string;
+  dirs: Record<string, CachedDir>;
+  files: Record<string, CachedMetadata>;
+}
+
+export function emptyScanCache(key: string): ScanCache {
+  return { version: CACHE_VERSION, key, dirs: {}, files: {} };
+}
+
+/** Default cache location: inside the nearest `node_modules`, which the scan skips. */
+export function defaultCacheFile(nodeModulesDir: string): string {
+  return path.join(nodeModulesDir, ".cache", "lynx-autolink", "scan.json");
+}
+
+/** Cache key for a set of `node_modules` directories: mtimes of install markers and lockfiles. */
+export function installKey(nodeModulesDirs: string[]): string {
+  const parts: string[] = [];
+  for (const dir of nodeModulesDirs) {
+    const candidates = [
+      ...INSTALL_MARKERS_IN_NODE_MODULES.map((f) => path.join(dir, f)),
+      ...LOCKFILES.map((f) => path.join(path.dirname(dir), f)),
+    ];
+    for (const file of candidates) {
+      try {
+        parts.push(`${file}@${fs.statSync(file).mtimeMs}`);
+      } catch {
+        // not used by this project
+      }
+    }
+  }
+  return parts.join("|");
+}
+
+/** The cache at `file`, or an empty one if it is missing, unreadable or from another install. */
+export function readScanCache(file: string, key: string): ScanCache {
+  try {
+    const cache = JSON.parse(fs.readFileSync(file, "utf8")) as ScanCache;
+    if (cache.version === CACHE_VERSION && cache.key === key && cache.dirs && cache.files) {
+      return cache;
+    }
+  } catch {
+    // first scan, or a corrupt cache — rebuild it
+  }
+  return emptyScanCache(key);
+}
+
+/** Write the cache atomically. A failure only costs the next scan its speed-up. */
+export function writeScanCache(file: string, cache: ScanCache): void {
+  try {
+    fs.mkdirSync(path.dirname(file), { recursive: true });
+    const temp = `${file}.${process.pid}.tmp`;
+    fs.writeFileSync(temp, JSON.stringify(cache), "utf8");
+    fs.renameSync(temp, file);
+  } catch {
+    // read-only node_modules, e.g. in a sandboxed CI step
+  }
+}
+
+export function sha256Hex(data: Buffer): string {
+  return createHash("sha256").update(data).digest("hex");
+}
@@ -2,6 +2,16 @@ import * as fs from "node:fs";
 import * as path from "node:path";
 import { validateMetadata } from "./schema.js";
 import type { LynxModuleMetadata } from "./types.js";
+import {
+  defaultCacheFile,
+  emptyScanCache,
+  installKey,
+  readScanCache,
+  sha256Hex,
+  writeScanCache,
+  type CachedEntry,
+  type ScanCache,
+} from "./scan-cache.js";
 
 const METADATA_FILENAME = "lynx.module.json";
 
@@ -41,27 +51,24 @@ function findNodeModulesDirs(startDir: string): string[] {
   return candidates;
 }
 
-/**
- * Try to load and validate `lynx.module.json` from a package directory.
- * Returns `null` if the file does not exist.
- * Throws if the file exists but is malformed.
- */
-function loadMetadataFromDir(
-  packageDir: string,
-  packageName: string,
-): LynxModuleMetadata | null {
-  const metaPath = path.join(packageDir, METADATA_FILENAME);
-  if (!fs.existsSync(metaPath)) return null;
-
-  let raw: unknown;
+/** Parse `lynx.module.json` contents, with the same error as a missing or invalid file gets. */
+function parseMetadataFile(data: string, metaPath: string): unknown {
   try {
-    raw = JSON.parse(fs.readFileSync(metaPath, "utf8"));
+    return JSON.parse(data);
   } catch {
     throw new Error(
       `[lynx-autolink] Failed to parse ${metaPath} — ensure it is valid JSON`,
     );
   }
+}
 
+/** Validate parsed `lynx.module.json` and fill in what the scanner knows about the package. */
+function toModuleMetadata(
+  raw: unknown,
+  metaPath: string,
+  packageDir: string,
+  packageName: string,
+): LynxModuleMetadata {
   const meta = validateMetadata(raw, metaPath);
   const gradleProjectName =
     meta.android.gradleProjectName ?? packageNameToGradleProject(packageName);
@@ -77,6 +84,22 @@ function loadMetadataFromDir(
   };
 }
 
+/**
+ * Try to load and validate `lynx.module.json` from a package directory.
+ * Returns `null` if the file does not exist.
+ * Throws if the file exists but is malformed.
+ */
+function loadMetadataFromDir(
+  packageDir: string,
+  packageName: string,
+): LynxModuleMetadata | null {
+  const metaPath = path.join(packageDir, METADATA_FILENAME);
+  if (!fs.existsSync(metaPath)) return null;
+
+  const raw = parseMetadataFile(fs.readFileSync(metaPath, "utf8"), metaPath);
+  return toModuleMetadata(raw, metaPath, packageDir, packageName);
+}
+
 /**
  * Scan a single `node_modules` directory for Lynx Native Modules.
  * Returns an array of validated metadata objects.
@@ -176,3 +199,218 @@ export function scanModules(projectRoot: string): LynxModuleMetadata[] {
 
   return Array.from(seenModuleNames.values());
 }
+
+export interface ScanOptions {
+  /**
+   * Reuse the previous scan for directories that have not changed since.
+   * Defaults to `true`; any package install invalidates the whole cache.
+   */
+  cache?: boolean;
+  /** Cache location. Defaults to `.cache/lynx-autolink/scan.json` in the nearest `node_modules`. */
+  cacheFile?: string;
+}
+
+const fsp = fs.promises;
+
+async function pathExists(file: string): Promise<boolean> {
+  try {
+    await fsp.access(file);
+    return true;
+  } catch {
+    return false;
+  }
+}
+
+function isInsideNodeModules(realPath: string): boolean {
+  return realPath.split(path.sep).includes("node_modules");
+}
+
+/**
+ * List the packages (and `@scope` directories) in `dir`, recording which have a
+ * `lynx.module.json`. An unchanged directory is taken from the cache without
+ * being read; only its linked entries are checked again.
+ */
+async function listPackageDir(
+  dir: string,
+  cache: ScanCache,
+  next: ScanCache,
+): Promise<CachedEntry[]> {
+  let mtimeMs: number;
+  try {
+    mtimeMs = (await fsp.stat(dir)).mtimeMs;
+  } catch {
+    return [];
+  }
+
+  const cached = cache.dirs[dir];
+  let entries: CachedEntry[];
+  if (cached && cached.mtimeMs === mtimeMs) {
+    entries = await Promise.all(
+      cached.entries.map(async (entry) =>
+        entry.linked
+          ? {
+              ...entry,
+              hasMetadata: await pathExists(path.join(dir, entry.name, METADATA_FILENAME)),
+            }
+          : entry,
+      ),
+    );
+  } else {
+    let dirents: fs.Dirent[];
+    try {
+      dirents = await fsp.readdir(dir, { withFileTypes: true });
+    } catch {
+      return [];
+    }
+    const listed = await Promise.all(
+      dirents.map(async (dirent): Promise<CachedEntry | null> => {
+        const name = dirent.name;
+        if (name.startsWith(".")) return null; // skip .cache, .modules, etc.
+        const entryPath = path.join(dir, name);
+        if (name.startsWith("@")) {
+          return dirent.isDirectory() || dirent.isSymbolicLink()
+            ? { name, scope: true, hasMetadata: false }
+            : null;
+        }
+        let linked = false;
+        if (dirent.isSymbolicLink()) {
+          try {
+            const realPath = await fsp.realpath(entryPath);
+            if (!(await fsp.stat(realPath)).isDirectory()) return null;
+            linked = !isInsideNodeModules(realPath);
+          } catch {
+            return null; // dangling link
+          }
+        } else if (!dirent.isDirectory()) {
+          return null;
+        }
+        const hasMetadata = await pathExists(path.join(entryPath, METADATA_FILENAME));
+        return linked ? { name, linked, hasMetadata } : { name, hasMetadata };
+      }),
+    );
+    entries = listed.filter((e): e is CachedEntry => e !== null);
+  }
+
+  next.dirs[dir] = { mtimeMs, entries };
+  return entries;
+}
+
+/** Load `lynx.module.json`, re-parsing it only if its mtime/size and hash both changed. */
+async function loadMetadataCached(
+  packageDir: string,
+  packageName: string,
+  cache: ScanCache,
+  next: ScanCache,
+): Promise<LynxModuleMetadata | null> {
+  const metaPath = path.join(packageDir, METADATA_FILENAME);
+  let stat: fs.Stats;
+  try {
+    stat = await fsp.stat(metaPath);
+  } catch {
+    return null; // removed since the directory was listed
+  }
+
+  let entry = cache.files[metaPath];
+  if (!entry || entry.mtimeMs !== stat.mtimeMs || entry.size !== stat.size) {
+    const data = await fsp.readFile(metaPath);
+    const sha256 = sha256Hex(data);
+    const raw =
+      entry && entry.sha256 === sha256
+        ? entry.raw
+        : parseMetadataFile(data.toString("utf8"), metaPath);
+    entry = { mtimeMs: stat.mtimeMs, size: stat.size, sha256, raw };
+  }
+  next.files[metaPath] = entry;
+  return toModuleMetadata(entry.raw, metaPath, packageDir, packageName);
+}
+
+/** Packages with a `lynx.module.json` in one `node_modules` directory, in listing order. */
+async function scanNodeModulesDirAsync(
+  nodeModulesDir: string,
+  cache: ScanCache,
+  next: ScanCache,
+): Promise<{ packageName: string; packageDir: string }[]> {
+  const entries = await listPackageDir(nodeModulesDir, cache, next);
+  const groups = await Promise.all(
+    entries.map(async (entry) => {
+      if (!entry.scope) {
+        return entry.hasMetadata
+          ? [{ packageName: entry.name, packageDir: path.join(nodeModulesDir, entry.name) }]
+          : [];
+      }
+      const scopeDir = path.join(nodeModulesDir, entry.name);
+      const scoped = await listPackageDir(scopeDir, cache, next);
+      return scoped
+        .filter((e) => e.hasMetadata)
+        .map((e) => ({
+          packageName: `${entry.name}/${e.name}`,
+          packageDir: path.join(scopeDir, e.name),
+        }));
+    }),
+  );
+  return groups.flat();
+}
+
+/**
+ * Same result as {@link scanModules}, but every `node_modules` directory is
+ * traversed concurrently and the result is cached between runs.
+ *
+ * The cache remembers, per directory, which packages have a `lynx.module.json`,
+ * and the parsed contents of each one. A directory whose mtime is unchanged is
+ * not read again, and a metadata file whose mtime and size (or, failing that,
+ * SHA-256) are unchanged is not parsed again. Workspace packages linked into
+ * `node_modules` are always re-checked, since editing them does not touch the
+ * directory. A package install (lockfile or package manager state change)
+ * discards the cache. Validation runs on every scan, so errors are reported
+ * the same way with or without it.
+ */
+export async function scanModulesAsync(
+  projectRoot: string,
+  opts: ScanOptions = {},
+): Promise<LynxModuleMetadata[]> {
+  const nodeModulesDirs = findNodeModulesDirs(projectRoot);
+  if (nodeModulesDirs.length === 0) return [];
+
+  let useCache = opts.cache !== false;
+  const cacheFile = opts.cacheFile ?? defaultCacheFile(nodeModulesDirs[0]!);
+  const key = installKey(nodeModulesDirs);
+  if (useCache) {
+    // Create the cache directory first: doing so changes the mtime of node_modules.
+    try {
+      fs.mkdirSync(path.dirname(cacheFile), { recursive: true });
+    } catch {
+      // read-only node_modules, e.g. in a sandboxed CI step: scan without a cache
+      useCache = false;
+    }
+  }
+  const cache = useCache ? readScanCache(cacheFile, key) : emptyScanCache(key);
+  const next = emptyScanCache(key);
+
+  const perDir = await Promise.all(
+    nodeModulesDirs.map((dir) => scanNodeModulesDirAsync(dir, cache, next)),
+  );
+
+  // Nearer node_modules directories win, as in the synchronous scan.
+  const seenPackageNames = new Set<string>();
+  const candidates: { packageName: string; packageDir: string }[] = [];
+  for (const found of perDir) {
+    for (const candidate of found) {
+      if (seenPackageNames.has(candidate.packageName)) continue;
+      seenPackageNames.add(candidate.packageName);
+      candidates.push(candidate);
+    }
+  }
+
+  const loaded = await Promise.all(
+    candidates.map((c) => loadMetadataCached(c.packageDir, c.packageName, cache, next)),
+  );
+  if (useCache) writeScanCache(cacheFile, next);
+
+  const seenModuleNames = new Map<string, LynxModuleMetadata>();
+  for (const meta of loaded) {
+    if (meta && !seenModuleNames.has(meta.name)) {
+      seenModuleNames.set(meta.name, meta);
+    }
+  }
+  return Array.from(seenModuleNames.values());
+}
@@ -1,4 +1,6 @@
-import type { LynxModuleMetadata } from "./types.js";
+import type { LynxModuleMetadata, LynxModuleRegistration } from "./types.js";
+
+const REGISTRATION_POLICIES: readonly LynxModuleRegistration[] = ["eager", "lazy", "background"];
 
 /**
  * Validates raw JSON parsed from `lynx.module.json`.
@@ -115,7 +117,17 @@ export function validateMetadata(
     );
   }
 
-  // Ensure at least one of moduleClass or componentClass is present
+  // --- android.library (optional, marks a plain Android library) ---
+  if ("library" in androidObj && androidObj["library"] !== undefined) {
+    if (typeof androidObj["library"] !== "boolean") {
+      throw new Error(
+        `[lynx-autolink] ${source}: "android.library" must be a boolean, got ${JSON.stringify(androidObj["library"])}`,
+      );
+    }
+  }
+  const isLibrary = androidObj["library"] === true;
+
+  // Ensure at least one of moduleClass or componentClass is present, unless library-only
   const hasModuleClass =
     "moduleClass" in androidObj &&
     typeof androidObj["moduleClass"] === "string" &&
@@ -124,12 +136,28 @@ export function validateMetadata(
     "componentClass" in androidObj &&
     typeof androidObj["componentClass"] === "string" &&
     androidObj["componentClass"].trim() !== "";
-  if (!hasModuleClass && !hasComponentClass) {
+  if (!hasModuleClass && !hasComponentClass && !isLibrary) {
     throw new Error(
-      `[lynx-autolink] ${source}: "android" must contain at least one of "moduleClass" (for native modules) or "componentClass" (for custom UI elements)`,
+      `[lynx-autolink] ${source}: "android" must contain at least one of "moduleClass" (for native modules) or "componentClass" (for custom UI elements), or set "library": true for a plain Android library`,
     );
   }
 
+  // --- android.registration (optional, only meaningful for moduleClass) ---
+  if ("registration" in androidObj && androidObj["registration"] !== undefined) {
+    if (
+      !REGISTRATION_POLICIES.includes(androidObj["registration"] as LynxModuleRegistration)
+    ) {
+      throw new Error(
+        `[lynx-autolink] ${source}: "android.registration" must be one of ${REGISTRATION_POLICIES.map((p) => JSON.stringify(p)).join(", ")}, got ${JSON.stringify(androidObj["registration"])}`,
+      );
+    }
+    if (!hasModuleClass) {
+      throw new Error(
+        `[lynx-autolink] ${source}: "android.registration" requires "android.moduleClass" (UI components are always created on first use)`,
+      );
+    }
+  }
+
   // --- android.sourceDir ---
   if (!("sourceDir" in androidObj)) {
     throw new Error(
@@ -186,6 +214,9 @@ export function validateMetadata(
       androidObj["moduleClass"].trim() !== ""
         ? { moduleClass: (androidObj["moduleClass"] as string).trim() }
         : {}),
+      ...(typeof androidObj["registration"] === "string"
+        ? { registration: androidObj["registration"] as LynxModuleRegistration }
+        : {}),
       ...(typeof androidObj["componentClass"] === "string" &&
       androidObj["componentClass"].trim() !== ""
         ? { componentClass: (androidObj["componentClass"] as string).trim() }
@@ -194,6 +225,7 @@ export function validateMetadata(
       androidObj["componentTag"].trim() !== ""
         ? { componentTag: (androidObj["componentTag"] as string).trim() }
         : {}),
+      ...(isLibrary ? { library: true } : {}),
       sourceDir: (androidObj["sourceDir"] as string).trim(),
       ...(typeof androidObj["gradleProjectName"] === "string"
         ? { gradleProjectName: androidObj["gradleProjectName"].trim() }
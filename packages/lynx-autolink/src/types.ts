@@ -1,3 +1,13 @@
+/**
+ * When a native module is registered and its class loaded:
+ * - `eager` — registered with `LynxEnv` in `registerAll()` (the default).
+ * - `background` — registered in `registerAll()`; its class is loaded and
+ *   initialized by `preloadInBackground()` on a background thread.
+ * - `lazy` — registered per view by `configureView(builder)`; its class is
+ *   not loaded until the first LynxView is built.
+ */
+export type LynxModuleRegistration = "eager" | "lazy" | "background";
+
 /**
  * Metadata format stored in `lynx.module.json` at the root of each Lynx Native Module/Component package.
  */
@@ -7,6 +17,11 @@ export interface LynxModuleAndroidConfig {
    * Required for native modules; optional when componentClass is provided instead.
    */
   moduleClass?: string;
+  /**
+   * When `moduleClass` is registered (see {@link LynxModuleRegistration}).
+   * Defaults to `"eager"`. Only valid together with `moduleClass`.
+   */
+  registration?: LynxModuleRegistration;
   /**
    * Fully-qualified Java class name of the LynxUI custom element implementation.
    * Required for native UI components; optional when moduleClass is provided instead.
@@ -17,6 +32,11 @@ export interface LynxModuleAndroidConfig {
    * Required when componentClass is provided.
    */
   componentTag?: string;
+  /**
+   * Set to `true` for a plain Android library that registers nothing with Lynx
+   * (no moduleClass / componentClass). It is still wired into Gradle by `lynx link`.
+   */
+  library?: boolean;
   /** Relative path to the Android library source directory inside the package (usually "android"). */
   sourceDir: string;
   /**
@@ -0,0 +1,102 @@
+package com.kafitra.lynxcamera;
+
+import android.util.Size;
+
+import com.lynx.react.bridge.JavaOnlyMap;
+import com.lynx.react.bridge.ReadableMap;
+
+import java.text.SimpleDateFormat;
+import java.util.Date;
+import java.util.Locale;
+
+/**
+ * Prop and parameter parsing, callback payloads and output file naming for
+ * {@link LynxCameraView}.
+ *
+ * <p>Nothing here touches the camera, so it also runs on a plain JVM (see
+ * {@code benchmarks/} at the repository root).
+ */
+final class CameraParams {
+
+    /** JPEG quality used by {@code snapshot} when none is given. */
+    static final int DEFAULT_SNAPSHOT_QUALITY = 80;
+
+    private CameraParams() {}
+
+    /**
+     * Parse a {@code "WIDTHxHEIGHT"} string into a landscape {@link Size} (CameraX resolution
+     * strategies are expressed in sensor orientation). Returns {@code null} if malformed.
+     */
+    static Size parseSize(String value) {
+        if (value == null) return null;
+        String[] parts = value.trim().toLowerCase(Locale.US).split("x");
+        if (parts.length != 2) return null;
+        try {
+            int a = Integer.parseInt(parts[0].trim());
+            int b = Integer.parseInt(parts[1].trim());
+            if (a <= 0 || b <= 0) return null;
+            return new Size(Math.max(a, b), Math.min(a, b));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    /** {@code "4:3"} or {@code "16:9"}; anything else means the camera default ({@code null}). */
+    static String parseAspectRatio(String value) {
+        return ("4:3".equals(value) || "16:9".equals(value)) ? value : null;
+    }
+
+    /** 0 (CameraX default) for non-positive values, otherwise at most 100. */
+    static int clampJpegQuality(int quality) {
+        return quality <= 0 ? 0 : Math.min(100, quality);
+    }
+
+    /** Params of {@code snapshot}: {@code { maxWidth?: int, maxHeight?: int, quality?: int }}. */
+    static final class Snapshot {
+        final int maxWidth;
+        final int maxHeight;
+        /** 1–100 */
+        final int quality;
+
+        private Snapshot(int maxWidth, int maxHeight, int quality) {
+            this.maxWidth = maxWidth;
+            this.maxHeight = maxHeight;
+            this.quality = quality;
+        }
+
+        static Snapshot parse(ReadableMap params) {
+            if (params == null) return new Snapshot(0, 0, DEFAULT_SNAPSHOT_QUALITY);
+            return new Snapshot(
+                    params.getInt("maxWidth", 0),
+                    params.getInt("maxHeight", 0),
+                    Math.max(1, Math.min(100, params.getInt("quality", DEFAULT_SNAPSHOT_QUALITY))));
+        }
+    }
+
+    /** Success payload of {@code takePhoto} and {@code snapshot}. */
+    static JavaOnlyMap captureResult(String uri, int width, int height,
+                                     long captureMs, long fileSize) {
+        JavaOnlyMap data = new JavaOnlyMap();
+        data.putString("uri", uri);
+        data.putInt("width", width);
+        data.putInt("height", height);
+        data.putDouble("captureMs", captureMs);
+        data.putDouble("fileSize", fileSize);
+        return data;
+    }
+
+    /** Failure payload passed as {@code callback.invoke(1, result)}. */
+    static JavaOnlyMap errorResult(String code, String message) {
+        JavaOnlyMap result = new JavaOnlyMap();
+        result.putString("message", message);
+        result.putString("code", code);
+        return result;
+    }
+
+    /** e.g. {@code lynx_camera_20260218_143005_123.jpg}, in local time. */
+    static String outputFileName(String prefix, long timeMillis) {
+        String timestamp = new SimpleDateFormat("yyyyMMdd_HHmmss_SSS", Locale.US)
+                .format(new Date(timeMillis));
+        return prefix + timestamp + ".jpg";
+    }
+}
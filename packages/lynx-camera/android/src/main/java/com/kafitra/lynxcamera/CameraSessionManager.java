@@ -0,0 +1,357 @@
+package com.kafitra.lynxcamera;
+
+import android.content.Context;
+import android.os.Handler;
+import android.os.Looper;
+import android.os.SystemClock;
+import android.util.Log;
+
+import androidx.annotation.MainThread;
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.camera.core.Camera;
+import androidx.camera.core.CameraSelector;
+import androidx.camera.core.ImageCapture;
+import androidx.camera.core.Preview;
+import androidx.camera.core.UseCase;
+import androidx.camera.lifecycle.ProcessCameraProvider;
+import androidx.core.content.ContextCompat;
+import androidx.lifecycle.Lifecycle;
+import androidx.lifecycle.LifecycleOwner;
+
+import com.google.common.util.concurrent.ListenableFuture;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * CameraSessionManager — process-wide owner of the CameraX provider and the active session.
+ *
+ * <p>All {@link LynxCameraView} instances share one {@link ProcessCameraProvider} future, so the
+ * provider is initialised once per process instead of once per view. The manager also tracks
+ * which use cases are bound, which lets callers:
+ * <ul>
+ *   <li>switch lens by moving the existing {@link Preview} / {@link ImageCapture} to the new
+ *       selector instead of rebuilding them,</li>
+ *   <li>replace a single use case without touching the others,</li>
+ *   <li>park a session for a short grace period after detach so that a view re-created for
+ *       the same {@link LifecycleOwner} (e.g. navigating back to the camera page) can take
+ *       it over without reopening the camera.</li>
+ * </ul>
+ *
+ * <p>Hosts can call {@link #prewarm(Context)} from {@code Application.onCreate()} to start
+ * provider initialisation before the first {@code <camera>} element is created.
+ *
+ * <p>All methods except {@link #prewarm(Context)} must be called on the main thread.
+ */
+public final class CameraSessionManager {
+
+    private static final String TAG = "CameraSessionManager";
+
+    private static final CameraSessionManager INSTANCE = new CameraSessionManager();
+
+    /** Callback for {@link #getProvider(Context, ProviderCallback)}. */
+    interface ProviderCallback {
+        void onProviderReady(@NonNull ProcessCameraProvider provider);
+
+        void onProviderError(@NonNull Exception error);
+    }
+
+    /** A view that binds use cases through the manager. */
+    interface SessionClient {
+        /**
+         * Another client's {@link #bind} unbound this client's use cases. The session is no
+         * longer this client's; it should drop its references and not call {@link #release}.
+         */
+        void onSessionLost();
+    }
+
+    /** A bound (or parked) set of use cases for one lifecycle owner and lens. */
+    static final class Session {
+        final LifecycleOwner lifecycleOwner;
+        CameraSelector selector;
+        Preview preview;
+        ImageCapture imageCapture;
+        Camera camera;
+        /** Opaque description of how {@link #preview} was configured, set by the client. */
+        String previewConfig;
+        /** Opaque description of how {@link #imageCapture} was configured, set by the client. */
+        String captureConfig;
+
+        Session(LifecycleOwner lifecycleOwner, CameraSelector selector) {
+            this.lifecycleOwner = lifecycleOwner;
+            this.selector = selector;
+        }
+    }
+
+    /** Immutable snapshot of bind-time metrics, all durations in milliseconds. */
+    static final class Metrics {
+        /** Time from the first {@code getInstance()} call on the provider to it being ready; -1 if pending. */
+        final long providerInitMs;
+        /** Duration of the most recent {@code bindToLifecycle} round-trip; -1 if never bound. */
+        final long lastBindMs;
+        /** "cold" (new session), "rebind" (use cases changed) or "reuse" (parked session taken over). */
+        final String lastBindType;
+        final int coldBindCount;
+        final int rebindCount;
+        final int reuseCount;
+
+        Metrics(long providerInitMs, long lastBindMs, String lastBindType,
+                int coldBindCount, int rebindCount, int reuseCount) {
+            this.providerInitMs = providerInitMs;
+            this.lastBindMs = lastBindMs;
+            this.lastBindType = lastBindType;
+            this.coldBindCount = coldBindCount;
+            this.rebindCount = rebindCount;
+            this.reuseCount = reuseCount;
+        }
+    }
+
+    static final String BIND_COLD = "cold";
+    static final String BIND_REBIND = "rebind";
+    static final String BIND_REUSE = "reuse";
+
+    private final Handler mMainHandler = new Handler(Looper.getMainLooper());
+
+    private ListenableFuture<ProcessCameraProvider> mProviderFuture;
+    private ProcessCameraProvider mProvider;
+    private long mProviderRequestedAt = -1;
+    private long mProviderInitMs = -1;
+
+    /** Session currently bound to the camera, or {@code null}. */
+    private Session mSession;
+    /** The client (usually a {@link LynxCameraView}) that owns {@link #mSession}. */
+    private SessionClient mSessionClient;
+    /** Pending delayed release for a parked session. */
+    private Runnable mPendingRelease;
+
+    private long mLastBindMs = -1;
+    private String mLastBindType = null;
+    private int mColdBindCount = 0;
+    private int mRebindCount = 0;
+    private int mReuseCount = 0;
+
+    private CameraSessionManager() {}
+
+    static CameraSessionManager getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Start CameraX provider initialisation ahead of time. Safe to call repeatedly and from
+     * any thread; only the first call has an effect. Does nothing without CAMERA permission,
+     * since the provider cannot enumerate cameras until the permission is granted.
+     */
+    public static void prewarm(Context context) {
+        if (!PermissionHelper.hasCameraPermission(context)) return;
+        INSTANCE.warmUp(context);
+    }
+
+    /** Return the shared provider future, creating it on first use. */
+    synchronized ListenableFuture<ProcessCameraProvider> warmUp(Context context) {
+        if (mProviderFuture == null) {
+            mProviderRequestedAt = SystemClock.elapsedRealtime();
+            mProviderFuture = ProcessCameraProvider.getInstance(context.getApplicationContext());
+            Log.i(TAG, "warmUp() — CameraProvider future created");
+        }
+        return mProviderFuture;
+    }
+
+    /**
+     * Deliver the shared provider to {@code callback} on the main thread — immediately if it
+     * is already initialised, otherwise once the future completes.
+     */
+    @MainThread
+    void getProvider(Context context, ProviderCallback callback) {
+        if (mProvider != null) {
+            callback.onProviderReady(mProvider);
+            return;
+        }
+        final ListenableFuture<ProcessCameraProvider> future = warmUp(context);
+        future.addListener(() -> {
+            try {
+                ProcessCameraProvider provider = future.get();
+                if (mProvider == null) {
+                    mProvider = provider;
+                    mProviderInitMs = SystemClock.elapsedRealtime() - mProviderRequestedAt;
+                    Log.i(TAG, "CameraProvider ready in " + mProviderInitMs + " ms");
+                }
+                callback.onProviderReady(provider);
+            } catch (ExecutionException | InterruptedException e) {
+                synchronized (CameraSessionManager.this) {
+                    // Allow a later call to retry instead of caching the failure forever.
+                    if (mProviderFuture == future) mProviderFuture = null;
+                }
+                callback.onProviderError(e);
+            }
+        }, ContextCompat.getMainExecutor(context));
+    }
+
+    /**
+     * Take over a parked session for {@code owner}, cancelling its pending release.
+     * Returns {@code null} when there is nothing to reuse.
+     */
+    @MainThread
+    @Nullable
+    Session claimParked(SessionClient client, LifecycleOwner owner) {
+        if (mSession == null || mPendingRelease == null) return null;
+        if (mSession.lifecycleOwner != owner
+                || owner.getLifecycle().getCurrentState() == Lifecycle.State.DESTROYED) {
+            return null;
+        }
+        mMainHandler.removeCallbacks(mPendingRelease);
+        mPendingRelease = null;
+        mSessionClient = client;
+        mReuseCount++;
+        mLastBindMs = 0;
+        mLastBindType = BIND_REUSE;
+        Log.i(TAG, "claimParked() — reusing bound session");
+        return mSession;
+    }
+
+    /**
+     * Bind {@code preview} and {@code imageCapture} for {@code client}, touching only what
+     * differs from the currently bound session:
+     * <ul>
+     *   <li>same owner and lens — unbind use cases that were replaced, bind the new ones;</li>
+     *   <li>different owner or lens — unbind the previous session's use cases, then bind.</li>
+     * </ul>
+     * Either way, if the session belonged to another client, that client loses it and is told
+     * through {@link SessionClient#onSessionLost()} once the bind has finished.
+     *
+     * @throws IllegalStateException    if the provider is not ready yet.
+     * @throws IllegalArgumentException if CameraX rejects the combination (no such lens, etc.).
+     */
+    @MainThread
+    Session bind(SessionClient client, LifecycleOwner owner, CameraSelector selector,
+                 Preview preview, ImageCapture imageCapture) {
+        if (mProvider == null) {
+            throw new IllegalStateException("CameraProvider is not ready");
+        }
+        cancelPendingRelease();
+        SessionClient displaced = mSessionClient != client ? mSessionClient : null;
+
+        long start = SystemClock.elapsedRealtime();
+        boolean sameCamera = mSession != null
+                && mSession.lifecycleOwner == owner
+                && mSession.selector == selector;
+
+        List<UseCase> toBind = new ArrayList<>(2);
+        String bindType;
+        if (sameCamera) {
+            List<UseCase> stale = new ArrayList<>(2);
+            if (mSession.preview != null && mSession.preview != preview) stale.add(mSession.preview);
+            if (mSession.imageCapture != null && mSession.imageCapture != imageCapture) {
+                stale.add(mSession.imageCapture);
+            }
+            if (!stale.isEmpty()) {
+                mProvider.unbind(stale.toArray(new UseCase[0]));
+            }
+            bindType = BIND_REBIND;
+        } else {
+            unbindSession(mSession);
+            mSession = new Session(owner, selector);
+            bindType = BIND_COLD;
+        }
+        if (preview != null && !mProvider.isBound(preview)) toBind.add(preview);
+        if (imageCapture != null && !mProvider.isBound(imageCapture)) toBind.add(imageCapture);
+
+        Camera camera = mSession.camera;
+        try {
+            if (!toBind.isEmpty() || camera == null) {
+                camera = mProvider.bindToLifecycle(owner, selector, toBind.toArray(new UseCase[0]));
+            }
+        } catch (RuntimeException e) {
+            // Leave no half-bound session behind.
+            unbindSession(mSession);
+            mSession = null;
+            mSessionClient = null;
+            if (displaced != null) displaced.onSessionLost();
+            throw e;
+        }
+
+        mSession.preview = preview;
+        mSession.imageCapture = imageCapture;
+        mSession.camera = camera;
+        mSessionClient = client;
+
+        mLastBindMs = SystemClock.elapsedRealtime() - start;
+        mLastBindType = bindType;
+        if (BIND_COLD.equals(bindType)) {
+            mColdBindCount++;
+        } else {
+            mRebindCount++;
+        }
+        Log.i(TAG, "bind() — " + bindType + " bind took " + mLastBindMs + " ms");
+        Session session = mSession;
+        if (displaced != null) {
+            Log.i(TAG, "bind() — took the camera over from another client");
+            displaced.onSessionLost();
+        }
+        return session;
+    }
+
+    /**
+     * Release the session owned by {@code client}. With {@code graceMs > 0} the session is
+     * parked: the preview output is detached but the camera stays open until the grace
+     * period elapses or another client claims it. Calls from clients that no longer own
+     * the session are ignored.
+     */
+    @MainThread
+    void release(SessionClient client, long graceMs) {
+        if (mSession == null || mSessionClient != client) return;
+        mSessionClient = null;
+
+        if (graceMs <= 0) {
+            unbindSession(mSession);
+            mSession = null;
+            return;
+        }
+
+        if (mSession.preview != null) {
+            mSession.preview.setSurfaceProvider(null);
+        }
+        cancelPendingRelease();
+        final Session parked = mSession;
+        mPendingRelease = () -> {
+            mPendingRelease = null;
+            if (mSession == parked && mSessionClient == null) {
+                Log.i(TAG, "release() — grace period elapsed, unbinding parked session");
+                unbindSession(parked);
+                mSession = null;
+            }
+        };
+        mMainHandler.postDelayed(mPendingRelease, graceMs);
+        Log.i(TAG, "release() — session parked for " + graceMs + " ms");
+    }
+
+    /** Current bind-time metrics. */
+    @MainThread
+    Metrics getMetrics() {
+        return new Metrics(mProviderInitMs, mLastBindMs, mLastBindType,
+                mColdBindCount, mRebindCount, mReuseCount);
+    }
+
+    // -----------------------------------------------------------------------
+    // Internals
+    // -----------------------------------------------------------------------
+
+    private void cancelPendingRelease() {
+        if (mPendingRelease != null) {
+            mMainHandler.removeCallbacks(mPendingRelease);
+            mPendingRelease = null;
+        }
+    }
+
+    private void unbindSession(@Nullable Session session) {
+        if (session == null || mProvider == null) return;
+        List<UseCase> bound = new ArrayList<>(2);
+        if (session.preview != null) bound.add(session.preview);
+        if (session.imageCapture != null) bound.add(session.imageCapture);
+        if (!bound.isEmpty()) {
+            mProvider.unbind(bound.toArray(new UseCase[0]));
+        }
+        session.camera = null;
+    }
+}
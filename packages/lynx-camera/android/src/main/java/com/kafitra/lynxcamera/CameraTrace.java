@@ -0,0 +1,42 @@
+package com.kafitra.lynxcamera;
+
+import android.os.Build;
+import android.os.Trace;
+
+/**
+ * Thin wrapper around {@link android.os.Trace} for camera latency sections.
+ *
+ * <p>Synchronous sections ({@link #begin(String)} / {@link #end()}) must start and end on the
+ * same thread. Async sections span threads and callbacks (e.g. shutter → {@code onImageSaved})
+ * and are only recorded on API 29+, where {@code Trace.beginAsyncSection} is available.
+ */
+final class CameraTrace {
+
+    static final String PROVIDER_INIT = "LynxCamera.providerInit";
+    static final String BIND = "LynxCamera.bind";
+    static final String FIRST_FRAME = "LynxCamera.firstFrame";
+    static final String CAPTURE = "LynxCamera.capture";
+    static final String SNAPSHOT = "LynxCamera.snapshot";
+
+    private CameraTrace() {}
+
+    static void begin(String name) {
+        Trace.beginSection(name);
+    }
+
+    static void end() {
+        Trace.endSection();
+    }
+
+    static void beginAsync(String name, int cookie) {
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.Q) {
+            Trace.beginAsyncSection(name, cookie);
+        }
+    }
+
+    static void endAsync(String name, int cookie) {
+        if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.Q) {
+            Trace.endAsyncSection(name, cookie);
+        }
+    }
+}
@@ -3,20 +3,27 @@ package com.kafitra.lynxcamera;
 import android.app.Activity;
 import android.content.Context;
 import android.content.ContextWrapper;
+import android.graphics.Bitmap;
 import android.graphics.Canvas;
 import android.graphics.Color;
 import android.graphics.Paint;
 import android.os.Handler;
 import android.os.Looper;
+import android.os.SystemClock;
 import android.util.Log;
+import android.util.Size;
+import android.view.Choreographer;
 import android.view.MotionEvent;
+import android.view.ScaleGestureDetector;
 import android.view.View;
 import android.view.ViewTreeObserver;
 import android.widget.FrameLayout;
 
 import androidx.annotation.NonNull;
+import androidx.annotation.OptIn;
 import androidx.camera.core.Camera;
 import androidx.camera.core.CameraSelector;
+import androidx.camera.core.ExperimentalZeroShutterLag;
 import androidx.camera.core.FocusMeteringAction;
 import androidx.camera.core.ImageCapture;
 import androidx.camera.core.ImageCaptureException;
@@ -25,13 +32,17 @@ import androidx.camera.core.MeteringPointFactory;
 import androidx.camera.core.Preview;
 import androidx.camera.core.SurfaceOrientedMeteringPointFactory;
 import androidx.camera.core.ZoomState;
+import androidx.camera.core.resolutionselector.AspectRatioStrategy;
+import androidx.camera.core.resolutionselector.ResolutionSelector;
+import androidx.camera.core.resolutionselector.ResolutionStrategy;
 import androidx.camera.lifecycle.ProcessCameraProvider;
 import androidx.camera.view.PreviewView;
-import androidx.core.content.ContextCompat;
 import androidx.lifecycle.LifecycleOwner;
+import androidx.lifecycle.Observer;
 
-import com.google.common.util.concurrent.ListenableFuture;
-
+import com.kafitra.lynxscheduler.LynxScheduler;
+import com.kafitra.lynxscheduler.Priority;
+import com.kafitra.lynxscheduler.SerialQueue;
 import com.lynx.react.bridge.Callback;
 import com.lynx.react.bridge.JavaOnlyMap;
 import com.lynx.react.bridge.ReadableMap;
@@ -41,13 +52,17 @@ import com.lynx.tasm.behavior.LynxUIMethod;
 import com.lynx.tasm.behavior.ui.LynxUI;
 import com.lynx.tasm.event.LynxCustomEvent;
 
+import java.io.BufferedOutputStream;
 import java.io.File;
-import java.text.SimpleDateFormat;
-import java.util.Date;
-import java.util.Locale;
-import java.util.concurrent.ExecutionException;
-import java.util.concurrent.Executor;
-import java.util.concurrent.Executors;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * LynxCameraView — Native UI custom element for camera preview and capture.
@@ -66,8 +81,30 @@ import java.util.concurrent.Executors;
  *   <li>{@code focus-mode}   — "auto" | "tap" | "continuous" (default: "continuous")</li>
  *   <li>{@code zoom}         — float ≥ 1.0 (default: 1.0)</li>
  *   <li>{@code enable-torch} — "true" | "false" (default: "false")</li>
+ *   <li>{@code enable-pinch-zoom} — "true" | "false"; native pinch-to-zoom on the preview
+ *       (default: "true")</li>
+ *   <li>{@code keep-alive-ms} — int ≥ 0; keep the session bound this long after detach
+ *       so a re-mounted view can take it over (default: 0)</li>
+ *   <li>{@code capture-resolution} — "WIDTHxHEIGHT" target still size (default: camera default)</li>
+ *   <li>{@code preview-resolution} — "WIDTHxHEIGHT" target preview size (default: camera default)</li>
+ *   <li>{@code aspect-ratio}  — "4:3" | "16:9" for preview and capture (default: camera default)</li>
+ *   <li>{@code capture-mode}  — "latency" | "quality" | "zsl" (default: "latency")</li>
+ *   <li>{@code jpeg-quality}  — int 1–100 (default: CameraX default for the capture mode)</li>
  * </ul>
  *
+ * <p>Latency instrumentation: {@code cameraready} carries {@code providerReadyMs}
+ * (createView → provider ready), {@code bindMs}, {@code bindType} and {@code firstFrameMs}
+ * (open start → first streamed preview frame), and {@code photocaptured} / {@code takePhoto}
+ * carry {@code captureMs} (shutter → file saved) and {@code fileSize}. The same intervals are
+ * recorded as {@link android.os.Trace} sections (see {@link CameraTrace}).
+ *
+ * <p>{@code zoomchanged} events are coalesced to at most one per display frame, so a pinch
+ * gesture or a burst of {@code setZoom} calls does not flood the bridge.
+ *
+ * <p>Changing a resolution / mode prop rebuilds only the affected use case: capture props
+ * swap the {@code ImageCapture}, {@code preview-resolution} swaps the {@code Preview}, and
+ * {@code aspect-ratio} swaps both.
+ *
  * <p>Invokable methods ({@code NodesRef.invoke}):
  * <ul>
  *   <li>{@code takePhoto}     → {@code { code, data: { uri, width, height } }}</li>
@@ -75,12 +112,24 @@ import java.util.concurrent.Executors;
  *   <li>{@code setZoom}       → {@code { code }}  params: {@code { level: float }}</li>
  *   <li>{@code setFlash}      → {@code { code }}  params: {@code { mode: string }}</li>
  *   <li>{@code focus}         → {@code { code }}  params: {@code { x: float, y: float }}</li>
+ *   <li>{@code snapshot}      → {@code { code, data: { uri, width, height, captureMs, fileSize } }}
+ *       params: {@code { maxWidth?: int, maxHeight?: int, quality?: int }}</li>
+ *   <li>{@code getSessionMetrics} → {@code { code, data: { providerInitMs, lastBindMs, ... } }}</li>
  * </ul>
+ *
+ * <p>Camera provider and session ownership are delegated to the process-wide
+ * {@link CameraSessionManager}.
  */
 public class LynxCameraView extends LynxUI<FrameLayout> {
 
     private static final String TAG = "LynxCameraView";
 
+    /** Emit cameraready anyway if the preview has not streamed a frame by then. */
+    private static final long FIRST_FRAME_TIMEOUT_MS = 2000;
+
+    /** Cookie source for async capture trace sections. */
+    private static final AtomicInteger sCaptureSeq = new AtomicInteger();
+
     // -----------------------------------------------------------------------
     // State
     // -----------------------------------------------------------------------
@@ -90,23 +139,74 @@ public class LynxCameraView extends LynxUI<FrameLayout> {
     private String mFocusMode = "continuous";
     private float mZoom = 1.0f;
     private boolean mEnableTorch = false;
+    private boolean mEnablePinchZoom = true;
+    private long mKeepAliveMs = 0;
+    private Size mCaptureResolution = null;
+    private Size mPreviewResolution = null;
+    private String mAspectRatio = null;
+    private String mCaptureMode = "latency";
+    private int mJpegQuality = 0; // 0 = CameraX default
 
     private PreviewView mPreviewView;
     private FocusRingView mFocusRingView;
 
-    private Camera mCamera;
+    private final CameraSessionManager mSessionManager = CameraSessionManager.getInstance();
+    /** Identifies this view to {@link #mSessionManager}; told when another view takes over. */
+    private final CameraSessionManager.SessionClient mSessionClient = this::onSessionLost;
+    private CameraSessionManager.Session mSession;
+    private Preview mPreview;
     private ImageCapture mImageCapture;
     private ProcessCameraProvider mCameraProvider;
-    // Pre-warmed future — started as early as createView() so hardware init
-    // overlaps with Lynx layout/JS setup rather than waiting until onAttach().
-    private ListenableFuture<ProcessCameraProvider> mProviderFuture;
 
-    private final Executor mCaptureExecutor = Executors.newSingleThreadExecutor();
+    /** Capture callbacks and snapshot encoding, in order; closed in {@link #destroy()}. */
+    private final SerialQueue mCaptureQueue =
+            LynxScheduler.cpu().newSerialQueue("LynxCamera-capture", Priority.HIGH);
+    /** Captures whose callback has not fired; failed in {@link #destroy()}. */
+    private final Set<PendingCapture> mPendingCaptures =
+            Collections.newSetFromMap(new ConcurrentHashMap<PendingCapture, Boolean>());
     private final Handler mMainHandler = new Handler(Looper.getMainLooper());
 
     /** Set to {@code true} while a runtime CAMERA permission request is in flight. */
     private boolean mPermissionPending = false;
 
+    /** Set while a coalesced use-case rebind is posted to the main thread. */
+    private boolean mRebindPending = false;
+
+    // Latency instrumentation (SystemClock.elapsedRealtime() based, -1 = not measured)
+    private long mCreatedAt = -1;
+    /** When the open PROVIDER_INIT trace section began, -1 while none is open. */
+    private long mProviderInitStartedAt = -1;
+    private long mProviderReadyMs = -1;
+    private long mOpenStartedAt = -1;
+    private long mLastBindMs = -1;
+    private String mLastBindType = null;
+    private boolean mAwaitingFirstFrame = false;
+    /** Whether a non-streaming state was seen since the bind, so a stale STREAMING is ignored. */
+    private boolean mStreamRestarted = false;
+    private Observer<PreviewView.StreamState> mStreamStateObserver;
+    private final Runnable mFirstFrameTimeout = () -> onFirstFrame(false);
+
+    // zoomchanged coalescing: the latest values are sent on the next display frame.
+    private boolean mZoomEventPending = false;
+    private float mPendingZoom;
+    private float mPendingMinZoom;
+    private float mPendingMaxZoom;
+    private float mLastEmittedZoom = Float.NaN;
+    private float mLastEmittedMinZoom = Float.NaN;
+    private float mLastEmittedMaxZoom = Float.NaN;
+    private final Choreographer.FrameCallback mZoomEventFrame = frameTimeNanos -> {
+        mZoomEventPending = false;
+        if (mPendingZoom == mLastEmittedZoom
+                && mPendingMinZoom == mLastEmittedMinZoom
+                && mPendingMaxZoom == mLastEmittedMaxZoom) {
+            return;
+        }
+        mLastEmittedZoom = mPendingZoom;
+        mLastEmittedMinZoom = mPendingMinZoom;
+        mLastEmittedMaxZoom = mPendingMaxZoom;
+        emitZoomChanged(mPendingZoom, mPendingMinZoom, mPendingMaxZoom);
+    };
+
     // -----------------------------------------------------------------------
     // Constructor
     // -----------------------------------------------------------------------
@@ -123,11 +223,10 @@ public class LynxCameraView extends LynxUI<FrameLayout> {
     @Override
     protected FrameLayout createView(Context context) {
         Log.i(TAG, "createView() called — context=" + context.getClass().getName());
-        // Kick off CameraProvider init immediately so hardware is ready.
-        if (PermissionHelper.hasCameraPermission(context)) {
-            mProviderFuture = ProcessCameraProvider.getInstance(context);
-            Log.i(TAG, "createView() — CameraProvider future pre-warmed");
-        }
+        mCreatedAt = SystemClock.elapsedRealtime();
+        // Kick off the shared CameraProvider init immediately so hardware init overlaps
+        // with Lynx layout/JS setup. No-op when an earlier view already warmed it up.
+        CameraSessionManager.prewarm(context);
 
         // Root container: FrameLayout so FocusRingView can overlay PreviewView
         FrameLayout container = new FrameLayout(context);
@@ -147,6 +246,16 @@ public class LynxCameraView extends LynxUI<FrameLayout> {
                 FrameLayout.LayoutParams.MATCH_PARENT,
                 FrameLayout.LayoutParams.MATCH_PARENT));
 
+        // Pinch-to-zoom is handled natively: the detector drives CameraControl directly
+        // and JS only receives the coalesced zoomchanged events.
+        final ScaleGestureDetector scaleDetector = new ScaleGestureDetector(context,
+                new ScaleGestureDetector.SimpleOnScaleGestureListener() {
+                    @Override
+                    public boolean onScale(ScaleGestureDetector detector) {
+                        return handlePinch(detector.getScaleFactor());
+                    }
+                });
+
         // Tap-to-focus: when focusMode is "tap", trigger focus at touch point.
         mPreviewView.setOnTouchListener((v, event) -> {
             if (event.getAction() == MotionEvent.ACTION_DOWN && "tap".equals(mFocusMode)) {
@@ -154,7 +263,10 @@ public class LynxCameraView extends LynxUI<FrameLayout> {
                 emitTapFocus(event.getX(), event.getY());
                 mFocusRingView.showRing(event.getX(), event.getY());
             }
-            return false;
+            if (!mEnablePinchZoom) return false;
+            // Consume the stream so the detector sees the second pointer and the moves.
+            scaleDetector.onTouchEvent(event);
+            return true;
         });
 
         // Use Android native attach listener — guaranteed to fire when the view
@@ -201,6 +313,23 @@ public class LynxCameraView extends LynxUI<FrameLayout> {
         stopCamera();
     }
 
+    @Override
+    public void destroy() {
+        super.destroy();
+        endProviderInitTrace();
+        // The view may be re-attached after onDetach(), so pending captures are only dropped here.
+        mCaptureQueue.close();
+        // The closed queue drops their CameraX callbacks and snapshot work: fail them here so
+        // every JS callback fires, traces end and copied frames are recycled.
+        for (PendingCapture pending : new ArrayList<>(mPendingCaptures)) {
+            if (!finish(pending)) continue;
+            CameraTrace.endAsync(pending.traceName, pending.traceCookie);
+            if (pending.frame != null) pending.frame.recycle();
+            invokeError(pending.callback, "VIEW_DESTROYED",
+                    "The camera view was destroyed before the capture completed");
+        }
+    }
+
     // -----------------------------------------------------------------------
     // Props
     // -----------------------------------------------------------------------
@@ -241,6 +370,57 @@ public class LynxCameraView extends LynxUI<FrameLayout> {
         applyTorch();
     }
 
+    @LynxProp(name = "enable-pinch-zoom")
+    public void setEnablePinchZoom(String value) {
+        mEnablePinchZoom = !"false".equalsIgnoreCase(value);
+    }
+
+    @LynxProp(name = "keep-alive-ms")
+    public void setKeepAliveMs(int keepAliveMs) {
+        mKeepAliveMs = Math.max(0, keepAliveMs);
+    }
+
+    @LynxProp(name = "capture-resolution")
+    public void setCaptureResolution(String value) {
+        Size size = CameraParams.parseSize(value);
+        if (equalsNullable(size, mCaptureResolution)) return;
+        mCaptureResolution = size;
+        invalidateImageCapture();
+    }
+
+    @LynxProp(name = "preview-resolution")
+    public void setPreviewResolution(String value) {
+        Size size = CameraParams.parseSize(value);
+        if (equalsNullable(size, mPreviewResolution)) return;
+        mPreviewResolution = size;
+        invalidatePreview();
+    }
+
+    @LynxProp(name = "aspect-ratio")
+    public void setAspectRatio(String value) {
+        String ratio = CameraParams.parseAspectRatio(value);
+        if (equalsNullable(ratio, mAspectRatio)) return;
+        mAspectRatio = ratio;
+        invalidatePreview();
+        invalidateImageCapture();
+    }
+
+    @LynxProp(name = "capture-mode")
+    public void setCaptureMode(String mode) {
+        if (mode == null) mode = "latency";
+        if (mode.equals(mCaptureMode)) return;
+        mCaptureMode = mode;
+        invalidateImageCapture();
+    }
+
+    @LynxProp(name = "jpeg-quality")
+    public void setJpegQuality(int quality) {
+        int clamped = CameraParams.clampJpegQuality(quality);
+        if (clamped == mJpegQuality) return;
+        mJpegQuality = clamped;
+        invalidateImageCapture();
+    }
+
     // -----------------------------------------------------------------------
     // Invokable methods
     // -----------------------------------------------------------------------
@@ -261,33 +441,47 @@ public class LynxCameraView extends LynxUI<FrameLayout> {
             invokeError(callback, "CAMERA_NOT_READY", "Camera is not initialised yet");
             return;
         }
+        if (mCaptureQueue.isClosed()) {
+            invokeError(callback, "VIEW_DESTROYED", "The camera view was destroyed");
+            return;
+        }
 
         File outputFile = createOutputFile();
         ImageCapture.OutputFileOptions options =
                 new ImageCapture.OutputFileOptions.Builder(outputFile).build();
 
+        final int traceCookie = sCaptureSeq.incrementAndGet();
+        final long shutterAt = SystemClock.elapsedRealtime();
+        CameraTrace.beginAsync(CameraTrace.CAPTURE, traceCookie);
+        final PendingCapture pending =
+                track(new PendingCapture(callback, CameraTrace.CAPTURE, traceCookie, null));
+
         mImageCapture.takePicture(
                 options,
-                mCaptureExecutor,
+                mCaptureQueue,
                 new ImageCapture.OnImageSavedCallback() {
                     @Override
                     public void onImageSaved(
                             @NonNull ImageCapture.OutputFileResults results) {
+                        if (!finish(pending)) return;
+                        long captureMs = SystemClock.elapsedRealtime() - shutterAt;
+                        CameraTrace.endAsync(CameraTrace.CAPTURE, traceCookie);
                         String uri = "file://" + outputFile.getAbsolutePath();
+                        long fileSize = outputFile.length();
                         mMainHandler.post(() -> {
-                            JavaOnlyMap data = new JavaOnlyMap();
-                            data.putString("uri", uri);
-                            data.putInt("width", 0);
-                            data.putInt("height", 0);
+                            JavaOnlyMap data =
+                                    CameraParams.captureResult(uri, 0, 0, captureMs, fileSize);
                             // Lynx callback format: invoke(code, data)
                             // NativeFacade wraps as { code, data } → routed to success/fail
                             callback.invoke(0, data);
-                            emitPhotoCaptured(uri);
+                            emitPhotoCaptured(uri, captureMs, fileSize);
                         });
                     }
 
                     @Override
                     public void onError(@NonNull ImageCaptureException exception) {
+                        if (!finish(pending)) return;
+                        CameraTrace.endAsync(CameraTrace.CAPTURE, traceCookie);
                         mMainHandler.post(() ->
                                 invokeError(callback, "CAPTURE_FAILED", exception.getMessage()));
                     }
@@ -295,6 +489,85 @@ public class LynxCameraView extends LynxUI<FrameLayout> {
         );
     }
 
+    /**
+     * Grab the current preview frame and save it as a JPEG — a latency-first alternative to
+     * {@link #takePhoto}. Skips the {@code ImageCapture} pipeline entirely (no 3A convergence,
+     * no flash metering); the frame is copied on the UI thread and scaled + encoded on the
+     * capture queue.
+     *
+     * <p>Params: {@code { maxWidth?: int, maxHeight?: int, quality?: int }}. The frame is
+     * downscaled to fit within the bounds, keeping its aspect ratio; quality defaults to 80.
+     *
+     * <p>Callback payload: {@code { code: 0, data: { uri, width, height, captureMs, fileSize } }}.
+     */
+    @LynxUIMethod
+    public void snapshot(ReadableMap params, Callback callback) {
+        if (!PermissionHelper.hasCameraPermission(mContext.getContext())) {
+            invokeError(callback, "PERMISSION_DENIED", "Camera permission not granted");
+            return;
+        }
+        if (currentCamera() == null || mPreviewView == null) {
+            invokeError(callback, "CAMERA_NOT_READY", "Camera is not initialised yet");
+            return;
+        }
+        if (mCaptureQueue.isClosed()) {
+            invokeError(callback, "VIEW_DESTROYED", "The camera view was destroyed");
+            return;
+        }
+        final CameraParams.Snapshot options = CameraParams.Snapshot.parse(params);
+
+        final int traceCookie = sCaptureSeq.incrementAndGet();
+        final long shutterAt = SystemClock.elapsedRealtime();
+        CameraTrace.beginAsync(CameraTrace.SNAPSHOT, traceCookie);
+
+        // getBitmap() must run on the UI thread; it returns null until a frame is shown.
+        final Bitmap frame = mPreviewView.getBitmap();
+        if (frame == null) {
+            CameraTrace.endAsync(CameraTrace.SNAPSHOT, traceCookie);
+            invokeError(callback, "CAMERA_NOT_READY", "No preview frame available yet");
+            return;
+        }
+        final File outputFile = createOutputFile("lynx_snapshot_");
+        final PendingCapture pending =
+                track(new PendingCapture(callback, CameraTrace.SNAPSHOT, traceCookie, frame));
+
+        mCaptureQueue.execute(() -> {
+            // Claimed before touching the frame, so destroy() cannot recycle it underneath us.
+            if (!finish(pending)) return;
+            Bitmap scaled = scaleToFit(frame, options.maxWidth, options.maxHeight);
+            // Read before the finally block recycles the bitmap.
+            final int width = scaled.getWidth();
+            final int height = scaled.getHeight();
+            String error = null;
+            try (OutputStream out = new BufferedOutputStream(new FileOutputStream(outputFile))) {
+                if (!scaled.compress(Bitmap.CompressFormat.JPEG, options.quality, out)) {
+                    error = "JPEG encoding failed";
+                }
+            } catch (IOException e) {
+                error = e.getMessage();
+            } finally {
+                if (scaled != frame) scaled.recycle();
+                frame.recycle();
+            }
+            if (error != null) {
+                outputFile.delete();
+                CameraTrace.endAsync(CameraTrace.SNAPSHOT, traceCookie);
+                final String message = error;
+                mMainHandler.post(() -> invokeError(callback, "SNAPSHOT_FAILED", message));
+                return;
+            }
+            final long captureMs = SystemClock.elapsedRealtime() - shutterAt;
+            final long fileSize = outputFile.length();
+            CameraTrace.endAsync(CameraTrace.SNAPSHOT, traceCookie);
+            String uri = "file://" + outputFile.getAbsolutePath();
+            mMainHandler.post(() -> {
+                if (callback == null) return;
+                callback.invoke(0,
+                        CameraParams.captureResult(uri, width, height, captureMs, fileSize));
+            });
+        });
+    }
+
     /**
      * Toggle between front and back camera.
      */
@@ -305,6 +578,26 @@ public class LynxCameraView extends LynxUI<FrameLayout> {
         invokeSuccess(callback);
     }
 
+    /**
+     * Report bind-time metrics of the shared camera session.
+     *
+     * <p>Callback payload: {@code { code: 0, data: { providerInitMs, lastBindMs, lastBindType,
+     * coldBindCount, rebindCount, reuseCount } }}. Durations are -1 until measured.
+     */
+    @LynxUIMethod
+    public void getSessionMetrics(Callback callback) {
+        if (callback == null) return;
+        CameraSessionManager.Metrics metrics = mSessionManager.getMetrics();
+        JavaOnlyMap data = new JavaOnlyMap();
+        data.putDouble("providerInitMs", metrics.providerInitMs);
+        data.putDouble("lastBindMs", metrics.lastBindMs);
+        data.putString("lastBindType", metrics.lastBindType);
+        data.putInt("coldBindCount", metrics.coldBindCount);
+        data.putInt("rebindCount", metrics.rebindCount);
+        data.putInt("reuseCount", metrics.reuseCount);
+        callback.invoke(0, data);
+    }
+
     /**
      * Set zoom level programmatically.
      * Params: {@code { level: float }}
@@ -373,38 +666,77 @@ public class LynxCameraView extends LynxUI<FrameLayout> {
         }
         mPermissionPending = false; // cleared — permission is now granted
 
-        // Reuse the future pre-warmed in createView(); if permission was granted
-        // after createView() (runtime dialog), create a fresh one.
-        if (mProviderFuture == null) {
-            mProviderFuture = ProcessCameraProvider.getInstance(context);
-            Log.i(TAG, "startCamera() — CameraProvider future created (late)");
+        // Measured from here rather than from createView(), so time spent in the permission
+        // dialog is not counted as provider init.
+        if (mProviderReadyMs < 0 && mProviderInitStartedAt < 0) {
+            mProviderInitStartedAt = SystemClock.elapsedRealtime();
+            CameraTrace.beginAsync(CameraTrace.PROVIDER_INIT, System.identityHashCode(this));
         }
-
-        mProviderFuture.addListener(() -> {
-            try {
-                mCameraProvider = mProviderFuture.get();
+        // The provider is shared process-wide; if it is already initialised the
+        // callback runs synchronously, otherwise when the pre-warmed future completes.
+        mSessionManager.getProvider(context, new CameraSessionManager.ProviderCallback() {
+            @Override
+            public void onProviderReady(@NonNull ProcessCameraProvider provider) {
+                if (mProviderReadyMs < 0 && mProviderInitStartedAt >= 0) {
+                    mProviderReadyMs = SystemClock.elapsedRealtime() - mProviderInitStartedAt;
+                }
+                endProviderInitTrace();
+                mCameraProvider = provider;
                 Log.i(TAG, "CameraProvider obtained: " + mCameraProvider);
                 bindCameraUseCases();
-            } catch (ExecutionException | InterruptedException e) {
+            }
+
+            @Override
+            public void onProviderError(@NonNull Exception e) {
                 Log.e(TAG, "CameraX provider error", e);
+                endProviderInitTrace();
                 emitError("SESSION_ERROR",
                         "Failed to obtain CameraProvider: " + e.getMessage());
             }
-        }, ContextCompat.getMainExecutor(context));
+        });
+    }
+
+    /** End the PROVIDER_INIT trace section if one is open; a later start opens a new one. */
+    private void endProviderInitTrace() {
+        if (mProviderInitStartedAt < 0) return;
+        mProviderInitStartedAt = -1;
+        CameraTrace.endAsync(CameraTrace.PROVIDER_INIT, System.identityHashCode(this));
     }
 
     private void stopCamera() {
-        if (mCameraProvider != null) {
-            mCameraProvider.unbindAll();
-            mCameraProvider = null;
+        Choreographer.getInstance().removeFrameCallback(mZoomEventFrame);
+        mZoomEventPending = false;
+        if (mAwaitingFirstFrame) {
+            mMainHandler.removeCallbacks(mFirstFrameTimeout);
+            mAwaitingFirstFrame = false;
+            CameraTrace.endAsync(CameraTrace.FIRST_FRAME, System.identityHashCode(this));
         }
-        mCamera = null;
+        if (mStreamStateObserver != null) {
+            mPreviewView.getPreviewStreamState().removeObserver(mStreamStateObserver);
+            mStreamStateObserver = null;
+        }
+        // Parks the session for mKeepAliveMs (or unbinds right away when 0). The manager
+        // ignores the call if another view has already taken the session over.
+        mSessionManager.release(mSessionClient, mKeepAliveMs);
+        mCameraProvider = null;
+        mSession = null;
+        mPreview = null;
         mImageCapture = null;
     }
 
+    /**
+     * Another view bound the camera and our use cases were unbound. Stop as if detached, so a
+     * prop change does not silently take the camera back; re-attaching starts it again.
+     */
+    private void onSessionLost() {
+        Log.w(TAG, "onSessionLost() — camera taken over by another view");
+        stopCamera();
+        emitError("CAMERA_IN_USE", "The camera was taken over by another camera view");
+    }
+
     private void restartCamera() {
+        // Rebinds the existing use cases to the new lens instead of rebuilding them.
         if (mCameraProvider != null) {
-            mCameraProvider.unbindAll();
             bindCameraUseCases();
         }
     }
@@ -426,55 +758,259 @@ public class LynxCameraView extends LynxUI<FrameLayout> {
                 ? CameraSelector.DEFAULT_FRONT_CAMERA
                 : CameraSelector.DEFAULT_BACK_CAMERA;
 
-        Preview preview = new Preview.Builder().build();
-        preview.setSurfaceProvider(mPreviewView.getSurfaceProvider());
+        // A view re-created for the same Activity within the keep-alive window takes
+        // over the parked session: the camera is still open, only the surface changes.
+        if (mSession == null) {
+            CameraSessionManager.Session parked =
+                    mSessionManager.claimParked(mSessionClient, lifecycleOwner);
+            if (parked != null) {
+                mSession = parked;
+                mPreview = parked.preview;
+                mImageCapture = parked.imageCapture;
+            }
+        }
+
+        // Drop reused use cases whose configuration no longer matches our props;
+        // the manager then swaps only those on the open camera.
+        String previewConfig = previewConfigKey();
+        String captureConfig = captureConfigKey();
+        if (mSession != null && !previewConfig.equals(mSession.previewConfig)) mPreview = null;
+        if (mSession != null && !captureConfig.equals(mSession.captureConfig)) mImageCapture = null;
+
+        if (mPreview == null) {
+            mPreview = buildPreview();
+        }
+        mPreview.setSurfaceProvider(mPreviewView.getSurfaceProvider());
+
+        if (mImageCapture == null) {
+            mImageCapture = buildImageCapture();
+        }
 
-        mImageCapture = new ImageCapture.Builder()
-                .setCaptureMode(ImageCapture.CAPTURE_MODE_MINIMIZE_LATENCY)
-                .build();
+        // The first open is timed from createView(); later rebinds from their own start.
+        long bindStartedAt = SystemClock.elapsedRealtime();
+        mOpenStartedAt = mLastBindType == null ? mCreatedAt : bindStartedAt;
+        boolean claimedParked = mSession != null && mSession.camera != null && mLastBindType == null;
 
         try {
-            mCameraProvider.unbindAll();
-            mCamera = mCameraProvider.bindToLifecycle(
-                    lifecycleOwner,
-                    cameraSelector,
-                    preview,
-                    mImageCapture
-            );
+            boolean previewRestarts = claimedParked;
+            if (mSession == null
+                    || mSession.selector != cameraSelector
+                    || mSession.preview != mPreview
+                    || mSession.imageCapture != mImageCapture) {
+                previewRestarts = claimedParked
+                        || mSession == null
+                        || mSession.selector != cameraSelector
+                        || mSession.preview != mPreview;
+                CameraTrace.begin(CameraTrace.BIND);
+                try {
+                    mSession = mSessionManager.bind(
+                            mSessionClient,
+                            lifecycleOwner,
+                            cameraSelector,
+                            mPreview,
+                            mImageCapture
+                    );
+                } finally {
+                    CameraTrace.end();
+                }
+                mLastBindMs = SystemClock.elapsedRealtime() - bindStartedAt;
+                mLastBindType = mSessionManager.getMetrics().lastBindType;
+            } else if (claimedParked) {
+                mLastBindMs = 0;
+                mLastBindType = CameraSessionManager.BIND_REUSE;
+            }
+            mSession.previewConfig = previewConfig;
+            mSession.captureConfig = captureConfig;
 
             // Apply initial zoom and flash (torch is handled inside applyFlashMode)
             applyZoom();
             applyFlashMode();
 
-            emitCameraReady();
+            if (previewRestarts) {
+                // cameraready is sent once the new preview stream delivers its first frame.
+                awaitFirstFrame(lifecycleOwner);
+            } else {
+                emitCameraReady(0);
+            }
 
         } catch (Exception e) {
+            mSession = null;
             Log.e(TAG, "Use case binding failed", e);
             emitError("SESSION_ERROR", "CameraX binding failed: " + e.getMessage());
         }
     }
 
+    /**
+     * Wait for {@link PreviewView} to report {@code STREAMING} after a (re)bind, then emit
+     * {@code cameraready}. Falls back to emitting without a frame time after
+     * {@link #FIRST_FRAME_TIMEOUT_MS}.
+     */
+    private void awaitFirstFrame(LifecycleOwner lifecycleOwner) {
+        if (mAwaitingFirstFrame) {
+            mMainHandler.removeCallbacks(mFirstFrameTimeout);
+        } else {
+            CameraTrace.beginAsync(CameraTrace.FIRST_FRAME, System.identityHashCode(this));
+        }
+        mAwaitingFirstFrame = true;
+        PreviewView.StreamState current = mPreviewView.getPreviewStreamState().getValue();
+        mStreamRestarted = current != PreviewView.StreamState.STREAMING;
+        if (mStreamStateObserver == null) {
+            mStreamStateObserver = state -> {
+                if (state != PreviewView.StreamState.STREAMING) {
+                    mStreamRestarted = true;
+                } else if (mAwaitingFirstFrame && mStreamRestarted) {
+                    onFirstFrame(true);
+                }
+            };
+            mPreviewView.getPreviewStreamState().observe(lifecycleOwner, mStreamStateObserver);
+        }
+        mMainHandler.postDelayed(mFirstFrameTimeout, FIRST_FRAME_TIMEOUT_MS);
+    }
+
+    private void onFirstFrame(boolean streamed) {
+        if (!mAwaitingFirstFrame) return;
+        mAwaitingFirstFrame = false;
+        mMainHandler.removeCallbacks(mFirstFrameTimeout);
+        CameraTrace.endAsync(CameraTrace.FIRST_FRAME, System.identityHashCode(this));
+        long firstFrameMs = streamed ? SystemClock.elapsedRealtime() - mOpenStartedAt : -1;
+        if (!streamed) {
+            Log.w(TAG, "No preview frame within " + FIRST_FRAME_TIMEOUT_MS + " ms");
+        }
+        emitCameraReady(firstFrameMs);
+    }
+
+    private Preview buildPreview() {
+        Preview.Builder builder = new Preview.Builder();
+        ResolutionSelector selector = buildResolutionSelector(mPreviewResolution,
+                ResolutionStrategy.FALLBACK_RULE_CLOSEST_HIGHER_THEN_LOWER);
+        if (selector != null) builder.setResolutionSelector(selector);
+        return builder.build();
+    }
+
+    @OptIn(markerClass = ExperimentalZeroShutterLag.class)
+    private ImageCapture buildImageCapture() {
+        int captureMode;
+        switch (mCaptureMode) {
+            case "quality":
+                captureMode = ImageCapture.CAPTURE_MODE_MAXIMIZE_QUALITY;
+                break;
+            case "zsl":
+                // CameraX falls back to MINIMIZE_LATENCY on devices without ZSL support.
+                captureMode = ImageCapture.CAPTURE_MODE_ZERO_SHUTTER_LAG;
+                break;
+            case "latency":
+            default:
+                captureMode = ImageCapture.CAPTURE_MODE_MINIMIZE_LATENCY;
+                break;
+        }
+        ImageCapture.Builder builder = new ImageCapture.Builder().setCaptureMode(captureMode);
+        // Never pick a still larger than requested — smaller captures are the point.
+        ResolutionSelector selector = buildResolutionSelector(mCaptureResolution,
+                ResolutionStrategy.FALLBACK_RULE_CLOSEST_LOWER_THEN_HIGHER);
+        if (selector != null) builder.setResolutionSelector(selector);
+        if (mJpegQuality > 0) builder.setJpegQuality(mJpegQuality);
+        return builder.build();
+    }
+
+    /** Returns {@code null} when neither a target size nor an aspect ratio is set. */
+    private ResolutionSelector buildResolutionSelector(Size target, int fallbackRule) {
+        if (target == null && mAspectRatio == null) return null;
+        ResolutionSelector.Builder builder = new ResolutionSelector.Builder();
+        if ("16:9".equals(mAspectRatio)) {
+            builder.setAspectRatioStrategy(AspectRatioStrategy.RATIO_16_9_FALLBACK_AUTO_STRATEGY);
+        } else if ("4:3".equals(mAspectRatio)) {
+            builder.setAspectRatioStrategy(AspectRatioStrategy.RATIO_4_3_FALLBACK_AUTO_STRATEGY);
+        }
+        if (target != null) {
+            builder.setResolutionStrategy(new ResolutionStrategy(target, fallbackRule));
+        }
+        return builder.build();
+    }
+
+    private String previewConfigKey() {
+        return mPreviewResolution + "|" + mAspectRatio;
+    }
+
+    private String captureConfigKey() {
+        return mCaptureResolution + "|" + mAspectRatio + "|" + mCaptureMode + "|" + mJpegQuality;
+    }
+
+    private void invalidatePreview() {
+        mPreview = null;
+        scheduleRebind();
+    }
+
+    private void invalidateImageCapture() {
+        mImageCapture = null;
+        scheduleRebind();
+    }
+
+    /**
+     * Rebind on the next main-loop turn so that several props changed in one update
+     * (e.g. aspect-ratio + capture-resolution) cost a single reconfiguration.
+     */
+    private void scheduleRebind() {
+        if (mRebindPending || mSession == null) return;
+        mRebindPending = true;
+        mMainHandler.post(() -> {
+            mRebindPending = false;
+            if (mCameraProvider != null && mSession != null) {
+                bindCameraUseCases();
+            }
+        });
+    }
+
     // -----------------------------------------------------------------------
     // Camera controls
     // -----------------------------------------------------------------------
 
     private void applyZoom() {
-        if (mCamera == null) return;
-        ZoomState zoomState = mCamera.getCameraInfo().getZoomState().getValue();
+        Camera camera = currentCamera();
+        if (camera == null) return;
+        ZoomState zoomState = camera.getCameraInfo().getZoomState().getValue();
         if (zoomState != null) {
             float min = zoomState.getMinZoomRatio();
             float max = zoomState.getMaxZoomRatio();
             float clamped = Math.max(min, Math.min(max, mZoom));
-            mCamera.getCameraControl().setZoomRatio(clamped);
-            emitZoomChanged(clamped, min, max);
+            camera.getCameraControl().setZoomRatio(clamped);
+            scheduleZoomChanged(clamped, min, max);
         }
     }
 
+    /** Scale the current zoom ratio by a pinch step. Returns whether the step was consumed. */
+    private boolean handlePinch(float scaleFactor) {
+        Camera camera = currentCamera();
+        if (camera == null) return false;
+        ZoomState zoomState = camera.getCameraInfo().getZoomState().getValue();
+        if (zoomState == null) return false;
+        float min = zoomState.getMinZoomRatio();
+        float max = zoomState.getMaxZoomRatio();
+        float current = Math.max(min, Math.min(max, mZoom));
+        float next = Math.max(min, Math.min(max, current * scaleFactor));
+        if (next != current) {
+            mZoom = next;
+            camera.getCameraControl().setZoomRatio(next);
+            scheduleZoomChanged(next, min, max);
+        }
+        return true;
+    }
+
+    /** Queue a zoomchanged event for the next frame; later calls in the same frame overwrite it. */
+    private void scheduleZoomChanged(float zoom, float minZoom, float maxZoom) {
+        mPendingZoom = zoom;
+        mPendingMinZoom = minZoom;
+        mPendingMaxZoom = maxZoom;
+        if (mZoomEventPending) return;
+        mZoomEventPending = true;
+        Choreographer.getInstance().postFrameCallback(mZoomEventFrame);
+    }
+
     private void applyFlashMode() {
         // "torch" = continuous light on; also respect the enable-torch prop
-        if (mCamera != null) {
+        Camera camera = currentCamera();
+        if (camera != null) {
             boolean torchOn = "torch".equals(mFlashMode) || mEnableTorch;
-            mCamera.getCameraControl().enableTorch(torchOn);
+            camera.getCameraControl().enableTorch(torchOn);
         }
         if (mImageCapture == null) return;
         switch (mFlashMode) {
@@ -498,29 +1034,41 @@ public class LynxCameraView extends LynxUI<FrameLayout> {
     }
 
     private void triggerFocus(float x, float y) {
-        if (mCamera == null || mPreviewView == null) return;
+        Camera camera = currentCamera();
+        if (camera == null || mPreviewView == null) return;
         MeteringPointFactory factory = new SurfaceOrientedMeteringPointFactory(
                 mPreviewView.getWidth(), mPreviewView.getHeight());
         MeteringPoint point = factory.createPoint(x, y);
         FocusMeteringAction action = new FocusMeteringAction.Builder(point).build();
-        mCamera.getCameraControl().startFocusAndMetering(action);
+        camera.getCameraControl().startFocusAndMetering(action);
+    }
+
+    private Camera currentCamera() {
+        return mSession != null ? mSession.camera : null;
     }
 
     // -----------------------------------------------------------------------
     // Event emitters
     // -----------------------------------------------------------------------
 
-    private void emitCameraReady() {
-        Log.i(TAG, "emitCameraReady() — sign=" + getSign());
+    private void emitCameraReady(long firstFrameMs) {
+        Log.i(TAG, "emitCameraReady() — sign=" + getSign() + " providerReadyMs=" + mProviderReadyMs
+                + " bindMs=" + mLastBindMs + " firstFrameMs=" + firstFrameMs);
         LynxCustomEvent event = new LynxCustomEvent(getSign(), "cameraready");
+        event.addDetail("providerReadyMs", mProviderReadyMs);
+        event.addDetail("bindMs", mLastBindMs);
+        event.addDetail("bindType", mLastBindType);
+        event.addDetail("firstFrameMs", firstFrameMs);
         mContext.getEventEmitter().sendCustomEvent(event);
     }
 
-    private void emitPhotoCaptured(String uri) {
+    private void emitPhotoCaptured(String uri, long captureMs, long fileSize) {
         LynxCustomEvent event = new LynxCustomEvent(getSign(), "photocaptured");
         event.addDetail("uri", uri);
         event.addDetail("width", 0);
         event.addDetail("height", 0);
+        event.addDetail("captureMs", captureMs);
+        event.addDetail("fileSize", fileSize);
         mContext.getEventEmitter().sendCustomEvent(event);
     }
 
@@ -558,10 +1106,39 @@ public class LynxCameraView extends LynxUI<FrameLayout> {
 
     private static void invokeError(Callback callback, String code, String message) {
         if (callback == null) return;
-        JavaOnlyMap result = new JavaOnlyMap();
-        result.putString("message", message);
-        result.putString("code", code);
-        callback.invoke(1, result);
+        callback.invoke(1, CameraParams.errorResult(code, message));
+    }
+
+    private PendingCapture track(PendingCapture pending) {
+        mPendingCaptures.add(pending);
+        return pending;
+    }
+
+    /** Claim {@code pending} for completion; {@code false} if it was already completed. */
+    private boolean finish(PendingCapture pending) {
+        if (!pending.claimed.compareAndSet(false, true)) return false;
+        mPendingCaptures.remove(pending);
+        return true;
+    }
+
+    /**
+     * A {@code takePhoto} or {@code snapshot} whose callback has not fired. The capture and
+     * {@link #destroy()} race to claim it, so the callback fires exactly once.
+     */
+    private static final class PendingCapture {
+        final Callback callback;
+        final String traceName;
+        final int traceCookie;
+        /** The copied preview frame of a snapshot, recycled if the capture is dropped. */
+        final Bitmap frame;
+        final AtomicBoolean claimed = new AtomicBoolean();
+
+        PendingCapture(Callback callback, String traceName, int traceCookie, Bitmap frame) {
+            this.callback = callback;
+            this.traceName = traceName;
+            this.traceCookie = traceCookie;
+            this.frame = frame;
+        }
     }
 
     // -----------------------------------------------------------------------
@@ -588,11 +1165,34 @@ public class LynxCameraView extends LynxUI<FrameLayout> {
         return null;
     }
 
+    private static boolean equalsNullable(Object a, Object b) {
+        return a == null ? b == null : a.equals(b);
+    }
+
     private File createOutputFile() {
-        String timestamp = new SimpleDateFormat("yyyyMMdd_HHmmss_SSS", Locale.US)
-                .format(new Date());
+        return createOutputFile("lynx_camera_");
+    }
+
+    private File createOutputFile(String prefix) {
         File cacheDir = mContext.getContext().getCacheDir();
-        return new File(cacheDir, "lynx_camera_" + timestamp + ".jpg");
+        return new File(cacheDir,
+                CameraParams.outputFileName(prefix, System.currentTimeMillis()));
+    }
+
+    /**
+     * Downscale {@code source} to fit within {@code maxWidth} × {@code maxHeight} (0 = no bound),
+     * keeping its aspect ratio. Returns {@code source} itself when no scaling is needed.
+     */
+    private static Bitmap scaleToFit(Bitmap source, int maxWidth, int maxHeight) {
+        int width = source.getWidth();
+        int height = source.getHeight();
+        float scale = 1f;
+        if (maxWidth > 0 && width > maxWidth) scale = Math.min(scale, (float) maxWidth / width);
+        if (maxHeight > 0 && height > maxHeight) scale = Math.min(scale, (float) maxHeight / height);
+        if (scale >= 1f) return source;
+        int targetWidth = Math.max(1, Math.round(width * scale));
+        int targetHeight = Math.max(1, Math.round(height * scale));
+        return Bitmap.createScaledBitmap(source, targetWidth, targetHeight, true);
     }
 
     // -----------------------------------------------------------------------
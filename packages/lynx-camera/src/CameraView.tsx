@@ -21,8 +21,11 @@ import type { NodesRef } from "@lynx-js/types";
 import type {
   CameraProps,
   CameraRef,
+  CameraSessionMetrics,
   FlashMode,
   PhotoResult,
+  SnapshotOptions,
+  Resolution,
   TapFocusEvent,
   ZoomChangedEvent,
 } from "./types.js";
@@ -69,6 +72,16 @@ function invokeAsync<T = unknown>(
   });
 }
 
+/**
+ * Serialise a {@link Resolution} to the native `"WIDTHxHEIGHT"` attribute format.
+ * @internal
+ */
+function formatResolution(resolution?: Resolution): string | undefined {
+  return resolution
+    ? `${Math.round(resolution.width)}x${Math.round(resolution.height)}`
+    : undefined;
+}
+
 // ---------------------------------------------------------------------------
 // CameraView component
 // ---------------------------------------------------------------------------
@@ -101,6 +114,13 @@ export const CameraView: ForwardRefExoticComponent<
     focusMode = "continuous",
     zoom = 1,
     enableTorch = false,
+    enablePinchZoom = true,
+    keepAliveMs = 0,
+    captureResolution,
+    previewResolution,
+    aspectRatio,
+    captureMode = "latency",
+    jpegQuality,
     onCameraReady,
     onPhotoCaptured,
     onError,
@@ -120,6 +140,10 @@ export const CameraView: ForwardRefExoticComponent<
         return invokeAsync<PhotoResult>(nativeRef, "takePhoto");
       },
 
+      snapshot(options: SnapshotOptions = {}): Promise<PhotoResult> {
+        return invokeAsync<PhotoResult>(nativeRef, "snapshot", { ...options });
+      },
+
       switchCamera(): void {
         invokeAsync(nativeRef, "switchCamera").catch((err: unknown) => {
           console.error("[@kafitra/lynx-camera] switchCamera error:", err);
@@ -143,6 +167,10 @@ export const CameraView: ForwardRefExoticComponent<
           console.error("[@kafitra/lynx-camera] focus error:", err);
         });
       },
+
+      getSessionMetrics(): Promise<CameraSessionMetrics> {
+        return invokeAsync<CameraSessionMetrics>(nativeRef, "getSessionMetrics");
+      },
     }),
     [],
   );
@@ -157,6 +185,13 @@ export const CameraView: ForwardRefExoticComponent<
     "focus-mode": focusMode,
     zoom,
     "enable-torch": enableTorch ? "true" : "false",
+    "enable-pinch-zoom": enablePinchZoom ? "true" : "false",
+    "keep-alive-ms": keepAliveMs,
+    "capture-resolution": formatResolution(captureResolution),
+    "preview-resolution": formatResolution(previewResolution),
+    "aspect-ratio": aspectRatio,
+    "capture-mode": captureMode,
+    "jpeg-quality": jpegQuality,
     class: className,
     style,
     bindcameraready: onCameraReady,
@@ -39,14 +39,20 @@
 export { CameraView } from "./CameraView.js";
 
 export type {
+  AspectRatio,
   CameraDevice,
   CameraErrorEvent,
+  CameraReadyEvent,
   CameraProps,
   CameraRef,
+  CameraSessionMetrics,
+  CaptureMode,
   FlashMode,
   FocusMode,
   PhotoCapturedEvent,
   PhotoResult,
+  SnapshotOptions,
+  Resolution,
   TapFocusEvent,
   ZoomChangedEvent,
 } from "./types.js";
@@ -45,6 +45,31 @@ export type FlashMode = "auto" | "on" | "off" | "torch";
  */
 export type FocusMode = "auto" | "tap" | "continuous";
 
+/**
+ * Still capture pipeline tuning.
+ *
+ * - `"latency"` — Minimise shutter-to-file latency (default).
+ * - `"quality"` — Maximise image quality at the cost of latency.
+ * - `"zsl"`     — Zero-shutter-lag: capture from a ring buffer of recent frames.
+ *                 Falls back to `"latency"` on devices without ZSL support.
+ */
+export type CaptureMode = "latency" | "quality" | "zsl";
+
+/**
+ * Target aspect ratio for both the preview and captured stills.
+ * The camera falls back to the closest supported ratio.
+ */
+export type AspectRatio = "4:3" | "16:9";
+
+/**
+ * Target resolution in pixels. Orientation does not matter — `{ width: 720, height: 1280 }`
+ * and `{ width: 1280, height: 720 }` select the same sensor output size.
+ */
+export interface Resolution {
+  width: number;
+  height: number;
+}
+
 // ---------------------------------------------------------------------------
 // Result / payload types
 // ---------------------------------------------------------------------------
@@ -69,12 +94,81 @@ export interface PhotoResult {
   width: number;
   /** Photo height in pixels. */
   height: number;
+  /** Shutter-to-file-saved latency in milliseconds. Android only. */
+  captureMs?: number;
+  /** Size of the saved JPEG in bytes. Android only. */
+  fileSize?: number;
+}
+
+/**
+ * Options for {@link CameraRef.snapshot}.
+ *
+ * The preview frame is downscaled to fit within `maxWidth` × `maxHeight` (aspect ratio kept).
+ * Omit a bound to leave that dimension unconstrained.
+ */
+export interface SnapshotOptions {
+  /** Maximum output width in pixels. */
+  maxWidth?: number;
+  /** Maximum output height in pixels. */
+  maxHeight?: number;
+  /** JPEG quality, 1–100. Default: `80`. */
+  quality?: number;
+}
+
+/**
+ * Bind-time metrics of the shared native camera session, returned by
+ * {@link CameraRef.getSessionMetrics}. Durations are in milliseconds and are `-1`
+ * until measured.
+ */
+export interface CameraSessionMetrics {
+  /** Time the process-wide camera provider took to initialise. */
+  providerInitMs: number;
+  /** Duration of the most recent bind (`0` when a parked session was reused). */
+  lastBindMs: number;
+  /**
+   * Kind of the most recent bind:
+   * - `"cold"`   — a new session was opened.
+   * - `"rebind"` — only changed use cases were rebound on the open camera.
+   * - `"reuse"`  — a session kept alive by {@link CameraProps.keepAliveMs} was taken over.
+   */
+  lastBindType: "cold" | "rebind" | "reuse" | null;
+  /** Number of cold binds since process start. */
+  coldBindCount: number;
+  /** Number of partial rebinds since process start. */
+  rebindCount: number;
+  /** Number of parked-session reuses since process start. */
+  reuseCount: number;
 }
 
 // ---------------------------------------------------------------------------
 // Event payloads
 // ---------------------------------------------------------------------------
 
+/**
+ * Payload delivered to {@link CameraProps.onCameraReady}.
+ * Latency fields are in milliseconds; `-1` means not measured. Android only — on iOS
+ * the event carries no detail.
+ */
+export interface CameraReadyEvent {
+  detail?: {
+    /**
+     * Time from starting the camera, once permission is granted, to the camera provider
+     * being ready. Time spent in the permission dialog is not included.
+     */
+    providerReadyMs: number;
+    /** Duration of the session bind (`0` when an open session was reused). */
+    bindMs: number;
+    /** Kind of bind, see {@link CameraSessionMetrics.lastBindType}. */
+    bindType: CameraSessionMetrics["lastBindType"];
+    /**
+     * Time to the first streamed preview frame — from view creation for the first open,
+     * from the start of the rebind after a lens switch. `-1` if no frame arrived within 2 s,
+     * `0` if the preview kept streaming.
+     */
+    firstFrameMs: number;
+  };
+}
+
 /**
  * Payload delivered to {@link CameraProps.onPhotoCaptured}.
  */
@@ -96,6 +190,7 @@ export interface CameraErrorEvent {
      * - `"CAMERA_UNAVAILABLE"`   — No camera device found for the requested {@link CameraDevice}.
      * - `"CAPTURE_FAILED"`       — The photo capture operation failed.
      * - `"SESSION_ERROR"`        — The capture session encountered an unrecoverable error.
+     * - `"CAMERA_IN_USE"`        — Another camera view took the camera over (Android).
      */
     code: string;
     /** Human-readable description of the error. */
@@ -156,6 +251,18 @@ export interface CameraRef {
    */
   takePhoto(): Promise<PhotoResult>;
 
+  /**
+   * Save the frame currently shown in the preview as a JPEG (Android only).
+   *
+   * Much faster than {@link CameraRef.takePhoto} — no capture pipeline, no flash metering —
+   * but limited to preview resolution and quality.
+   *
+   * @param options - Output size bounds and JPEG quality. See {@link SnapshotOptions}.
+   * @returns A promise that resolves with {@link PhotoResult}.
+   * @throws  If no preview frame is available yet or encoding fails.
+   */
+  snapshot(options?: SnapshotOptions): Promise<PhotoResult>;
+
   /**
    * Toggle between the front and back camera.
    * Has no effect if only one camera is available.
@@ -185,6 +292,13 @@ export interface CameraRef {
    * @param y - Vertical position from the top edge, in logical pixels.
    */
   focus(x: number, y: number): void;
+
+  /**
+   * Read bind-time metrics of the shared camera session (Android only).
+   *
+   * @returns A promise that resolves with {@link CameraSessionMetrics}.
+   */
+  getSessionMetrics(): Promise<CameraSessionMetrics>;
 }
 
 // ---------------------------------------------------------------------------
@@ -254,13 +368,61 @@ export interface CameraProps {
    */
   enableTorch?: boolean;
 
+  /**
+   * Handle pinch gestures on the preview natively. Zoom is applied on the UI thread without
+   * a JS round-trip; {@link CameraProps.onZoomChanged} still reports the result, at most
+   * once per frame. Android only (iOS always handles pinch natively).
+   * @default true
+   */
+  enablePinchZoom?: boolean;
+
+  /**
+   * Keep the native camera session bound for this many milliseconds after the view
+   * unmounts. A `<CameraView>` mounted again within the window (e.g. navigating back
+   * to the camera page) takes over the open camera instead of reopening it.
+   * `0` releases the camera immediately. Android only.
+   * @default 0
+   */
+  keepAliveMs?: number;
+
+  /**
+   * Target size of captured stills. The closest supported size not larger than this
+   * is used, so smaller targets cut capture latency, file size and memory peaks.
+   * Defaults to the camera's default (usually the largest size). Android only.
+   */
+  captureResolution?: Resolution;
+
+  /**
+   * Target size of the preview stream. Defaults to the camera's default. Android only.
+   */
+  previewResolution?: Resolution;
+
+  /**
+   * Aspect ratio applied to both preview and captured stills, so that what is previewed
+   * matches what is captured. Android only.
+   */
+  aspectRatio?: AspectRatio;
+
+  /**
+   * Capture pipeline mode. See {@link CaptureMode}. Android only.
+   * @default "latency"
+   */
+  captureMode?: CaptureMode;
+
+  /**
+   * JPEG compression quality for captured stills, `1`–`100`.
+   * Defaults to the platform default for the selected {@link CaptureMode}. Android only.
+   */
+  jpegQuality?: number;
+
   // ---- Events ----
 
   /**
    * Fires once the camera session is fully initialised and the preview is live.
    * Safe to call `takePhoto()` after this event.
+   * @param event - On Android, contains open-latency measurements in `detail`.
    */
-  onCameraReady?: () => void;
+  onCameraReady?: (event: CameraReadyEvent) => void;
 
   /**
    * Fires when a photo has been captured and saved successfully.
@@ -276,6 +438,7 @@ export interface CameraProps {
 
   /**
    * Fires when the zoom level changes (e.g. via pinch gesture).
+   * Coalesced to at most one event per display frame on Android.
    * @param event - Contains `{ detail: { zoom, minZoom, maxZoom } }`.
    */
   onZoomChanged?: (event: ZoomChangedEvent) => void;
@@ -0,0 +1,170 @@
+/**
+ * @kafitra/lynx-cli — LXDP bundle patches
+ *
+ * Coverage areas:
+ *  ✔ createPatch / applyPatch round-trips
+ *  ✔ Rejection of truncated, mismatched and out-of-range patches
+ *  ✔ The shared fixture also decoded by BundlePatchCheck on the JVM
+ */
+
+import { readFileSync } from "node:fs";
+import { describe, it, expect } from "vitest";
+import { applyPatch, createPatch } from "../utils/delta.js";
+
+// ─── Test helpers ─────────────────────────────────────────────────────────────
+
+const fixture = (name: string): Buffer =>
+  readFileSync(new URL(`./fixtures/${name}`, import.meta.url));
+
+/** Deterministic bytes so a failing case reproduces. */
+function randomBytes(length: number, seed: number): Buffer {
+  const out = Buffer.alloc(length);
+  let s = seed >>> 0;
+  for (let i = 0; i < length; i++) {
+    s = (Math.imul(s, 1664525) + 1013904223) >>> 0;
+    out[i] = s >>> 24;
+  }
+  return out;
+}
+
+/** A patch by hand: header, then raw op bytes; END is not appended. */
+function rawPatch(baseSize: number, targetSize: number, ops: number[]): Buffer {
+  const header = Buffer.alloc(13);
+  header.write("LXDP", 0, "ascii");
+  header.writeUInt8(1, 4);
+  header.writeUInt32BE(baseSize, 5);
+  header.writeUInt32BE(targetSize, 9);
+  return Buffer.concat([header, Buffer.from(ops)]);
+}
+
+function u32(n: number): number[] {
+  return [(n >>> 24) & 0xff, (n >>> 16) & 0xff, (n >>> 8) & 0xff, n & 0xff];
+}
+
+function roundTrip(base: Buffer, target: Buffer): Buffer {
+  return applyPatch(base, createPatch(base, target));
+}
+
+// ─── Round-trips ──────────────────────────────────────────────────────────────
+
+describe("createPatch / applyPatch", () => {
+  it("round-trips identical inputs as a single copy", () => {
+    const base = randomBytes(4096, 1);
+    const patch = createPatch(base, base);
+    expect(applyPatch(base, patch)).toEqual(base);
+    // header + one COPY + END
+    expect(patch.length).toBe(13 + 9 + 1);
+  });
+
+  it("round-trips empty inputs", () => {
+    expect(roundTrip(Buffer.alloc(0), Buffer.alloc(0))).toEqual(Buffer.alloc(0));
+    const target = randomBytes(100, 2);
+    expect(roundTrip(Buffer.alloc(0), target)).toEqual(target);
+    expect(roundTrip(target, Buffer.alloc(0))).toEqual(Buffer.alloc(0));
+  });
+
+  it("round-trips a target with nothing in common as inserts", () => {
+    const base = randomBytes(2000, 3);
+    const target = randomBytes(1500, 4);
+    expect(roundTrip(base, target)).toEqual(target);
+  });
+
+  it("round-trips reordered and edited blocks", () => {
+    const base = randomBytes(8192, 5);
+    const target = Buffer.concat([
+      base.subarray(6000),
+      Buffer.from("new code"),
+      base.subarray(0, 3000),
+      base.subarray(3010, 5000),
+      base.subarray(100, 200),
+    ]);
+    const patch = createPatch(base, target);
+    expect(applyPatch(base, patch)).toEqual(target);
+    expect(patch.length).toBeLessThan(target.length / 10);
+  });
+
+  it("round-trips random edits", () => {
+    for (let seed = 10; seed < 40; seed++) {
+      const base = randomBytes(1000 + seed * 97, seed);
+      const noise = randomBytes(64, seed + 1000);
+      const cut = (seed * 131) % base.length;
+      const target = Buffer.concat([
+        base.subarray(0, cut),
+        noise.subarray(0, seed),
+        base.subarray(Math.min(base.length, cut + seed * 3)),
+      ]);
+      expect(roundTrip(base, target)).toEqual(target);
+    }
+  });
+});
+
+// ─── Rejection ────────────────────────────────────────────────────────────────
+
+describe("applyPatch validation", () => {
+  const base = randomBytes(1024, 7);
+  const target = Buffer.concat([base.subarray(512), Buffer.from("tail"), base.subarray(0, 256)]);
+  const patch = createPatch(base, target);
+
+  it("rejects every truncation of a valid patch", () => {
+    for (let length = 0; length < patch.length; length++) {
+      expect(() => applyPatch(base, patch.subarray(0, length))).toThrow(/truncated/);
+    }
+  });
+
+  it("rejects a different base size", () => {
+    expect(() => applyPatch(base.subarray(1), patch)).toThrow(
+      "patch expects a 1024 byte base, got 1023",
+    );
+  });
+
+  it("rejects a copy past the end of the base", () => {
+    const bad = rawPatch(16, 8, [0x01, ...u32(12), ...u32(8), 0x00]);
+    expect(() => applyPatch(Buffer.alloc(16), bad)).toThrow("copy past the end of the base at byte 0");
+  });
+
+  it("rejects a copy whose offset and length overflow 32 bits", () => {
+    const bad = rawPatch(16, 8, [0x01, ...u32(0xfffffffc), ...u32(8), 0x00]);
+    expect(() => applyPatch(Buffer.alloc(16), bad)).toThrow(/copy past the end of the base/);
+  });
+
+  it("rejects an op that overruns the declared target", () => {
+    const bad = rawPatch(16, 4, [0x02, ...u32(5), 1, 2, 3, 4, 5, 0x00]);
+    expect(() => applyPatch(Buffer.alloc(16), bad)).toThrow("op overruns the target at byte 0");
+  });
+
+  it("rejects a patch that ends short of the declared target", () => {
+    const bad = rawPatch(16, 8, [0x01, ...u32(0), ...u32(4), 0x00]);
+    expect(() => applyPatch(Buffer.alloc(16), bad)).toThrow("patch produced 4 of 8 bytes");
+  });
+
+  it("rejects a bad magic, version or op", () => {
+    const magic = Buffer.from(patch);
+    magic[0] = 0x4d;
+    expect(() => applyPatch(base, magic)).toThrow("not a bundle patch");
+
+    const version = Buffer.from(patch);
+    version[4] = 2;
+    expect(() => applyPatch(base, version)).toThrow("unsupported patch version");
+
+    const op = rawPatch(16, 0, [0x7f]);
+    expect(() => applyPatch(Buffer.alloc(16), op)).toThrow("unknown patch op 0x7f");
+  });
+});
+
+// ─── Shared fixture ───────────────────────────────────────────────────────────
+
+describe("fixtures/patch.lxdp", () => {
+  // The same files are decoded by BundlePatch in lynx-host/benchmark/check-patch.sh,
+  // so the encoder and the on-device decoder cannot drift apart unnoticed.
+  const base = fixture("base.bin");
+  const target = fixture("target.bin");
+  const patch = fixture("patch.lxdp");
+
+  it("decodes to the expected target", () => {
+    expect(applyPatch(base, patch)).toEqual(target);
+  });
+
+  it("is still what the encoder produces", () => {
+    expect(createPatch(base, target)).toEqual(patch);
+  });
+});
@@ -3,10 +3,13 @@ import * as os from "node:os";
 import * as fs from "node:fs";
 import * as path from "node:path";
 import * as log from "../utils/logger.js";
+import { startReloadServer } from "../utils/reload-server.js";
 
 export interface DevOptions {
   projectRoot?: string;
   port?: number;
+  /** Live reload event stream port (default: port + 1) */
+  reloadPort?: number;
 }
 
 /** Detect the package manager used in projectRoot. */
@@ -47,6 +50,7 @@ function hasDevScript(dir: string): boolean {
 export async function runDev(opts: DevOptions = {}): Promise<void> {
   const projectRoot = path.resolve(opts.projectRoot ?? process.cwd());
   const port = opts.port ?? 3000;
+  const reloadPort = opts.reloadPort ?? port + 1;
 
   log.blank();
   log.header("kafitra/lynx-cli — lynx dev");
@@ -77,8 +81,11 @@ export async function runDev(opts: DevOptions = {}): Promise<void> {
     log.info(`  Network: http://${ip}:${port}/main.lynx.bundle`);
   }
   log.blank();
+  log.info(`Live reload: http://localhost:${reloadPort}/events`);
+  log.blank();
   log.info("Android port forwarding:");
   log.info(`  adb reverse tcp:${port} tcp:${port}`);
+  log.info(`  adb reverse tcp:${reloadPort} tcp:${reloadPort}`);
   log.blank();
   log.info("Press Ctrl+C to stop the dev server");
   log.blank();
@@ -99,10 +106,18 @@ export async function runDev(opts: DevOptions = {}): Promise<void> {
     env: { ...process.env, PORT: String(port) },
   });
 
+  // ── Live reload events ────────────────────────────────────────────────────
+  const reloadServer = startReloadServer({
+    port: reloadPort,
+    bundleUrl: `http://localhost:${port}/main.lynx.bundle`,
+    watchDirs: [path.join(projectRoot, "src")],
+  });
+
   // ── Graceful shutdown ─────────────────────────────────────────────────────
   const shutdown = () => {
     log.blank();
     log.info("Stopping dev server…");
+    reloadServer.close();
     child.kill("SIGTERM");
     setTimeout(() => process.exit(0), 500);
   };
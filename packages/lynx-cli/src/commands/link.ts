@@ -1,12 +1,14 @@
 import * as path from "node:path";
 import * as fs from "node:fs";
 import {
-  scanModules,
+  scanModulesAsync,
   writeJavaRegistry,
   injectSettings,
   injectBuildGradle,
   injectManifestPermissions,
+  injectBaselineProfile,
   readApplicationId,
+  type LynxModuleMetadata,
 } from "@kafitra/lynx-autolink";
 import * as log from "../utils/logger.js";
 
@@ -20,6 +22,8 @@ export interface LinkOptions {
    * If omitted, it is inferred from `applicationId` in `android/app/build.gradle`.
    */
   javaPackage?: string;
+  /** Rescan every package instead of reusing the scan cache in node_modules/.cache. */
+  noCache?: boolean;
 }
 
 export async function runLink(opts: LinkOptions = {}): Promise<void> {
@@ -45,8 +49,9 @@ export async function runLink(opts: LinkOptions = {}): Promise<void> {
   // ── Step 1: Scan modules ──────────────────────────────────────────────────
   log.step("Scanning for Lynx Native Modules…");
   let modules;
+  const scanStart = Date.now();
   try {
-    modules = scanModules(projectRoot);
+    modules = await scanModulesAsync(projectRoot, { cache: !opts.noCache });
   } catch (err) {
     log.error(`Module scan failed: ${(err as Error).message}`);
     process.exit(1);
@@ -61,12 +66,22 @@ export async function runLink(opts: LinkOptions = {}): Promise<void> {
     process.exit(0);
   }
 
-  log.info(`Found ${modules.length} module(s):`);
+  log.info(`Found ${modules.length} module(s) in ${Date.now() - scanStart} ms:`);
   for (const mod of modules) {
     log.info(`  • ${mod.packageName ?? mod.name}  (${mod.name})`);
   }
   log.blank();
 
+  // Only the app's direct dependencies are scanned, so a package's native peers (e.g.
+  // @kafitra/lynx-scheduler) are linked only if the app depends on them as well.
+  for (const [peer, dependents] of findUnlinkedPeers(projectRoot, modules)) {
+    log.warn(
+      `${dependents.join(", ")} ${dependents.length === 1 ? "needs" : "need"} ${peer}, which is not installed.\n` +
+        `  Add it to the app (pnpm add ${peer}) and run lynx link again, or the Gradle build will fail.`,
+    );
+    log.blank();
+  }
+
   // ── Step 2: Resolve Java package ─────────────────────────────────────────
   let javaPackage = opts.javaPackage;
   if (!javaPackage) {
@@ -83,7 +98,7 @@ export async function runLink(opts: LinkOptions = {}): Promise<void> {
   // ── Step 3: Generate Java registry ───────────────────────────────────────
   log.step("Generating LynxAutolinkRegistry.java…");
   try {
-    writeJavaRegistry(androidAppDir, javaPackage, modules);
+    const written = writeJavaRegistry(androidAppDir, javaPackage, modules);
     const registryRelPath = path.join(
       "android",
       "app",
@@ -93,7 +108,8 @@ export async function runLink(opts: LinkOptions = {}): Promise<void> {
       ...javaPackage.split("."),
       "LynxAutolinkRegistry.java",
     );
-    log.success(`Generated: ${registryRelPath}`);
+    if (written) log.success(`Generated: ${registryRelPath}`);
+    else log.info(`Up to date: ${registryRelPath}`);
   } catch (err) {
     log.error(`Registry generation failed: ${(err as Error).message}`);
     process.exit(1);
@@ -102,8 +118,11 @@ export async function runLink(opts: LinkOptions = {}): Promise<void> {
   // ── Step 4: Inject settings.gradle ───────────────────────────────────────
   log.step("Injecting settings.gradle entries…");
   try {
-    injectSettings(settingsFile, modules);
-    log.success("Updated: android/settings.gradle");
+    if (injectSettings(settingsFile, modules)) {
+      log.success("Updated: android/settings.gradle");
+    } else {
+      log.info("Up to date: android/settings.gradle");
+    }
   } catch (err) {
     log.error(`settings.gradle injection failed: ${(err as Error).message}`);
     process.exit(1);
@@ -112,8 +131,11 @@ export async function runLink(opts: LinkOptions = {}): Promise<void> {
   // ── Step 5: Inject app/build.gradle ──────────────────────────────────────
   log.step("Injecting app/build.gradle dependencies…");
   try {
-    injectBuildGradle(appBuildFile, modules);
-    log.success("Updated: android/app/build.gradle");
+    if (injectBuildGradle(appBuildFile, modules)) {
+      log.success("Updated: android/app/build.gradle");
+    } else {
+      log.info("Up to date: android/app/build.gradle");
+    }
   } catch (err) {
     log.error(`build.gradle injection failed: ${(err as Error).message}`);
     process.exit(1);
@@ -128,14 +150,29 @@ export async function runLink(opts: LinkOptions = {}): Promise<void> {
   if (fs.existsSync(manifestFile)) {
     log.step("Injecting AndroidManifest.xml permissions…");
     try {
-      injectManifestPermissions(manifestFile, modules);
-      log.success("Updated: android/app/src/main/AndroidManifest.xml");
+      if (injectManifestPermissions(manifestFile, modules)) {
+        log.success("Updated: android/app/src/main/AndroidManifest.xml");
+      } else {
+        log.info("Up to date: android/app/src/main/AndroidManifest.xml");
+      }
     } catch (err) {
       log.warn(
         `AndroidManifest.xml injection failed: ${(err as Error).message}`,
       );
     }
   }
+  // ── Step 7: Baseline profile rules ───────────────────────────────────────
+  log.step("Writing baseline profile rules…");
+  try {
+    const profileFile = path.join(androidAppDir, "src", "main", "baseline-prof.txt");
+    if (injectBaselineProfile(profileFile, javaPackage, modules)) {
+      log.success("Updated: android/app/src/main/baseline-prof.txt");
+    } else {
+      log.info("Up to date: android/app/src/main/baseline-prof.txt");
+    }
+  } catch (err) {
+    log.warn(`baseline-prof.txt injection failed: ${(err as Error).message}`);
+  }
   // ── Summary ───────────────────────────────────────────────────────────────
   log.blank();
   log.header("✔ Linking complete");
@@ -146,7 +183,9 @@ export async function runLink(opts: LinkOptions = {}): Promise<void> {
       ? mod.android.moduleClass
       : mod.android.componentClass
         ? `[UI] ${mod.android.componentClass} <${mod.android.componentTag}>`
-        : "(unknown)";
+        : mod.android.library
+          ? `[lib] ${mod.packageName ?? mod.name}`
+          : "(unknown)";
     const permLabel =
       mod.android.permissions && mod.android.permissions.length > 0
         ? `  [perms: ${mod.android.permissions.join(", ")}]`
@@ -158,8 +197,45 @@ export async function runLink(opts: LinkOptions = {}): Promise<void> {
   log.blank();
   log.info(`  LynxAutolinkRegistry.registerAll();`);
   log.blank();
+  log.info(`and for every LynxViewBuilder, before build():`);
+  log.blank();
+  log.info(`  LynxAutolinkRegistry.configureView(builder);`);
+  log.blank();
   log.info(
     "Learn more: https://github.com/kafitramarna/kafitra-lynx-native#auto-linking",
   );
   log.blank();
 }
+
+/**
+ * Peer dependencies from the same npm scope as the linked package declaring them that are
+ * not installed at the top level of `projectRoot`, mapped to the packages that need them.
+ */
+function findUnlinkedPeers(
+  projectRoot: string,
+  modules: LynxModuleMetadata[],
+): Map<string, string[]> {
+  const missing = new Map<string, string[]>();
+  for (const mod of modules) {
+    const { packageDir, packageName } = mod;
+    if (!packageDir || !packageName?.startsWith("@")) continue;
+    const scope = packageName.slice(0, packageName.indexOf("/") + 1);
+    let peers: Record<string, string>;
+    try {
+      const pkg = JSON.parse(
+        fs.readFileSync(path.join(packageDir, "package.json"), "utf8"),
+      ) as { peerDependencies?: Record<string, string> };
+      peers = pkg.peerDependencies ?? {};
+    } catch {
+      continue;
+    }
+    for (const peer of Object.keys(peers)) {
+      if (!peer.startsWith(scope)) continue;
+      if (fs.existsSync(path.join(projectRoot, "node_modules", peer, "package.json"))) continue;
+      const dependents = missing.get(peer) ?? [];
+      dependents.push(packageName);
+      missing.set(peer, dependents);
+    }
+  }
+  return missing;
+}
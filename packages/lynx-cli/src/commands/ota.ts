@@ -0,0 +1,142 @@
+import * as path from "node:path";
+import * as fs from "node:fs";
+import { gunzipSync } from "node:zlib";
+import * as log from "../utils/logger.js";
+import { createPatch, applyPatch, sha256Hex } from "../utils/delta.js";
+
+export interface OtaOptions {
+  projectRoot?: string;
+  /** Bundle to release, relative to projectRoot */
+  bundle?: string;
+  /** Publish directory, relative to projectRoot */
+  outDir?: string;
+  /** Number of previous releases to build patches from */
+  keep?: number;
+}
+
+/** Patches at least this fraction of the bundle size are not worth publishing. */
+const MAX_PATCH_RATIO = 0.5;
+const HISTORY_DIR = "history";
+const HISTORY_SUFFIX = ".lynx.bundle";
+/** Hex digits of the base hash used in patch file names. */
+const PATCH_ID_LENGTH = 12;
+
+interface PatchEntry {
+  from: string;
+  url: string;
+  size: number;
+}
+
+/** Read a bundle, inflating it if it was gzip-compressed (hashes cover the inflated bytes). */
+function readBundle(file: string): Buffer {
+  const data = fs.readFileSync(file);
+  const gzip = data.length > 3 && data[0] === 0x1f && data[1] === 0x8b && data[2] === 0x08;
+  return gzip ? gunzipSync(data) : data;
+}
+
+/**
+ * Previous releases in `historyDir`, newest first, as `{ sha256, file }`.
+ * Each release is stored as `<sha256>.lynx.bundle`.
+ */
+function listHistory(historyDir: string): { sha256: string; file: string }[] {
+  if (!fs.existsSync(historyDir)) return [];
+  return fs
+    .readdirSync(historyDir)
+    .filter((name) => name.endsWith(HISTORY_SUFFIX))
+    .map((name) => {
+      const file = path.join(historyDir, name);
+      return {
+        sha256: name.slice(0, -HISTORY_SUFFIX.length),
+        file,
+        mtime: fs.statSync(file).mtimeMs,
+      };
+    })
+    .sort((a, b) => b.mtime - a.mtime)
+    .map(({ sha256, file }) => ({ sha256, file }));
+}
+
+export async function runOta(opts: OtaOptions = {}): Promise<void> {
+  const projectRoot = path.resolve(opts.projectRoot ?? process.cwd());
+  const bundlePath = path.resolve(
+    projectRoot,
+    opts.bundle ?? path.join("dist", "main.lynx.bundle"),
+  );
+  const outDir = path.resolve(projectRoot, opts.outDir ?? path.join("dist", "ota"));
+  const historyDir = path.join(outDir, HISTORY_DIR);
+  const keep = opts.keep ?? 5;
+  const bundleName = path.basename(bundlePath);
+
+  log.blank();
+  log.header("kafitra/lynx-cli — lynx ota");
+  log.blank();
+
+  if (!fs.existsSync(bundlePath)) {
+    log.error(
+      `Bundle not found: ${bundlePath}\n  Build it first (pnpm build) or pass --bundle <path>.`,
+    );
+    process.exit(1);
+  }
+
+  const bundle = readBundle(bundlePath);
+  const sha256 = sha256Hex(bundle);
+  log.info(`Bundle: ${bundleName} (${(bundle.length / 1024).toFixed(1)} KB)`);
+  log.info(`SHA-256: ${sha256}`);
+  log.blank();
+
+  fs.mkdirSync(historyDir, { recursive: true });
+
+  // ── Patches from previous releases ──────────────────────────────────────
+  const patches: PatchEntry[] = [];
+  const previous = listHistory(historyDir)
+    .filter((entry) => entry.sha256 !== sha256)
+    .slice(0, keep);
+  for (const entry of previous) {
+    const base = fs.readFileSync(entry.file);
+    const patch = createPatch(base, bundle);
+    if (!applyPatch(base, patch).equals(bundle)) {
+      log.warn(`Patch from ${entry.sha256.slice(0, PATCH_ID_LENGTH)} did not round-trip — skipped.`);
+      continue;
+    }
+    const id = entry.sha256.slice(0, PATCH_ID_LENGTH);
+    if (patch.length >= bundle.length * MAX_PATCH_RATIO) {
+      log.info(`  ${id}: patch is ${patch.length} bytes — clients download in full.`);
+      continue;
+    }
+    const url = `${bundleName}.${id}.patch`;
+    fs.writeFileSync(path.join(outDir, url), patch);
+    patches.push({ from: entry.sha256, url, size: patch.length });
+    log.success(`  ${id} → ${url} (${(patch.length / 1024).toFixed(1)} KB)`);
+  }
+  if (previous.length === 0) {
+    log.info("No previous releases yet — publishing the full bundle only.");
+  }
+
+  // ── Remove patches that no longer lead to this release ──────────────────
+  const published = new Set(patches.map((p) => p.url));
+  for (const name of fs.readdirSync(outDir)) {
+    if (name.startsWith(`${bundleName}.`) && name.endsWith(".patch") && !published.has(name)) {
+      fs.rmSync(path.join(outDir, name));
+    }
+  }
+
+  // ── Bundle + manifest ───────────────────────────────────────────────────
+  fs.writeFileSync(path.join(outDir, bundleName), bundle);
+  const manifest = { version: 1, sha256, size: bundle.length, patches };
+  const manifestName = `${bundleName}.manifest.json`;
+  fs.writeFileSync(
+    path.join(outDir, manifestName),
+    JSON.stringify(manifest, null, 2) + "\n",
+  );
+
+  // ── Record this release, keep the newest `keep + 1` ─────────────────────
+  const historyFile = path.join(historyDir, sha256 + HISTORY_SUFFIX);
+  fs.writeFileSync(historyFile, bundle);
+  for (const entry of listHistory(historyDir).slice(keep + 1)) {
+    fs.rmSync(entry.file);
+  }
+
+  log.blank();
+  log.success(`Wrote ${path.relative(projectRoot, outDir)}/${manifestName} (${patches.length} patch(es))`);
+  log.info(`Publish the contents of ${path.relative(projectRoot, outDir)}/ (except ${HISTORY_DIR}/) next to the bundle URL.`);
+  log.info("Clients opt in with TemplateLoader.getInstance(context).setDeltaUpdates(true).");
+}
@@ -4,6 +4,12 @@ import { spawnSync } from "node:child_process";
 import * as log from "../utils/logger.js";
 import { runLink } from "./link.js";
 import { ensureGradleWrapperJar } from "../utils/gradle.js";
+import {
+  LYNX_HOST_PACKAGE,
+  isPackageInstalled,
+  copyBundle,
+  describeBundleCopy,
+} from "../utils/bundle.js";
 
 export interface PrebuildOptions {
   projectRoot?: string;
@@ -12,6 +18,8 @@ export interface PrebuildOptions {
   packageId: string;
   /** Overwrite existing android dir */
   force?: boolean;
+  /** Copy the bundle to assets uncompressed even when lynx-host could inflate it */
+  noCompress?: boolean;
 }
 
 // ── File templates ────────────────────────────────────────────────────────────
@@ -89,6 +97,10 @@ android {
     buildFeatures {
         buildConfig true
     }
+    // Store Lynx bundles uncompressed so they can be read straight from the APK
+    androidResources {
+        noCompress 'bundle'
+    }
     packaging {
         resources {
             excludes += '/META-INF/{AL2.0,LGPL2.1}'
@@ -102,6 +114,8 @@ dependencies {
 
     // AndroidX
     implementation "androidx.appcompat:appcompat:1.6.1"
+    // Installs baseline profiles (src/main/baseline-prof.txt and the libraries') on sideloaded builds
+    implementation "androidx.profileinstaller:profileinstaller:1.3.1"
 
     // Lynx core
     implementation "org.lynxsdk.lynx:lynx:3.6.0"
@@ -217,7 +231,8 @@ function tplNetworkSecurityConfig(): string {
 `;
 }
 
-function tplLynxApplication(packageId: string): string {
+function tplLynxApplication(packageId: string, useLynxHost: boolean): string {
+  if (useLynxHost) return tplBootstrapLynxApplication(packageId);
   return `package ${packageId};
 
 import android.app.Application;
@@ -258,29 +273,100 @@ public class LynxApplication extends Application {
 `;
 }
 
-function tplMainActivity(packageId: string): string {
+/**
+ * `LynxApplication` with `@kafitra/lynx-host`: initialization runs as a
+ * `LynxBootstrap` step graph (Fresco and the template prefetch off the main
+ * thread) and ends by prewarming the first screen's LynxView.
+ */
+function tplBootstrapLynxApplication(packageId: string): string {
+  return `package ${packageId};
+
+import android.app.Application;
+import com.facebook.drawee.backends.pipeline.Fresco;
+import com.facebook.imagepipeline.core.ImagePipelineConfig;
+import com.facebook.imagepipeline.memory.PoolConfig;
+import com.facebook.imagepipeline.memory.PoolFactory;
+import com.kafitra.lynxhost.LoadPriority;
+import com.kafitra.lynxhost.LynxBootstrap;
+import com.kafitra.lynxhost.LynxBootstrap.Mode;
+import com.kafitra.lynxhost.LynxViewPool;
+import com.kafitra.lynxhost.TemplateLoader;
+import com.lynx.tasm.LynxEnv;
+import com.lynx.tasm.LynxViewBuilder;
+import com.lynx.tasm.service.LynxServiceCenter;
+import com.lynx.service.image.LynxImageService;
+import com.lynx.service.log.LynxLogService;
+import com.lynx.xelement.XElementBehaviors;
+
+public class LynxApplication extends Application {
+
+    @Override
+    public void onCreate() {
+        super.onCreate();
+        final LynxViewPool pool = LynxViewPool.getInstance(this);
+        pool.setViewConfig(LynxApplication::configureLynxView);
+
+        // Fresco and the template load run in the background while LynxEnv starts on the
+        // main thread. Add Mode.DEFERRED steps for work the first screen does not need.
+        new LynxBootstrap()
+                .addStep("template-prefetch", Mode.BACKGROUND, this::prefetchFirstTemplate)
+                .addStep("fresco", Mode.BACKGROUND, this::initFresco)
+                .addStep("lynx-services", Mode.MAIN, this::registerLynxServices, "fresco")
+                .addStep("lynx-env", Mode.MAIN, this::initLynxEnv)
+                .addStep("autolink", Mode.MAIN, LynxAutolinkRegistry::registerAll, "lynx-env")
+                .addStep("autolink-preload", Mode.BACKGROUND,
+                        LynxAutolinkRegistry::preloadInBackground)
+                .addStep("view-prewarm", Mode.MAIN, pool::prewarm, "autolink", "lynx-services")
+                .start(this);
+    }
+
+    private void prefetchFirstTemplate() {
+        TemplateLoader.getInstance(this).prefetch(MainActivity.BUNDLE_URL, LoadPriority.HIGH);
+    }
+
+    private void initFresco() {
+        final PoolFactory factory = new PoolFactory(PoolConfig.newBuilder().build());
+        ImagePipelineConfig.Builder config = ImagePipelineConfig
+                .newBuilder(getApplicationContext())
+                .setPoolFactory(factory);
+        Fresco.initialize(getApplicationContext(), config.build());
+    }
+
+    private void registerLynxServices() {
+        LynxServiceCenter.inst().registerService(LynxImageService.getInstance());
+        LynxServiceCenter.inst().registerService(LynxLogService.INSTANCE);
+    }
+
+    private void initLynxEnv() {
+        LynxEnv.inst().init(this, null, null, null);
+    }
+
+    private static void configureLynxView(LynxViewBuilder builder) {
+        builder.addBehaviors(new XElementBehaviors().create());
+        LynxAutolinkRegistry.configureView(builder);
+    }
+}
+`;
+}
+
+function tplMainActivity(packageId: string, useLynxHost: boolean): string {
+  if (useLynxHost) return tplPooledMainActivity(packageId);
   return `package ${packageId};
 
 import androidx.appcompat.app.AppCompatActivity;
 import android.os.Bundle;
-import android.os.Handler;
-import android.os.Looper;
 import android.view.View;
 import com.lynx.tasm.LynxView;
 import com.lynx.tasm.LynxViewBuilder;
 import com.lynx.xelement.XElementBehaviors;
-import java.io.IOException;
-import java.net.HttpURLConnection;
-import java.net.URL;
 
 public class MainActivity extends AppCompatActivity {
 
     private LynxView mLynxView;
-    private final Handler mMainHandler = new Handler(Looper.getMainLooper());
-    private String mLastEtag = null;
-    private boolean mInitialEtagSet = false;
-    private Runnable mPollRunnable;
-    private static final int POLL_INTERVAL_MS = 1500;
+    private LynxTemplateProvider mTemplateProvider;
+    private DevReloadClient mReloadClient;
+    /** Data the template was rendered with; a live reload renders with it again. */
+    private String mTemplateData = "";
 
     private static final String BUNDLE_URL = BuildConfig.DEBUG
             ? "http://localhost:3000/main.lynx.bundle"
@@ -293,72 +379,43 @@ public class MainActivity extends AppCompatActivity {
                 View.SYSTEM_UI_FLAG_FULLSCREEN | View.SYSTEM_UI_FLAG_LAYOUT_FULLSCREEN);
         mLynxView = buildLynxView();
         setContentView(mLynxView);
-        mLynxView.renderTemplateUrl(BUNDLE_URL, "");
+        mLynxView.renderTemplateUrl(BUNDLE_URL, mTemplateData);
 
         if (BuildConfig.DEBUG) {
-            startPolling();
+            startLiveReload();
         }
     }
 
     private LynxView buildLynxView() {
         LynxViewBuilder viewBuilder = new LynxViewBuilder();
-        viewBuilder.setTemplateProvider(new LynxTemplateProvider(this));
+        mTemplateProvider = new LynxTemplateProvider(this);
+        viewBuilder.setTemplateProvider(mTemplateProvider);
         viewBuilder.addBehaviors(new XElementBehaviors().create());
-        LynxAutolinkRegistry.addUIBehaviorsTo(viewBuilder);
+        LynxAutolinkRegistry.configureView(viewBuilder);
         return viewBuilder.build(this);
     }
 
-    /** Poll bundle URL via HEAD request; reload when ETag changes. */
-    private void startPolling() {
-        mPollRunnable = new Runnable() {
-            @Override
-            public void run() {
-                checkForUpdate();
-                mMainHandler.postDelayed(this, POLL_INTERVAL_MS);
-            }
-        };
-        mMainHandler.postDelayed(mPollRunnable, POLL_INTERVAL_MS);
-    }
-
-    private void checkForUpdate() {
-        new Thread(() -> {
-            try {
-                HttpURLConnection conn = (HttpURLConnection) new URL(BUNDLE_URL).openConnection();
-                conn.setRequestMethod("HEAD");
-                conn.setConnectTimeout(1000);
-                conn.setReadTimeout(1000);
-                if (mLastEtag != null) {
-                    conn.setRequestProperty("If-None-Match", mLastEtag);
-                }
-                conn.connect();
-                int code = conn.getResponseCode();
-                String etag = conn.getHeaderField("ETag");
-                conn.disconnect();
-
-                if (code == 200 && etag != null && !etag.equals(mLastEtag)) {
-                    if (!mInitialEtagSet) {
-                        // First poll — just record ETag, don't reload (initial render already done)
-                        mInitialEtagSet = true;
-                    } else {
-                        android.util.Log.d("LynxHMR", "Bundle changed (ETag: " + etag + "), reloading...");
-                        mMainHandler.post(() -> {
-                            if (mLynxView != null) mLynxView.renderTemplateUrl(BUNDLE_URL, "");
-                        });
-                    }
-                    mLastEtag = etag;
-                }
-            } catch (IOException ignored) {
-                // Dev server not running yet — silently retry next poll
-            }
-        }).start();
+    /**
+     * Reload when {@code lynx dev} pushes a bundle change: the same LynxView re-renders with
+     * the same data, and only a patch against the previous build is downloaded.
+     */
+    private void startLiveReload() {
+        mReloadClient = new DevReloadClient(this, BUNDLE_URL, () -> {
+            android.util.Log.d("LynxHMR", "Bundle changed, reloading...");
+            if (mLynxView != null) mLynxView.renderTemplateUrl(BUNDLE_URL, mTemplateData);
+        });
+        mReloadClient.start();
     }
 
     @Override
     protected void onDestroy() {
         super.onDestroy();
-        if (mPollRunnable != null) {
-            mMainHandler.removeCallbacks(mPollRunnable);
-            mPollRunnable = null;
+        if (mReloadClient != null) {
+            mReloadClient.stop();
+            mReloadClient = null;
+        }
+        if (mTemplateProvider != null) {
+            mTemplateProvider.cancelPending();
         }
         if (mLynxView != null) {
             mLynxView.destroy();
@@ -369,6 +426,11 @@ public class MainActivity extends AppCompatActivity {
 `;
 }
 
+/**
+ * App-local provider, generated only when `@kafitra/lynx-host` is not installed.
+ * Loads on a small pool of its own; install `@kafitra/lynx-host` for the shared,
+ * prioritized loader on `@kafitra/lynx-scheduler`.
+ */
 function tplLynxTemplateProvider(packageId: string): string {
   return `package ${packageId};
 
@@ -379,10 +441,15 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.net.HttpURLConnection;
 import java.net.URL;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 
 public class LynxTemplateProvider extends AbsTemplateProvider {
 
     private static final String FALLBACK_ASSET = "main.lynx.bundle";
+    /** Shared by every provider: at most two loads at once, idle threads exit. */
+    private static final ThreadPoolExecutor LOADER = newLoader();
     private final Context mContext;
 
     public LynxTemplateProvider(Context context) {
@@ -391,7 +458,7 @@ public class LynxTemplateProvider extends AbsTemplateProvider {
 
     @Override
     public void loadTemplate(String uri, Callback callback) {
-        new Thread(() -> {
+        LOADER.execute(() -> {
             try {
                 byte[] data;
                 if (uri.startsWith("http://") || uri.startsWith("https://")) {
@@ -407,7 +474,22 @@ public class LynxTemplateProvider extends AbsTemplateProvider {
             } catch (Exception e) {
                 callback.onFailed(e.getMessage());
             }
-        }).start();
+        });
+    }
+
+    /** No-op — matches the API of com.kafitra.lynxhost.LynxTemplateProvider. */
+    public void cancelPending() {
+    }
+
+    private static ThreadPoolExecutor newLoader() {
+        ThreadPoolExecutor pool = new ThreadPoolExecutor(2, 2, 30, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<Runnable>(), runnable -> {
+                    Thread thread = new Thread(runnable, "LynxTemplateLoader");
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        pool.allowCoreThreadTimeOut(true);
+        return pool;
     }
 
     private byte[] loadFromNetwork(String urlStr) throws IOException {
@@ -438,6 +520,243 @@ public class LynxTemplateProvider extends AbsTemplateProvider {
 `;
 }
 
+/**
+ * `MainActivity` with `@kafitra/lynx-host`: takes the LynxView prewarmed by
+ * `LynxApplication` from `LynxViewPool` instead of building it in `onCreate`.
+ */
+function tplPooledMainActivity(packageId: string): string {
+  return `package ${packageId};
+
+import androidx.appcompat.app.AppCompatActivity;
+import android.os.Bundle;
+import android.view.View;
+import com.kafitra.lynxhost.DevReloadClient;
+import com.kafitra.lynxhost.LynxViewPool;
+import com.lynx.tasm.LynxView;
+
+public class MainActivity extends AppCompatActivity {
+
+    private LynxView mLynxView;
+    private DevReloadClient mReloadClient;
+    /** Data the template was rendered with; a live reload renders with it again. */
+    private String mTemplateData = "";
+
+    static final String BUNDLE_URL = BuildConfig.DEBUG
+            ? "http://localhost:3000/main.lynx.bundle"
+            : "main.lynx.bundle";
+
+    @Override
+    protected void onCreate(Bundle savedInstanceState) {
+        super.onCreate(savedInstanceState);
+        getWindow().getDecorView().setSystemUiVisibility(
+                View.SYSTEM_UI_FLAG_FULLSCREEN | View.SYSTEM_UI_FLAG_LAYOUT_FULLSCREEN);
+        // Prewarmed by LynxApplication; the template is already loading.
+        mLynxView = LynxViewPool.getInstance(this).acquire(this);
+        setContentView(mLynxView);
+        mLynxView.renderTemplateUrl(BUNDLE_URL, mTemplateData);
+
+        if (BuildConfig.DEBUG) {
+            startLiveReload();
+        }
+    }
+
+    /**
+     * Reload when {@code lynx dev} pushes a bundle change: the same LynxView re-renders with
+     * the same data, and only a patch against the previous build is downloaded.
+     */
+    private void startLiveReload() {
+        mReloadClient = new DevReloadClient(this, BUNDLE_URL, () -> {
+            android.util.Log.d("LynxHMR", "Bundle changed, reloading...");
+            if (mLynxView != null) mLynxView.renderTemplateUrl(BUNDLE_URL, mTemplateData);
+        });
+        mReloadClient.start();
+    }
+
+    @Override
+    protected void onDestroy() {
+        super.onDestroy();
+        if (mReloadClient != null) {
+            mReloadClient.stop();
+            mReloadClient = null;
+        }
+        if (mLynxView != null) {
+            LynxViewPool.getInstance(this).release(mLynxView);
+            mLynxView = null;
+        }
+    }
+}
+`;
+}
+
+/**
+ * App-local live reload client, generated only when `@kafitra/lynx-host` is not
+ * installed. Same API as `com.kafitra.lynxhost.DevReloadClient`: one
+ * Server-Sent Events connection to `lynx dev` with reconnect backoff.
+ */
+function tplDevReloadClient(packageId: string): string {
+  return `package ${packageId};
+
+import android.content.Context;
+import android.os.Handler;
+import android.os.Looper;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import org.json.JSONObject;
+
+public class DevReloadClient {
+
+    public interface Listener {
+        void onBundleChanged();
+    }
+
+    private final String mEventsUrl;
+    private final Listener mListener;
+    private final Handler mMainHandler = new Handler(Looper.getMainLooper());
+    private Thread mThread;
+    private HttpURLConnection mConnection;
+    private String mLastVersion;
+
+    public DevReloadClient(String eventsUrl, Listener listener) {
+        mEventsUrl = eventsUrl;
+        mListener = listener;
+    }
+
+    /** Bundles are always downloaded in full here; the context is unused. */
+    public DevReloadClient(Context context, String bundleUrl, Listener listener) {
+        this(eventsUrlFor(bundleUrl), listener);
+    }
+
+    /** http://host:3000/main.lynx.bundle → http://host:3001/events */
+    public static String eventsUrlFor(String bundleUrl) {
+        try {
+            URL url = new URL(bundleUrl);
+            int port = url.getPort() != -1 ? url.getPort() : url.getDefaultPort();
+            return new URL(url.getProtocol(), url.getHost(), port + 1, "/events").toString();
+        } catch (IOException e) {
+            throw new IllegalArgumentException(e);
+        }
+    }
+
+    public synchronized void start() {
+        if (mThread != null) return;
+        mThread = new Thread(this::run, "LynxDevReload");
+        mThread.setDaemon(true);
+        mThread.start();
+    }
+
+    public void stop() {
+        HttpURLConnection connection;
+        synchronized (this) {
+            if (mThread == null) return;
+            mThread.interrupt();
+            mThread = null;
+            connection = mConnection;
+        }
+        if (connection != null) connection.disconnect();
+        mMainHandler.removeCallbacksAndMessages(null);
+    }
+
+    private void run() {
+        long backoffMs = 250;
+        while (!Thread.currentThread().isInterrupted()) {
+            try {
+                if (listen()) backoffMs = 250;
+            } catch (IOException ignored) {
+                // Dev server not running yet — retry after the backoff
+            }
+            try {
+                Thread.sleep(backoffMs);
+            } catch (InterruptedException e) {
+                return;
+            }
+            backoffMs = Math.min(backoffMs * 2, 8000);
+        }
+    }
+
+    private boolean listen() throws IOException {
+        HttpURLConnection connection = (HttpURLConnection) new URL(mEventsUrl).openConnection();
+        connection.setConnectTimeout(2000);
+        // lynx dev sends a keepalive every 15 s; silence beyond that means the connection is gone
+        connection.setReadTimeout(40000);
+        synchronized (this) {
+            if (mThread != Thread.currentThread()) return false;
+            mConnection = connection;
+        }
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(connection.getInputStream(), "UTF-8"))) {
+            String event = null;
+            String data = "";
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isEmpty()) {
+                    if (event != null) onEvent(event, data);
+                    event = null;
+                    data = "";
+                } else if (line.startsWith("event:")) {
+                    event = line.substring(6).trim();
+                } else if (line.startsWith("data:")) {
+                    data = line.substring(5).trim();
+                }
+            }
+            return true;
+        } finally {
+            connection.disconnect();
+        }
+    }
+
+    private void onEvent(String event, String data) {
+        String version;
+        try {
+            JSONObject json = new JSONObject(data);
+            version = json.optString("sha256", json.optString("etag", null));
+        } catch (Exception e) {
+            version = null;
+        }
+        String previous = mLastVersion;
+        mLastVersion = version;
+        boolean changed = "bundle-changed".equals(event)
+                ? version == null || !version.equals(previous)
+                : "hello".equals(event) && previous != null && version != null && !version.equals(previous);
+        if (!changed) return;
+        final Thread owner = Thread.currentThread();
+        mMainHandler.post(() -> {
+            synchronized (DevReloadClient.this) {
+                if (mThread != owner) return;
+            }
+            mListener.onBundleChanged();
+        });
+    }
+}
+`;
+}
+
+/**
+ * App baseline profile: the generated Application and Activity. `lynx link`
+ * appends rules for the registry and linked modules in a marked block.
+ */
+function tplBaselineProfile(packageId: string, useLynxHost: boolean): string {
+  const pkg = packageId.split(".").join("/");
+  const classes = [
+    "LynxApplication",
+    "MainActivity",
+    ...(useLynxHost ? [] : ["LynxTemplateProvider"]),
+  ];
+  return [
+    "# Baseline profile rules, compiled ahead of time at install.",
+    "# https://developer.android.com/topic/performance/baselineprofiles/manually-create-measure",
+    ...classes.flatMap((name) => [
+      `L${pkg}/${name};`,
+      `L${pkg}/${name}$*;`,
+      `HSPL${pkg}/${name};->**(**)**`,
+      `HSPL${pkg}/${name}$*;->**(**)**`,
+    ]),
+    "",
+  ].join("\n");
+}
+
 function tplLynxAutolinkRegistry(packageId: string): string {
   return `package ${packageId};
 
@@ -447,6 +766,12 @@ public class LynxAutolinkRegistry {
     public static void registerAll() {
         // modules will be registered here after running: lynx link
     }
+
+    public static void preloadInBackground() {
+    }
+
+    public static void configureView(com.lynx.tasm.LynxViewBuilder builder) {
+    }
 }
 `;
 }
@@ -476,6 +801,15 @@ export async function runPrebuild(opts: PrebuildOptions): Promise<void> {
   log.info(`Output: ${androidDir}`);
   log.blank();
 
+  const useLynxHost = isPackageInstalled(projectRoot, LYNX_HOST_PACKAGE);
+  if (!useLynxHost) {
+    log.warn(
+      `${LYNX_HOST_PACKAGE} is not installed — generating an app-local LynxTemplateProvider.\n` +
+        `  Install it (pnpm add ${LYNX_HOST_PACKAGE} @kafitra/lynx-scheduler) for the shared, de-duplicated template loader.`,
+    );
+    log.blank();
+  }
+
   const javaDir = path.join(
     androidDir,
     "app",
@@ -525,16 +859,31 @@ export async function runPrebuild(opts: PrebuildOptions): Promise<void> {
       ),
       tplNetworkSecurityConfig(),
     ],
-    [path.join(javaDir, "LynxApplication.java"), tplLynxApplication(packageId)],
-    [path.join(javaDir, "MainActivity.java"), tplMainActivity(packageId)],
+    [path.join(javaDir, "LynxApplication.java"), tplLynxApplication(packageId, useLynxHost)],
     [
-      path.join(javaDir, "LynxTemplateProvider.java"),
-      tplLynxTemplateProvider(packageId),
+      path.join(javaDir, "MainActivity.java"),
+      tplMainActivity(packageId, useLynxHost),
     ],
+    ...(useLynxHost
+      ? []
+      : ([
+          [
+            path.join(javaDir, "LynxTemplateProvider.java"),
+            tplLynxTemplateProvider(packageId),
+          ],
+          [
+            path.join(javaDir, "DevReloadClient.java"),
+            tplDevReloadClient(packageId),
+          ],
+        ] as Array<[string, string]>)),
     [
       path.join(javaDir, "LynxAutolinkRegistry.java"),
       tplLynxAutolinkRegistry(packageId),
     ],
+    [
+      path.join(androidDir, "app", "src", "main", "baseline-prof.txt"),
+      tplBaselineProfile(packageId, useLynxHost),
+    ],
   ];
 
   for (const [filePath, content] of files) {
@@ -609,9 +958,13 @@ export async function runPrebuild(opts: PrebuildOptions): Promise<void> {
 
   if (fs.existsSync(bundleSrc)) {
     try {
-      fs.copyFileSync(bundleSrc, bundleDest);
+      const copied = await copyBundle(
+        bundleSrc,
+        bundleDest,
+        useLynxHost && !opts.noCompress,
+      );
       log.success(
-        "Copied: dist/main.lynx.bundle → android/app/src/main/assets/main.lynx.bundle",
+        `Copied: dist/main.lynx.bundle → android/app/src/main/assets/main.lynx.bundle (${describeBundleCopy(copied)})`,
       );
       bundleCopied = true;
     } catch (err: unknown) {
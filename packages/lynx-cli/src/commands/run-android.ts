@@ -13,6 +13,12 @@ import {
 import { runGradle, ensureGradleWrapperJar } from "../utils/gradle.js";
 import { readApplicationId } from "@kafitra/lynx-autolink";
 import { openDevServerTerminal, isPortInUse } from "../utils/terminal.js";
+import {
+  LYNX_HOST_PACKAGE,
+  isPackageInstalled,
+  copyBundle,
+  describeBundleCopy,
+} from "../utils/bundle.js";
 
 export interface RunAndroidOptions {
   projectRoot?: string;
@@ -22,6 +28,8 @@ export interface RunAndroidOptions {
   noLink?: boolean;
   /** Target specific device serial */
   device?: string;
+  /** Copy the offline bundle uncompressed even when lynx-host could inflate it */
+  noCompress?: boolean;
 }
 
 export async function runAndroid(opts: RunAndroidOptions = {}): Promise<void> {
@@ -58,9 +66,16 @@ export async function runAndroid(opts: RunAndroidOptions = {}): Promise<void> {
 
   // ── Step 2: Start dev server (if not already running) ──────────────────
   const devPort = 3000;
+  const reloadPort = devPort + 1;
   const serverRunning = await isPortInUse(devPort);
   if (serverRunning) {
     log.info(`Dev server already running on port ${devPort}.`);
+    if (!(await isPortInUse(reloadPort))) {
+      log.warn(
+        "Live reload is off — the dev server was not started by `lynx dev`.\n" +
+          "  Restart it with `lynx dev` to push reloads to the app.",
+      );
+    }
   } else {
     log.step("Starting dev server in a new terminal…");
     openDevServerTerminal(projectRoot, devPort);
@@ -113,8 +128,14 @@ export async function runAndroid(opts: RunAndroidOptions = {}): Promise<void> {
     const bundleDest = path.join(assetsDir, "main.lynx.bundle");
     if (fs.existsSync(bundleSrc) && !fs.existsSync(bundleDest)) {
       fs.mkdirSync(assetsDir, { recursive: true });
-      fs.copyFileSync(bundleSrc, bundleDest);
-      log.success("Copied bundle to assets (offline fallback).");
+      const copied = await copyBundle(
+        bundleSrc,
+        bundleDest,
+        !opts.noCompress && isPackageInstalled(projectRoot, LYNX_HOST_PACKAGE),
+      );
+      log.success(
+        `Copied bundle to assets (offline fallback, ${describeBundleCopy(copied)}).`,
+      );
     }
     await ensureGradleWrapperJar(androidDir);
     await runGradle(androidDir, "installDebug");
@@ -136,7 +157,8 @@ export async function runAndroid(opts: RunAndroidOptions = {}): Promise<void> {
 
   // ── Step 6: adb reverse + launch activity ────────────────────────────
   log.step("Setting up adb reverse and launching app…");
-  adbReverse(3000);
+  adbReverse(devPort);
+  adbReverse(reloadPort);
 
   try {
     launchActivity(appId, targetDevice);
@@ -153,6 +175,8 @@ export async function runAndroid(opts: RunAndroidOptions = {}): Promise<void> {
   log.info(`Device: ${targetDevice}`);
   log.blank();
   log.info("Bundle URL: http://localhost:3000/main.lynx.bundle");
-  log.info("Port forwarded: adb reverse tcp:3000 tcp:3000");
+  log.info(
+    `Port forwarded: adb reverse tcp:${devPort} tcp:${devPort}, tcp:${reloadPort} tcp:${reloadPort}`,
+  );
   log.blank();
 }
@@ -0,0 +1,291 @@
+import * as path from "node:path";
+import * as fs from "node:fs";
+import { spawnSync } from "node:child_process";
+import * as log from "../utils/logger.js";
+import { getAppPackageName, resolveLauncherActivity } from "../utils/android.js";
+
+export interface TraceOptions {
+  projectRoot?: string;
+  androidDir?: string;
+  /** applicationId; read from app/build.gradle when omitted */
+  appId?: string;
+  /** Target specific device serial */
+  device?: string;
+  /**
+   * Activity to start, as `.MainActivity`, a class name or `<appId>/<class>`;
+   * resolved from the app's launcher intent filter when omitted
+   */
+  activity?: string;
+  /** Number of cold starts to trace */
+  runs?: number;
+  /** Pull the last recorded trace without restarting the app */
+  noLaunch?: boolean;
+  /** Output directory, relative to projectRoot */
+  outDir?: string;
+  /** summary.json from an earlier release to compare against */
+  baseline?: string;
+  /** Regression threshold for time to first screen, in percent */
+  threshold?: number;
+}
+
+/** Written by `com.kafitra.lynxhost.StartupTracer` in the app's files directory. */
+const TRACE_FILE = "files/lynx-startup-trace.json";
+const FIRST_SCREEN = "first-screen";
+const POLL_INTERVAL_MS = 250;
+const POLL_TIMEOUT_MS = 20_000;
+
+interface TraceEvent {
+  name: string;
+  ph: string;
+  ts?: number;
+  dur?: number;
+  tid?: number;
+  args?: { name?: string };
+}
+
+/** Per span name: when it first started and how long all of its occurrences took. */
+interface SpanSummary {
+  startMs: number;
+  durationMs: number;
+  count: number;
+  thread: string;
+}
+
+interface RunSummary {
+  firstScreenMs: number | null;
+  spans: Record<string, SpanSummary>;
+}
+
+/** Stored as summary.json; pass it as --baseline next release. */
+interface TraceSummary {
+  runs: number;
+  firstScreenMs: number | null;
+  spans: Record<string, { startMs: number; durationMs: number }>;
+}
+
+function adb(device: string | undefined, args: string[]) {
+  return spawnSync("adb", [...(device ? ["-s", device] : []), ...args], {
+    encoding: "utf8",
+    stdio: "pipe",
+    maxBuffer: 16 * 1024 * 1024,
+  });
+}
+
+/** The trace file's contents, or null if the app has not written it (yet). */
+function readTrace(device: string | undefined, appId: string): TraceEvent[] | null {
+  const result = adb(device, ["exec-out", "run-as", appId, "cat", TRACE_FILE]);
+  if (result.status !== 0 || !result.stdout.trim().startsWith("{")) return null;
+  try {
+    const doc = JSON.parse(result.stdout) as { traceEvents?: TraceEvent[] };
+    return doc.traceEvents ?? null;
+  } catch {
+    return null; // still being written
+  }
+}
+
+/** The component to cold-start: `--activity` if given, else the app's launcher activity. */
+function launchComponent(device: string | undefined, appId: string, activity?: string): string {
+  if (activity) return activity.includes("/") ? activity : `${appId}/${activity}`;
+  const component = resolveLauncherActivity(appId, device);
+  if (!component) {
+    throw new Error(
+      `Could not resolve the launcher activity of ${appId}. Is the app installed? ` +
+        "Pass --activity <name> to choose it.",
+    );
+  }
+  return component;
+}
+
+async function coldStart(
+  device: string | undefined,
+  appId: string,
+  component: string,
+): Promise<TraceEvent[]> {
+  adb(device, ["shell", "am", "force-stop", appId]);
+  adb(device, ["shell", "run-as", appId, "rm", "-f", TRACE_FILE]);
+  const start = adb(device, ["shell", "am", "start", "-W", "-n", component]);
+  if (start.status !== 0) {
+    throw new Error(`adb shell am start failed: ${start.stderr || start.stdout}`);
+  }
+  const deadline = Date.now() + POLL_TIMEOUT_MS;
+  while (Date.now() < deadline) {
+    const events = readTrace(device, appId);
+    if (events) return events;
+    await new Promise((r) => setTimeout(r, POLL_INTERVAL_MS));
+  }
+  throw new Error(
+    `No startup trace after ${POLL_TIMEOUT_MS / 1000} s. The trace is written when a view from ` +
+      "LynxViewPool draws its first screen.",
+  );
+}
+
+function summarizeRun(events: TraceEvent[]): RunSummary {
+  const threads = new Map<number, string>();
+  for (const e of events) {
+    if (e.ph === "M" && e.name === "thread_name" && e.tid !== undefined) {
+      threads.set(e.tid, e.args?.name ?? String(e.tid));
+    }
+  }
+  let firstScreenMs: number | null = null;
+  const spans: Record<string, SpanSummary> = {};
+  for (const e of events) {
+    if (e.ts === undefined) continue;
+    if (e.ph === "i" && e.name === FIRST_SCREEN) firstScreenMs = e.ts / 1000;
+    if (e.ph !== "X") continue;
+    const startMs = e.ts / 1000;
+    const durationMs = (e.dur ?? 0) / 1000;
+    const thread = threads.get(e.tid ?? -1) ?? "?";
+    const span = spans[e.name];
+    if (!span) {
+      spans[e.name] = { startMs, durationMs, count: 1, thread };
+    } else {
+      span.startMs = Math.min(span.startMs, startMs);
+      span.durationMs += durationMs;
+      span.count++;
+      if (span.thread !== thread) span.thread = "(several)";
+    }
+  }
+  return { firstScreenMs, spans };
+}
+
+function median(values: number[]): number {
+  const sorted = [...values].sort((a, b) => a - b);
+  const mid = Math.floor(sorted.length / 2);
+  return sorted.length % 2 ? sorted[mid]! : (sorted[mid - 1]! + sorted[mid]!) / 2;
+}
+
+/** Medians across runs, so one noisy start does not decide the result. */
+function combine(runs: RunSummary[]): TraceSummary {
+  const firstScreens = runs.flatMap((r) => (r.firstScreenMs === null ? [] : [r.firstScreenMs]));
+  const names = new Set(runs.flatMap((r) => Object.keys(r.spans)));
+  const spans: TraceSummary["spans"] = {};
+  for (const name of names) {
+    const present = runs.flatMap((r) => (r.spans[name] ? [r.spans[name]!] : []));
+    spans[name] = {
+      startMs: median(present.map((s) => s.startMs)),
+      durationMs: median(present.map((s) => s.durationMs)),
+    };
+  }
+  return {
+    runs: runs.length,
+    firstScreenMs: firstScreens.length ? median(firstScreens) : null,
+    spans,
+  };
+}
+
+const ms = (value: number) => `${value.toFixed(1)} ms`.padStart(10);
+
+function printSummary(summary: TraceSummary, lastRun: RunSummary, baseline?: TraceSummary): void {
+  const rows = Object.entries(summary.spans).sort((a, b) => a[1].startMs - b[1].startMs);
+  const width = Math.max(24, ...rows.map(([name]) => Math.min(name.length, 60)));
+  log.info(
+    `${"span".padEnd(width)}  ${"start".padStart(10)}  ${"duration".padStart(10)}  thread` +
+      (baseline ? "        Δ duration" : ""),
+  );
+  for (const [name, span] of rows) {
+    const label = name.length > 60 ? name.slice(0, 57) + "…" : name;
+    const thread = lastRun.spans[name]?.thread ?? "";
+    let delta = "";
+    const before = baseline?.spans[name];
+    if (before) {
+      const d = span.durationMs - before.durationMs;
+      delta = `  ${(d >= 0 ? "+" : "") + d.toFixed(1)} ms`;
+    }
+    log.info(
+      `${label.padEnd(width)}  ${ms(span.startMs)}  ${ms(span.durationMs)}  ${thread.padEnd(16)}${delta}`,
+    );
+  }
+}
+
+export async function runTrace(opts: TraceOptions = {}): Promise<void> {
+  const projectRoot = path.resolve(opts.projectRoot ?? process.cwd());
+  const androidDir = path.resolve(projectRoot, opts.androidDir ?? "android");
+  const outDir = path.resolve(projectRoot, opts.outDir ?? "startup-traces");
+  const runs = opts.noLaunch ? 1 : Math.max(1, opts.runs ?? 1);
+  const threshold = opts.threshold ?? 10;
+
+  log.blank();
+  log.header("kafitra/lynx-cli — lynx trace");
+  log.blank();
+
+  const appId =
+    opts.appId ?? getAppPackageName(path.join(androidDir, "app", "build.gradle"));
+  if (!appId) {
+    log.error(
+      `Could not read applicationId from ${path.join(androidDir, "app", "build.gradle")}\n` +
+        "  Pass --package <applicationId> or --android-dir <path>.",
+    );
+    process.exit(1);
+  }
+
+  let baseline: TraceSummary | undefined;
+  if (opts.baseline) {
+    const file = path.resolve(projectRoot, opts.baseline);
+    if (!fs.existsSync(file)) {
+      log.error(`Baseline not found: ${file}`);
+      process.exit(1);
+    }
+    baseline = JSON.parse(fs.readFileSync(file, "utf8")) as TraceSummary;
+  }
+
+  let component = "";
+  if (!opts.noLaunch) {
+    try {
+      component = launchComponent(opts.device, appId, opts.activity);
+    } catch (err) {
+      log.error(err instanceof Error ? err.message : String(err));
+      process.exit(1);
+    }
+  }
+
+  fs.mkdirSync(outDir, { recursive: true });
+  const results: RunSummary[] = [];
+  for (let run = 1; run <= runs; run++) {
+    let events: TraceEvent[] | null;
+    try {
+      if (opts.noLaunch) {
+        events = readTrace(opts.device, appId);
+        if (!events) throw new Error(`No ${TRACE_FILE} for ${appId} (debuggable builds only).`);
+      } else {
+        log.step(`Cold start ${run}/${runs}…`);
+        events = await coldStart(opts.device, appId, component);
+      }
+    } catch (err) {
+      log.error(err instanceof Error ? err.message : String(err));
+      process.exit(1);
+    }
+    const file = path.join(outDir, `run-${run}.json`);
+    fs.writeFileSync(file, JSON.stringify({ traceEvents: events, displayTimeUnit: "ms" }));
+    const summary = summarizeRun(events);
+    results.push(summary);
+    if (summary.firstScreenMs !== null) {
+      log.success(`  first screen at ${summary.firstScreenMs.toFixed(1)} ms → ${path.relative(projectRoot, file)}`);
+    }
+  }
+
+  const summary = combine(results);
+  fs.writeFileSync(path.join(outDir, "summary.json"), JSON.stringify(summary, null, 2) + "\n");
+
+  log.blank();
+  log.info(runs > 1 ? `Median of ${runs} cold starts (ms since process start):` : "Startup timeline (ms since process start):");
+  log.blank();
+  printSummary(summary, results[results.length - 1]!, baseline);
+  log.blank();
+
+  if (summary.firstScreenMs === null) {
+    log.warn("No first-screen mark — was the first view taken from LynxViewPool?");
+  } else {
+    log.success(`First screen: ${summary.firstScreenMs.toFixed(1)} ms after process start`);
+  }
+  log.info(`Open ${path.relative(projectRoot, outDir)}/run-*.json in https://ui.perfetto.dev for the full timeline.`);
+
+  if (baseline?.firstScreenMs && summary.firstScreenMs !== null) {
+    const change = ((summary.firstScreenMs - baseline.firstScreenMs) / baseline.firstScreenMs) * 100;
+    const text = `First screen ${change >= 0 ? "+" : ""}${change.toFixed(1)}% vs baseline (${baseline.firstScreenMs.toFixed(1)} ms).`;
+    if (change > threshold) {
+      log.error(`${text} Regression above ${threshold}%.`);
+      process.exit(1);
+    }
+    log.success(text);
+  }
+}
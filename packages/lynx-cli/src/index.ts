@@ -6,6 +6,8 @@ import { runIos } from "./commands/run-ios.js";
 import { runDoctor } from "./commands/doctor.js";
 import { runPrebuild } from "./commands/prebuild.js";
 import { runDev } from "./commands/dev.js";
+import { runOta } from "./commands/ota.js";
+import { runTrace } from "./commands/trace.js";
 
 const VERSION = "0.2.2";
 
@@ -54,18 +56,22 @@ Commands:
   run ios                Build and launch on iOS simulator (macOS only)
   prebuild               Generate a minimal Android host project from template
   dev                    Start JS dev server and print bundle URLs
+  ota                    Prepare a bundle release with delta patches and a manifest
+  trace                  Cold-start the app and summarize its startup timeline
   doctor                 Check development environment (Node, Java, adb, SDK, devices)
 
 Options for \`link\`:
   --project-root <path>   Root of your host project          [default: cwd]
   --android-dir  <path>   Android directory name             [default: android]
   --java-package <name>   Java package for registry class    [inferred from applicationId]
+  --no-cache              Rescan every package instead of reusing the scan cache
 
 Options for \`run android\`:
   --project-root <path>   Root of your host project          [default: cwd]
   --android-dir  <path>   Android directory name             [default: android]
   --device <serial>       Target specific device serial
   --no-link               Skip auto-running lynx link
+  --no-compress           Copy the offline bundle to assets without gzip
 
 Options for \`run ios\`:
   --project-root <path>   Root of your host project          [default: cwd]
@@ -78,10 +84,30 @@ Options for \`prebuild\`:
   --android-dir <path>    Android directory name             [default: android]
   --project-root <path>   Root of your host project          [default: cwd]
   --force                 Overwrite existing android directory
+  --no-compress           Copy the bundle to assets without gzip
 
 Options for \`dev\`:
   --project-root <path>   Root of your host project          [default: cwd]
   --port <number>         Dev server port                    [default: 3000]
+  --reload-port <number>  Live reload event stream port      [default: port + 1]
+
+Options for \`ota\`:
+  --project-root <path>   Root of your host project          [default: cwd]
+  --bundle <path>         Bundle to release                  [default: dist/main.lynx.bundle]
+  --out <path>            Publish directory                  [default: dist/ota]
+  --keep <number>         Previous releases to patch from    [default: 5]
+
+Options for \`trace\`:
+  --project-root <path>   Root of your host project          [default: cwd]
+  --android-dir <path>    Android directory name             [default: android]
+  --package <id>          applicationId                      [inferred from build.gradle]
+  --device <serial>       Target specific device serial
+  --activity <name>       Activity to cold-start             [default: the launcher activity]
+  --runs <number>         Cold starts to take the median of  [default: 1]
+  --no-launch             Pull the last trace without restarting the app
+  --out <path>            Output directory                   [default: startup-traces]
+  --baseline <file>       summary.json of an earlier release to compare against
+  --threshold <percent>   Fail when first screen regresses more than this [default: 10]
 
 Options for \`doctor\`:
   --android-dir <path>    Android directory to check wrapper [default: android]
@@ -96,6 +122,8 @@ Examples:
   npx @kafitra/lynx-cli run ios --bundle-id com.example.app
   npx @kafitra/lynx-cli prebuild --package com.example.myapp
   npx @kafitra/lynx-cli dev --project-root apps/demo
+  npx @kafitra/lynx-cli ota --out releases
+  npx @kafitra/lynx-cli trace --runs 5 --baseline startup-traces/v1.2.0.json
   npx @kafitra/lynx-cli doctor
 `);
 }
@@ -128,6 +156,7 @@ async function main(): Promise<void> {
         typeof flags["java-package"] === "string"
           ? flags["java-package"]
           : undefined,
+      noCache: flags["no-cache"] === true,
     });
 
     // ── run android / run ios ─────────────────────────────────────────────────
@@ -152,6 +181,7 @@ async function main(): Promise<void> {
             ? flags["java-package"]
             : undefined,
         noLink: flags["no-link"] === true,
+        noCompress: flags["no-compress"] === true,
         device:
           typeof flags["device"] === "string" ? flags["device"] : undefined,
       });
@@ -197,6 +227,7 @@ async function main(): Promise<void> {
           : undefined,
       packageId,
       force: flags["force"] === true,
+      noCompress: flags["no-compress"] === true,
     });
 
     // ── dev ───────────────────────────────────────────────────────────────────
@@ -210,6 +241,55 @@ async function main(): Promise<void> {
         typeof flags["port"] === "string"
           ? parseInt(flags["port"], 10)
           : undefined,
+      reloadPort:
+        typeof flags["reload-port"] === "string"
+          ? parseInt(flags["reload-port"], 10)
+          : undefined,
+    });
+
+    // ── ota ───────────────────────────────────────────────────────────────────
+  } else if (command === "ota") {
+    await runOta({
+      projectRoot:
+        typeof flags["project-root"] === "string"
+          ? flags["project-root"]
+          : undefined,
+      bundle: typeof flags["bundle"] === "string" ? flags["bundle"] : undefined,
+      outDir: typeof flags["out"] === "string" ? flags["out"] : undefined,
+      keep:
+        typeof flags["keep"] === "string"
+          ? parseInt(flags["keep"], 10)
+          : undefined,
+    });
+
+    // ── trace ─────────────────────────────────────────────────────────────────
+  } else if (command === "trace") {
+    await runTrace({
+      projectRoot:
+        typeof flags["project-root"] === "string"
+          ? flags["project-root"]
+          : undefined,
+      androidDir:
+        typeof flags["android-dir"] === "string"
+          ? flags["android-dir"]
+          : undefined,
+      appId: typeof flags["package"] === "string" ? flags["package"] : undefined,
+      device:
+        typeof flags["device"] === "string" ? flags["device"] : undefined,
+      activity:
+        typeof flags["activity"] === "string" ? flags["activity"] : undefined,
+      runs:
+        typeof flags["runs"] === "string"
+          ? parseInt(flags["runs"], 10)
+          : undefined,
+      noLaunch: flags["no-launch"] === true,
+      outDir: typeof flags["out"] === "string" ? flags["out"] : undefined,
+      baseline:
+        typeof flags["baseline"] === "string" ? flags["baseline"] : undefined,
+      threshold:
+        typeof flags["threshold"] === "string"
+          ? parseFloat(flags["threshold"])
+          : undefined,
     });
 
     // ── doctor ────────────────────────────────────────────────────────────────
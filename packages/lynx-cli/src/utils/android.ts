@@ -60,6 +60,38 @@ export function launchActivity(appId: string, deviceSerial?: string): void {
   }
 }
 
+/**
+ * Ask the device which activity launches `appId` (its LAUNCHER intent filter),
+ * e.g. "com.kafitra.demo/.MainActivity". Returns null when the app is not
+ * installed, has no launcher activity, or the device predates
+ * `cmd package resolve-activity` (Android 7).
+ */
+export function resolveLauncherActivity(
+  appId: string,
+  deviceSerial?: string,
+): string | null {
+  const target = deviceSerial ? ["-s", deviceSerial] : [];
+  const result = spawnSync(
+    "adb",
+    [
+      ...target,
+      "shell",
+      "cmd",
+      "package",
+      "resolve-activity",
+      "--brief",
+      "-c",
+      "android.intent.category.LAUNCHER",
+      appId,
+    ],
+    { encoding: "utf8", stdio: "pipe" },
+  );
+  if (result.status !== 0) return null;
+  // --brief prints the match details, then the component on the last line.
+  const component = result.stdout.trim().split("\n").pop()?.trim() ?? "";
+  return component.startsWith(`${appId}/`) ? component : null;
+}
+
 /** Returns list of AVD names from the Android SDK emulator. */
 export function getAvailableAvds(): string[] {
   try {
@@ -0,0 +1,73 @@
+import * as path from "node:path";
+import * as fs from "node:fs";
+import { createGzip, constants as zlib } from "node:zlib";
+import { pipeline } from "node:stream/promises";
+
+/** npm package providing the shared Android template loader. */
+export const LYNX_HOST_PACKAGE = "@kafitra/lynx-host";
+
+/**
+ * Whether `packageName` is resolvable from `projectRoot` — checks every
+ * `node_modules` directory up to the filesystem root (hoisted installs).
+ */
+export function isPackageInstalled(
+  projectRoot: string,
+  packageName: string,
+): boolean {
+  let current = projectRoot;
+  while (true) {
+    if (
+      fs.existsSync(
+        path.join(current, "node_modules", packageName, "package.json"),
+      )
+    ) {
+      return true;
+    }
+    const parent = path.dirname(current);
+    if (parent === current) return false;
+    current = parent;
+  }
+}
+
+export interface BundleCopyResult {
+  /** Size of the source bundle in bytes. */
+  bytes: number;
+  /** Size written to `dest` in bytes (equal to `bytes` when not compressed). */
+  writtenBytes: number;
+  compressed: boolean;
+}
+
+/**
+ * Copy a `.lynx.bundle` into the Android assets, gzip-compressing it when
+ * `compress` is set.
+ *
+ * The file keeps its `.lynx.bundle` name: `@kafitra/lynx-host` detects gzip by
+ * its magic bytes and inflates while streaming into a buffer pre-sized from the
+ * gzip trailer. The app-local provider generated without lynx-host cannot
+ * inflate, so callers only compress when lynx-host is installed.
+ */
+export async function copyBundle(
+  src: string,
+  dest: string,
+  compress: boolean,
+): Promise<BundleCopyResult> {
+  const bytes = fs.statSync(src).size;
+  if (!compress) {
+    fs.copyFileSync(src, dest);
+    return { bytes, writtenBytes: bytes, compressed: false };
+  }
+  await pipeline(
+    fs.createReadStream(src),
+    createGzip({ level: zlib.Z_BEST_COMPRESSION }),
+    fs.createWriteStream(dest),
+  );
+  return { bytes, writtenBytes: fs.statSync(dest).size, compressed: true };
+}
+
+/** Human-readable summary of a copy, e.g. `412.0 KB → 98.3 KB gzip`. */
+export function describeBundleCopy(result: BundleCopyResult): string {
+  const kb = (n: number) => `${(n / 1024).toFixed(1)} KB`;
+  return result.compressed
+    ? `${kb(result.bytes)} → ${kb(result.writtenBytes)} gzip`
+    : kb(result.bytes);
+}
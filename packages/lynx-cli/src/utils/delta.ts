@@ -0,0 +1,186 @@
+import { createHash } from "node:crypto";
+
+/**
+ * Binary delta between two bundles, in the `LXDP` format applied on device by
+ * `com.kafitra.lynxhost.BundlePatch`. All integers are unsigned 32-bit big-endian:
+ *
+ *   "LXDP" | u8 version | u32 base size | u32 target size | ops…
+ *   0x01 COPY   u32 offset, u32 length   — bytes from the base
+ *   0x02 INSERT u32 length, bytes        — literal bytes
+ *   0x00 END
+ */
+
+const MAGIC = Buffer.from("LXDP", "ascii");
+const VERSION = 1;
+const OP_END = 0x00;
+const OP_COPY = 0x01;
+const OP_INSERT = 0x02;
+
+/** Granularity of base indexing; matches shorter than this are sent as literals. */
+const BLOCK = 32;
+const HASH_BASE = 257;
+
+export function sha256Hex(data: Buffer): string {
+  return createHash("sha256").update(data).digest("hex");
+}
+
+function hashBlock(data: Buffer, start: number): number {
+  let h = 0;
+  for (let i = start; i < start + BLOCK; i++) {
+    h = (Math.imul(h, HASH_BASE) + data[i]!) | 0;
+  }
+  return h;
+}
+
+/** HASH_BASE^(BLOCK-1) mod 2^32, to drop the outgoing byte from the rolling hash. */
+const OUT_FACTOR = (() => {
+  let f = 1;
+  for (let i = 0; i < BLOCK - 1; i++) f = Math.imul(f, HASH_BASE);
+  return f;
+})();
+
+class PatchWriter {
+  private readonly chunks: Buffer[] = [];
+
+  constructor(baseSize: number, targetSize: number) {
+    const header = Buffer.alloc(MAGIC.length + 9);
+    MAGIC.copy(header, 0);
+    header.writeUInt8(VERSION, 4);
+    header.writeUInt32BE(baseSize, 5);
+    header.writeUInt32BE(targetSize, 9);
+    this.chunks.push(header);
+  }
+
+  copy(offset: number, length: number): void {
+    const op = Buffer.alloc(9);
+    op.writeUInt8(OP_COPY, 0);
+    op.writeUInt32BE(offset, 1);
+    op.writeUInt32BE(length, 5);
+    this.chunks.push(op);
+  }
+
+  insert(data: Buffer): void {
+    if (data.length === 0) return;
+    const op = Buffer.alloc(5);
+    op.writeUInt8(OP_INSERT, 0);
+    op.writeUInt32BE(data.length, 1);
+    this.chunks.push(op, data);
+  }
+
+  finish(): Buffer {
+    this.chunks.push(Buffer.from([OP_END]));
+    return Buffer.concat(this.chunks);
+  }
+}
+
+/**
+ * Encode `target` as COPY ranges of `base` plus literal inserts. The base is
+ * indexed at block boundaries; a rolling hash over the target finds candidate
+ * blocks, and every match is extended in both directions byte by byte.
+ */
+export function createPatch(base: Buffer, target: Buffer): Buffer {
+  const writer = new PatchWriter(base.length, target.length);
+
+  const index = new Map<number, number>();
+  for (let i = 0; i + BLOCK <= base.length; i += BLOCK) {
+    const h = hashBlock(base, i);
+    if (!index.has(h)) index.set(h, i);
+  }
+
+  let literalStart = 0;
+  let pos = 0;
+  let h = target.length >= BLOCK ? hashBlock(target, 0) : 0;
+  while (pos + BLOCK <= target.length) {
+    const candidate = index.get(h);
+    if (
+      candidate !== undefined &&
+      base.compare(target, pos, pos + BLOCK, candidate, candidate + BLOCK) === 0
+    ) {
+      let from = candidate;
+      let to = pos;
+      while (from > 0 && to > literalStart && base[from - 1] === target[to - 1]) {
+        from--;
+        to--;
+      }
+      let length = pos - to + BLOCK;
+      while (
+        from + length < base.length &&
+        to + length < target.length &&
+        base[from + length] === target[to + length]
+      ) {
+        length++;
+      }
+      writer.insert(target.subarray(literalStart, to));
+      writer.copy(from, length);
+      pos = to + length;
+      literalStart = pos;
+      if (pos + BLOCK <= target.length) h = hashBlock(target, pos);
+      continue;
+    }
+    if (pos + BLOCK < target.length) {
+      h = (Math.imul((h - Math.imul(target[pos]!, OUT_FACTOR)) | 0, HASH_BASE) +
+        target[pos + BLOCK]!) | 0;
+    }
+    pos++;
+  }
+  writer.insert(target.subarray(literalStart));
+  return writer.finish();
+}
+
+/**
+ * Apply a patch made by {@link createPatch} — used to verify a patch
+ * round-trips before it is published. Validates the patch as strictly as
+ * `BundlePatch` does on device: a truncated patch, a different base, or an op
+ * reaching past the base or the declared target all throw.
+ */
+export function applyPatch(base: Buffer, patch: Buffer): Buffer {
+  const HEADER = MAGIC.length + 9;
+  if (patch.length < HEADER) throw new Error("patch truncated in the header");
+  if (patch.compare(MAGIC, 0, MAGIC.length, 0, MAGIC.length) !== 0) {
+    throw new Error("not a bundle patch");
+  }
+  if (patch.readUInt8(4) !== VERSION) throw new Error("unsupported patch version");
+  const baseSize = patch.readUInt32BE(5);
+  if (baseSize !== base.length) {
+    throw new Error(`patch expects a ${baseSize} byte base, got ${base.length}`);
+  }
+  const target = Buffer.alloc(patch.readUInt32BE(9));
+  let p = HEADER;
+  let out = 0;
+  const need = (bytes: number): void => {
+    if (p + bytes > patch.length) throw new Error(`patch truncated at byte ${out}`);
+  };
+  const checkLength = (length: number): void => {
+    if (length > target.length - out) throw new Error(`op overruns the target at byte ${out}`);
+  };
+  for (;;) {
+    need(1);
+    const op = patch.readUInt8(p++);
+    if (op === OP_END) break;
+    if (op === OP_COPY) {
+      need(8);
+      const offset = patch.readUInt32BE(p);
+      const length = patch.readUInt32BE(p + 4);
+      p += 8;
+      checkLength(length);
+      if (offset + length > base.length) {
+        throw new Error(`copy past the end of the base at byte ${out}`);
+      }
+      out += base.copy(target, out, offset, offset + length);
+    } else if (op === OP_INSERT) {
+      need(4);
+      const length = patch.readUInt32BE(p);
+      p += 4;
+      checkLength(length);
+      need(length);
+      out += patch.copy(target, out, p, p + length);
+      p += length;
+    } else {
+      throw new Error(`unknown patch op 0x${op.toString(16)}`);
+    }
+  }
+  if (out !== target.length) {
+    throw new Error(`patch produced ${out} of ${target.length} bytes`);
+  }
+  return target;
+}
@@ -0,0 +1,267 @@
+import * as http from "node:http";
+import * as fs from "node:fs";
+import * as path from "node:path";
+import * as log from "./logger.js";
+import { createPatch, sha256Hex } from "./delta.js";
+
+export interface ReloadServerOptions {
+  /** Port to serve the event stream on */
+  port: number;
+  /** Bundle served by the dev server, e.g. http://localhost:3000/main.lynx.bundle */
+  bundleUrl: string;
+  /** Directories whose changes trigger a rebuild (usually `src`) */
+  watchDirs: string[];
+}
+
+export interface ReloadServer {
+  close(): void;
+}
+
+/** After a source change, how often and how long to wait for the rebuilt bundle. */
+const PROBE_INTERVAL_MS = 100;
+const PROBE_TIMEOUT_MS = 15_000;
+/** Coalesces the burst of fs events a single save produces. */
+const WATCH_DEBOUNCE_MS = 50;
+/** Previous builds kept in memory to patch from. */
+const HISTORY_SIZE = 5;
+/**
+ * How often an idle event stream gets a comment line, so `DevReloadClient` can
+ * tell a quiet connection from a dead one (its read timeout is ~2.5× this).
+ */
+const KEEPALIVE_INTERVAL_MS = 15_000;
+
+interface BundleVersion {
+  etag: string;
+  sha256: string;
+  data: Buffer;
+}
+
+/** HEAD the bundle and return its ETag, or `null` if the dev server is not answering. */
+export function probeEtag(bundleUrl: string): Promise<string | null> {
+  return new Promise((resolve) => {
+    const req = http.request(bundleUrl, { method: "HEAD", timeout: 1000 }, (res) => {
+      res.resume();
+      const etag = res.headers.etag;
+      resolve(res.statusCode === 200 && typeof etag === "string" ? etag : null);
+    });
+    req.on("timeout", () => req.destroy());
+    req.on("error", () => resolve(null));
+    req.end();
+  });
+}
+
+/** GET the bundle over loopback, or `null` if the dev server is not answering. */
+function fetchBundle(bundleUrl: string): Promise<BundleVersion | null> {
+  return new Promise((resolve) => {
+    const req = http.get(bundleUrl, { timeout: 5000 }, (res) => {
+      const etag = res.headers.etag;
+      if (res.statusCode !== 200 || typeof etag !== "string") {
+        res.resume();
+        resolve(null);
+        return;
+      }
+      const chunks: Buffer[] = [];
+      res.on("data", (chunk: Buffer) => chunks.push(chunk));
+      res.on("end", () => {
+        const data = Buffer.concat(chunks);
+        resolve({ etag, sha256: sha256Hex(data), data });
+      });
+      res.on("error", () => resolve(null));
+    });
+    req.on("timeout", () => req.destroy());
+    req.on("error", () => resolve(null));
+  });
+}
+
+/**
+ * Live reload endpoint for `DevReloadClient` in `@kafitra/lynx-host`.
+ *
+ * - `GET /events` — Server-Sent Events. Each client receives `hello` with the
+ *   current version on connect and `bundle-changed` after every rebuild whose
+ *   output differs (by SHA-256). In between, a `:keepalive` comment every 15 s
+ *   lets clients detect a half-open connection.
+ * - `GET /<bundle>.manifest.json` — update manifest for the current build,
+ *   listing a patch from each of the last few builds.
+ * - `GET /patches/<sha256>.patch` — patch from that build to the current one.
+ *
+ * Changes are detected on this machine: a source file change starts a short
+ * loopback probe of the bundle's ETag, which ends as soon as the rebuilt
+ * bundle is served. A reload then downloads only the patch, not the bundle.
+ */
+export function startReloadServer(opts: ReloadServerOptions): ReloadServer {
+  const clients = new Set<http.ServerResponse>();
+  const bundleName = path.posix.basename(new URL(opts.bundleUrl).pathname);
+  /** Current build last; older builds before it. */
+  const history: BundleVersion[] = [];
+  /** Patches from `<sha256>` to the current build. Cleared on every rebuild. */
+  const patches = new Map<string, Buffer>();
+  /** Build last announced with `bundle-changed` (or current at startup). */
+  let announced: string | undefined;
+  let probing = false;
+  let pendingChange = false;
+
+  const current = (): BundleVersion | undefined => history[history.length - 1];
+
+  const send = (res: http.ServerResponse, event: string) => {
+    const version = current();
+    res.write(
+      `event: ${event}\ndata: ${JSON.stringify({ etag: version?.etag, sha256: version?.sha256 })}\n\n`,
+    );
+  };
+
+  /** Fetch the served bundle and make it the current build. */
+  const refresh = async (): Promise<void> => {
+    const fetched = await fetchBundle(opts.bundleUrl);
+    if (!fetched) return;
+    const latest = current();
+    if (latest && latest.sha256 === fetched.sha256) {
+      latest.etag = fetched.etag;
+      return;
+    }
+    const index = history.findIndex((v) => v.sha256 === fetched.sha256);
+    if (index !== -1) history.splice(index, 1);
+    history.push(fetched);
+    if (history.length > HISTORY_SIZE + 1) history.shift();
+    patches.clear();
+  };
+
+  /** Make sure `current()` is what the dev server serves right now. */
+  const ensureCurrent = async () => {
+    const etag = await probeEtag(opts.bundleUrl);
+    if (etag !== null && etag !== current()?.etag) await refresh();
+  };
+
+  const serveManifest = (res: http.ServerResponse) => {
+    const latest = current();
+    if (!latest) {
+      res.writeHead(404).end();
+      return;
+    }
+    const manifest = {
+      version: 1,
+      sha256: latest.sha256,
+      size: latest.data.length,
+      patches: history
+        .slice(0, -1)
+        .map((v) => ({ from: v.sha256, url: `patches/${v.sha256}.patch` })),
+    };
+    res.writeHead(200, { "Content-Type": "application/json", "Cache-Control": "no-cache" });
+    res.end(JSON.stringify(manifest));
+  };
+
+  const servePatch = (res: http.ServerResponse, from: string) => {
+    const latest = current();
+    const base = history.find((v) => v.sha256 === from);
+    if (!latest || !base || base === latest) {
+      res.writeHead(404).end();
+      return;
+    }
+    let patch = patches.get(from);
+    if (!patch) {
+      patch = createPatch(base.data, latest.data);
+      patches.set(from, patch);
+    }
+    res.writeHead(200, { "Content-Type": "application/octet-stream" });
+    res.end(patch);
+  };
+
+  const server = http.createServer((req, res) => {
+    const url = req.url?.split("?")[0] ?? "";
+    if (req.method !== "GET") {
+      res.writeHead(405).end();
+      return;
+    }
+    if (url === "/events") {
+      res.writeHead(200, {
+        "Content-Type": "text/event-stream",
+        "Cache-Control": "no-cache",
+        Connection: "keep-alive",
+      });
+      clients.add(res);
+      req.on("close", () => clients.delete(res));
+      void (async () => {
+        // Late joiners may connect before the first build has been fetched.
+        if (!current()) await refresh();
+        if (clients.has(res)) send(res, "hello");
+      })();
+    } else if (url === `/${bundleName}.manifest.json`) {
+      // A rebuild may have landed since the last probe.
+      void ensureCurrent().then(() => serveManifest(res));
+    } else if (url.startsWith("/patches/") && url.endsWith(".patch")) {
+      servePatch(res, url.slice("/patches/".length, -".patch".length));
+    } else {
+      res.writeHead(404).end();
+    }
+  });
+
+  /** Wait for the bundle's ETag to change, then notify every client if its content did. */
+  const probeForChange = async () => {
+    if (probing) {
+      pendingChange = true;
+      return;
+    }
+    probing = true;
+    try {
+      do {
+        pendingChange = false;
+        const deadline = Date.now() + PROBE_TIMEOUT_MS;
+        while (Date.now() < deadline) {
+          const etag = await probeEtag(opts.bundleUrl);
+          if (etag !== null && etag !== current()?.etag) {
+            await refresh();
+            const latest = current();
+            // An identical rebuild (same content, new ETag) does not reload the app.
+            if (latest && latest.sha256 !== announced) {
+              announced = latest.sha256;
+              for (const client of clients) send(client, "bundle-changed");
+            }
+            break;
+          }
+          await new Promise((r) => setTimeout(r, PROBE_INTERVAL_MS));
+        }
+      } while (pendingChange);
+    } finally {
+      probing = false;
+    }
+  };
+
+  const keepalive = setInterval(() => {
+    for (const client of clients) client.write(":keepalive\n\n");
+  }, KEEPALIVE_INTERVAL_MS);
+  keepalive.unref();
+
+  let debounce: NodeJS.Timeout | undefined;
+  const onChange = () => {
+    clearTimeout(debounce);
+    debounce = setTimeout(() => void probeForChange(), WATCH_DEBOUNCE_MS);
+  };
+
+  const watchers: fs.FSWatcher[] = [];
+  for (const dir of opts.watchDirs) {
+    if (!fs.existsSync(dir)) continue;
+    try {
+      watchers.push(fs.watch(dir, { recursive: true }, onChange));
+    } catch {
+      // Recursive watching needs Node 20 on Linux — fall back to the top level.
+      watchers.push(fs.watch(dir, onChange));
+    }
+  }
+
+  server.on("error", (err: Error) => {
+    log.warn(`Live reload unavailable on port ${opts.port}: ${err.message}`);
+  });
+  server.listen(opts.port);
+  void refresh().then(() => {
+    announced ??= current()?.sha256;
+  });
+
+  return {
+    close() {
+      clearTimeout(debounce);
+      clearInterval(keepalive);
+      for (const watcher of watchers) watcher.close();
+      for (const client of clients) client.end();
+      server.close();
+    },
+  };
+}
@@ -1,6 +1,4 @@
 import { spawn, execSync } from "node:child_process";
-import * as fs from "node:fs";
-import * as path from "node:path";
 import * as net from "node:net";
 
 /**
@@ -27,22 +25,18 @@ export function isPortInUse(port: number): Promise<boolean> {
   });
 }
 
-/** Detect the package manager used in a directory. */
-function detectPm(dir: string): string {
-  if (fs.existsSync(path.join(dir, "pnpm-lock.yaml"))) return "pnpm";
-  if (fs.existsSync(path.join(dir, "yarn.lock"))) return "yarn";
-  return "npm";
-}
-
 /**
- * Open a new terminal window running the dev server.
+ * Open a new terminal window running `lynx dev` — the project's dev server
+ * plus the live reload event stream on `port + 1`.
  * - Windows: tries Windows Terminal (`wt`), falls back to `start cmd /k`
  * - macOS:   uses `open -a Terminal` with an AppleScript inline command
  * - Linux:   tries common emulators in order
  */
 export function openDevServerTerminal(projectRoot: string, port = 3000): void {
-  const pm = detectPm(projectRoot);
-  const cmd = `${pm} run dev`;
+  // Re-invoke this CLI so the new terminal runs the same version.
+  const quote = (s: string) =>
+    process.platform === "win32" ? `"${s}"` : `'${s}'`;
+  const cmd = `${quote(process.execPath)} ${quote(process.argv[1]!)} dev --port ${port}`;
 
   if (process.platform === "win32") {
     _openWindows(projectRoot, cmd);
@@ -123,8 +117,7 @@ function _openLinux(cwd: string, cmd: string): void {
   }
 
   // Last resort: background process (no new window)
-  const [prog, ...rest] = cmd.split(" ");
-  spawn(prog!, rest, { cwd, detached: true, stdio: "ignore" }).unref();
+  spawn("sh", ["-c", cmd], { cwd, detached: true, stdio: "ignore" }).unref();
 }
 
 // ── Helper ────────────────────────────────────────────────────────────────────
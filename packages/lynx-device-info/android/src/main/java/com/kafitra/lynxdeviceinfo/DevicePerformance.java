@@ -0,0 +1,156 @@
+package com.kafitra.lynxdeviceinfo;
+
+import android.app.ActivityManager;
+import android.content.Context;
+import android.hardware.display.DisplayManager;
+import android.os.Build;
+import android.view.Display;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileFilter;
+import java.io.FileReader;
+import java.io.IOException;
+import java.util.regex.Pattern;
+
+/**
+ * DevicePerformance — hardware capabilities and the performance tier derived from them.
+ *
+ * Computed once per process on first use; none of the inputs change while
+ * the process runs. Every value falls back to -1 (or {@code false}) when the
+ * platform does not report it.
+ *
+ * <h3>Tier</h3>
+ * <ul>
+ *   <li><b>high</b> — the device declares media performance class S (Android 12) or
+ *       later, or has 6 GB of RAM or more, 8 cores and a 2.4 GHz core.</li>
+ *   <li><b>low</b> — the device is flagged as low-RAM, or has under 3 GB of RAM,
+ *       4 cores or fewer, or no core above 1.6 GHz.</li>
+ *   <li><b>mid</b> — everything else.</li>
+ * </ul>
+ *
+ * <p>RAM sizes above are the marketed ones. {@code MemoryInfo.totalMem} excludes memory the
+ * kernel and firmware reserve, so a 6 GB phone reports about 5.3–5.7 GiB and a 3 GB phone
+ * about 2.6–2.8 GiB. The cut-offs are therefore 5 GiB and 2.5 GiB of reported memory, halfway
+ * into the gap below each marketed size.
+ */
+final class DevicePerformance {
+
+    static final String TIER_LOW = "low";
+    static final String TIER_MID = "mid";
+    static final String TIER_HIGH = "high";
+
+    private static final long GB = 1024L * 1024 * 1024;
+    /** Reported memory of a phone sold with 3 GB, at the least; see the class comment. */
+    private static final long RAM_3GB_REPORTED = 5 * GB / 2;
+    /** Reported memory of a phone sold with 6 GB, at the least. */
+    private static final long RAM_6GB_REPORTED = 5 * GB;
+    private static final Pattern CPU_DIR = Pattern.compile("cpu[0-9]+");
+
+    private static volatile DevicePerformance sInstance;
+
+    final int cpuCores;
+    /** Highest maximum frequency over all cores, in MHz. */
+    final int cpuMaxFreqMHz;
+    final long totalRamBytes;
+    /** Per-app Java heap limit, in MB ({@link ActivityManager#getMemoryClass()}). */
+    final int memoryClassMB;
+    final boolean isLowRamDevice;
+    /** {@code Build.VERSION.MEDIA_PERFORMANCE_CLASS}; 0 if undeclared or before Android 12. */
+    final int mediaPerformanceClass;
+    final float refreshRate;
+    final String tier;
+
+    private DevicePerformance(Context context) {
+        cpuCores = readCpuCores();
+        cpuMaxFreqMHz = readCpuMaxFreqMHz(cpuCores);
+
+        long totalRam = -1;
+        int memoryClass = -1;
+        boolean lowRam = false;
+        ActivityManager am = (ActivityManager) context.getSystemService(Context.ACTIVITY_SERVICE);
+        if (am != null) {
+            ActivityManager.MemoryInfo info = new ActivityManager.MemoryInfo();
+            am.getMemoryInfo(info);
+            totalRam = info.totalMem;
+            memoryClass = am.getMemoryClass();
+            lowRam = am.isLowRamDevice();
+        }
+        totalRamBytes = totalRam;
+        memoryClassMB = memoryClass;
+        isLowRamDevice = lowRam;
+
+        mediaPerformanceClass = Build.VERSION.SDK_INT >= Build.VERSION_CODES.S
+                ? Build.VERSION.MEDIA_PERFORMANCE_CLASS
+                : 0;
+        refreshRate = readRefreshRate(context);
+        tier = computeTier();
+    }
+
+    /** The shared instance, computed on the first call. */
+    static DevicePerformance get(Context context) {
+        DevicePerformance instance = sInstance;
+        if (instance == null) {
+            synchronized (DevicePerformance.class) {
+                instance = sInstance;
+                if (instance == null) {
+                    instance = new DevicePerformance(context.getApplicationContext());
+                    sInstance = instance;
+                }
+            }
+        }
+        return instance;
+    }
+
+    private String computeTier() {
+        if (mediaPerformanceClass >= Build.VERSION_CODES.S) return TIER_HIGH;
+        if (isLowRamDevice
+                || (totalRamBytes > 0 && totalRamBytes < RAM_3GB_REPORTED)
+                || cpuCores <= 4
+                || (cpuMaxFreqMHz > 0 && cpuMaxFreqMHz < 1600)) {
+            return TIER_LOW;
+        }
+        if (totalRamBytes >= RAM_6GB_REPORTED && cpuCores >= 8 && cpuMaxFreqMHz >= 2400) return TIER_HIGH;
+        return TIER_MID;
+    }
+
+    /**
+     * Counts {@code /sys/devices/system/cpu/cpuN}. Unlike
+     * {@link Runtime#availableProcessors()} this includes cores that are
+     * currently offline to save power.
+     */
+    private static int readCpuCores() {
+        int available = Runtime.getRuntime().availableProcessors();
+        try {
+            File[] dirs = new File("/sys/devices/system/cpu/").listFiles(new FileFilter() {
+                @Override
+                public boolean accept(File file) {
+                    return CPU_DIR.matcher(file.getName()).matches();
+                }
+            });
+            return dirs != null ? Math.max(dirs.length, available) : available;
+        } catch (SecurityException e) {
+            return available;
+        }
+    }
+
+    private static int readCpuMaxFreqMHz(int cores) {
+        long maxKHz = -1;
+        for (int i = 0; i < cores; i++) {
+            String path = "/sys/devices/system/cpu/cpu" + i + "/cpufreq/cpuinfo_max_freq";
+            try (BufferedReader reader = new BufferedReader(new FileReader(path))) {
+                String line = reader.readLine();
+                if (line != null) maxKHz = Math.max(maxKHz, Long.parseLong(line.trim()));
+            } catch (IOException | NumberFormatException | SecurityException e) {
+                // Offline core or restricted sysfs; the other cores still count.
+            }
+        }
+        return maxKHz > 0 ? (int) (maxKHz / 1000) : -1;
+    }
+
+    private static float readRefreshRate(Context context) {
+        DisplayManager dm = (DisplayManager) context.getSystemService(Context.DISPLAY_SERVICE);
+        Display display = dm != null ? dm.getDisplay(Display.DEFAULT_DISPLAY) : null;
+        return display != null ? display.getRefreshRate() : -1;
+    }
+}
@@ -2,15 +2,26 @@ package com.kafitra.lynxdeviceinfo;
 
 import android.content.Context;
 import android.os.Build;
+import android.util.Log;
 
+import com.kafitra.lynxscheduler.LynxScheduler;
+import com.kafitra.lynxscheduler.Priority;
 import com.lynx.jsbridge.LynxModule;
 import com.lynx.jsbridge.LynxMethod;
+import com.lynx.react.bridge.JavaOnlyArray;
+import com.lynx.react.bridge.JavaOnlyMap;
+import com.lynx.react.bridge.ReadableMap;
+import com.lynx.tasm.behavior.LynxContext;
 
 /**
  * LynxDeviceInfoModule — Lynx Native Module for Android device information.
  *
  * Provides synchronous access to device brand, model, and SDK version
- * through the Lynx Native Module system.
+ * through the Lynx Native Module system. {@link #getAll()} returns every
+ * value in a single bridge call; {@link #getPerformanceClass()} reports the
+ * hardware capabilities and a low/mid/high tier for adaptive rendering;
+ * {@link #startTelemetry(ReadableMap)} streams runtime health samples (see
+ * {@link TelemetrySampler}) to JS as {@value #TELEMETRY_EVENT} global events.
  *
  * <h3>Registration:</h3>
  * <pre>
@@ -19,8 +30,55 @@ import com.lynx.jsbridge.LynxMethod;
  */
 public class LynxDeviceInfoModule extends LynxModule {
 
+    /** Global event carrying one batch of telemetry samples. */
+    public static final String TELEMETRY_EVENT = "lynxDeviceInfoTelemetry";
+
+    private static final String TAG = "LynxDeviceInfo";
+    private static final int DEFAULT_INTERVAL_MS = 1000;
+    private static final int MIN_INTERVAL_MS = 100;
+    private static final int DEFAULT_BATCH_SIZE = 5;
+
+    /** Built on the first {@link #getAll()}; none of the values change while the process runs. */
+    private static volatile JavaOnlyMap sSnapshot;
+
+    /** Built on the first {@link #getPerformanceClass()}. */
+    private static volatile JavaOnlyMap sPerformanceClass;
+
+    private final Context mContext;
+    /** Running sampler; null while no one is subscribed. */
+    private TelemetrySampler mTelemetry;
+
     public LynxDeviceInfoModule(Context context) {
         super(context);
+        mContext = context;
+        // Reads sysfs; warm it off the JS thread so getPerformanceClass() rarely waits for it.
+        LynxScheduler.background().submit(() -> DevicePerformance.get(mContext), Priority.LOW);
+    }
+
+    /**
+     * Returns every value of this module in one map, so JS needs a single
+     * bridge call instead of seven. Computed once per process and shared;
+     * callers must not modify it.
+     *
+     * @return Map with keys brand, model, sdkVersion, manufacturer,
+     *         deviceId, systemName and systemVersion
+     */
+    @LynxMethod
+    public ReadableMap getAll() {
+        JavaOnlyMap snapshot = sSnapshot;
+        if (snapshot == null) {
+            snapshot = new JavaOnlyMap();
+            snapshot.putString("brand", getBrand());
+            snapshot.putString("model", getModel());
+            snapshot.putInt("sdkVersion", getSDKVersion());
+            snapshot.putString("manufacturer", getManufacturer());
+            snapshot.putString("deviceId", getDeviceId());
+            snapshot.putString("systemName", getSystemName());
+            snapshot.putString("systemVersion", getSystemVersion());
+            // Racing first calls build equal maps; keeping either one is fine.
+            sSnapshot = snapshot;
+        }
+        return snapshot;
     }
 
     /**
@@ -119,4 +177,89 @@ public class LynxDeviceInfoModule extends LynxModule {
             return "unknown";
         }
     }
+
+    /**
+     * Returns the hardware capabilities and the performance tier derived from
+     * them (see {@link DevicePerformance}). Computed once per process and
+     * shared; callers must not modify it.
+     *
+     * @return Map with keys tier ("low", "mid" or "high"), cpuCores,
+     *         cpuMaxFreqMHz, totalRamMB, memoryClassMB, isLowRamDevice,
+     *         mediaPerformanceClass and refreshRate; unknown numbers are -1
+     */
+    @LynxMethod
+    public ReadableMap getPerformanceClass() {
+        JavaOnlyMap result = sPerformanceClass;
+        if (result == null) {
+            DevicePerformance perf = DevicePerformance.get(mContext);
+            result = new JavaOnlyMap();
+            result.putString("tier", perf.tier);
+            result.putInt("cpuCores", perf.cpuCores);
+            result.putInt("cpuMaxFreqMHz", perf.cpuMaxFreqMHz);
+            result.putInt("totalRamMB",
+                    perf.totalRamBytes > 0 ? (int) (perf.totalRamBytes / (1024 * 1024)) : -1);
+            result.putInt("memoryClassMB", perf.memoryClassMB);
+            result.putBoolean("isLowRamDevice", perf.isLowRamDevice);
+            result.putInt("mediaPerformanceClass", perf.mediaPerformanceClass);
+            result.putDouble("refreshRate", perf.refreshRate);
+            sPerformanceClass = result;
+        }
+        return result;
+    }
+
+    /**
+     * Starts sampling runtime health and sending it to JS in batches as
+     * {@value #TELEMETRY_EVENT} global events. The JS wrapper calls this when
+     * the first listener subscribes; until then nothing is sampled.
+     * Does nothing if telemetry is already running.
+     *
+     * @param options intervalMs (default 1000, at least 100), batchSize
+     *                (default 5) and frames (default true), all optional
+     * @return false if this module has no Lynx view to send events to
+     */
+    @LynxMethod
+    public synchronized boolean startTelemetry(ReadableMap options) {
+        if (mTelemetry != null) return true;
+        if (!(mContext instanceof LynxContext)) {
+            Log.w(TAG, "telemetry needs a LynxContext to send events, got " + mContext);
+            return false;
+        }
+        final LynxContext lynxContext = (LynxContext) mContext;
+        int intervalMs = DEFAULT_INTERVAL_MS;
+        int batchSize = DEFAULT_BATCH_SIZE;
+        boolean frames = true;
+        if (options != null) {
+            if (options.hasKey("intervalMs")) {
+                intervalMs = Math.max(MIN_INTERVAL_MS, options.getInt("intervalMs"));
+            }
+            if (options.hasKey("batchSize")) batchSize = Math.max(1, options.getInt("batchSize"));
+            if (options.hasKey("frames")) frames = options.getBoolean("frames");
+        }
+        mTelemetry = new TelemetrySampler(mContext, new TelemetrySampler.Sink() {
+            @Override
+            public void onBatch(JavaOnlyArray samples) {
+                JavaOnlyArray params = new JavaOnlyArray();
+                params.pushArray(samples);
+                lynxContext.sendGlobalEvent(TELEMETRY_EVENT, params);
+            }
+        }, intervalMs, batchSize, frames);
+        mTelemetry.start();
+        return true;
+    }
+
+    /**
+     * Stops telemetry after sending the samples not yet delivered. The JS
+     * wrapper calls this when the last listener unsubscribes.
+     */
+    @LynxMethod
+    public synchronized void stopTelemetry() {
+        if (mTelemetry == null) return;
+        mTelemetry.stop();
+        mTelemetry = null;
+    }
+
+    /** Called by Lynx when the owning view is destroyed. */
+    public void destroy() {
+        stopTelemetry();
+    }
 }
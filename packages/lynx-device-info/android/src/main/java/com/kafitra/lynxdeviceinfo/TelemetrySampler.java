@@ -0,0 +1,244 @@
+package com.kafitra.lynxdeviceinfo;
+
+import android.content.Context;
+import android.os.Build;
+import android.os.Debug;
+import android.os.Handler;
+import android.os.Looper;
+import android.os.PowerManager;
+import android.view.Choreographer;
+
+import com.kafitra.lynxscheduler.LynxScheduler;
+import com.kafitra.lynxscheduler.Priority;
+import com.kafitra.lynxscheduler.Task;
+import com.lynx.react.bridge.JavaOnlyArray;
+import com.lynx.react.bridge.JavaOnlyMap;
+
+import java.util.Arrays;
+
+/**
+ * TelemetrySampler — samples runtime health at a fixed interval and hands the
+ * samples over in batches.
+ *
+ * Each sample holds Java and native heap usage, the {@link PowerManager}
+ * thermal status, battery saver state and, optionally, frame timing for the
+ * interval: the frame count, frames dropped and the 50th/90th/99th percentile
+ * frame duration.
+ *
+ * Frame timing comes from a {@link Choreographer.FrameCallback} on the main
+ * thread, which sees every vsync of the process regardless of window. A frame
+ * that took longer than one refresh interval counts the missed vsyncs as
+ * dropped. Everything else is sampled on the shared {@code LynxScheduler}
+ * background thread. Nothing runs between {@link #stop()} and the next
+ * {@link #start()}.
+ */
+final class TelemetrySampler {
+
+    /** Receives each full batch on the scheduler's background thread. */
+    interface Sink {
+        void onBatch(JavaOnlyArray samples);
+    }
+
+    private static final double MB = 1024.0 * 1024.0;
+    /** Frame durations kept per interval; later frames still count, but not in percentiles. */
+    private static final int MAX_FRAMES = 1024;
+
+    private final PowerManager mPowerManager;
+    private final Sink mSink;
+    private final long mIntervalMs;
+    private final int mBatchSize;
+    private final FrameStats mFrames;
+
+    /** The current run; null while stopped. */
+    private Run mRun;
+
+    /**
+     * @param intervalMs  Time between samples
+     * @param batchSize   Samples per batch handed to {@code sink}
+     * @param trackFrames Whether to record frame timing; costs one main-thread callback per vsync
+     */
+    TelemetrySampler(Context context, Sink sink, long intervalMs, int batchSize,
+                     boolean trackFrames) {
+        mPowerManager = (PowerManager) context.getSystemService(Context.POWER_SERVICE);
+        mSink = sink;
+        mIntervalMs = intervalMs;
+        mBatchSize = batchSize;
+        mFrames = trackFrames
+                ? new FrameStats(DevicePerformance.get(context).refreshRate)
+                : null;
+    }
+
+    void start() {
+        if (mRun != null) return;
+        mRun = new Run();
+        if (mFrames != null) mFrames.start();
+    }
+
+    /** Stops sampling and hands over the partial batch, if any. */
+    void stop() {
+        if (mRun == null) return;
+        if (mFrames != null) mFrames.stop();
+        mRun.finish();
+        mRun = null;
+    }
+
+    /**
+     * One start–stop cycle with its own batch, so a run that is still flushing never shares
+     * state with the next one. Samples are scheduled one at a time on the shared background
+     * thread; the lock keeps a sample and the final flush from overlapping.
+     */
+    private final class Run implements Runnable {
+        private JavaOnlyArray mBatch = new JavaOnlyArray();
+        /** The next sample; guarded by this. */
+        private Task mNext;
+        private boolean mFinished;
+
+        Run() {
+            scheduleNext();
+        }
+
+        @Override
+        public synchronized void run() {
+            if (mFinished) return;
+            mBatch.pushMap(sample());
+            if (mBatch.size() >= mBatchSize) flush();
+            scheduleNext();
+        }
+
+        synchronized void finish() {
+            mFinished = true;
+            mNext.cancel();
+            LynxScheduler.background().submit(() -> {
+                synchronized (Run.this) {
+                    if (mBatch.size() > 0) flush();
+                }
+            }, Priority.LOW);
+        }
+
+        private void scheduleNext() {
+            mNext = LynxScheduler.background().schedule(this, mIntervalMs, Priority.LOW);
+        }
+
+        private void flush() {
+            JavaOnlyArray batch = mBatch;
+            mBatch = new JavaOnlyArray();
+            mSink.onBatch(batch);
+        }
+    }
+
+    private JavaOnlyMap sample() {
+        Runtime runtime = Runtime.getRuntime();
+        JavaOnlyMap sample = new JavaOnlyMap();
+        sample.putDouble("timestamp", System.currentTimeMillis());
+        sample.putDouble("javaHeapUsedMB", (runtime.totalMemory() - runtime.freeMemory()) / MB);
+        sample.putDouble("javaHeapMaxMB", runtime.maxMemory() / MB);
+        sample.putDouble("nativeHeapUsedMB", Debug.getNativeHeapAllocatedSize() / MB);
+
+        int thermalStatus = -1;
+        boolean powerSave = false;
+        if (mPowerManager != null) {
+            if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.Q) {
+                thermalStatus = mPowerManager.getCurrentThermalStatus();
+            }
+            powerSave = mPowerManager.isPowerSaveMode();
+        }
+        sample.putInt("thermalStatus", thermalStatus);
+        sample.putBoolean("powerSaveMode", powerSave);
+
+        if (mFrames != null) mFrames.drainInto(sample);
+        return sample;
+    }
+
+    /**
+     * Frame durations between two samples. Written on the main thread, drained
+     * on the sampling thread; the two buffers are swapped under the lock so
+     * neither side allocates per frame.
+     */
+    private static final class FrameStats implements Choreographer.FrameCallback {
+        private final Handler mMainHandler = new Handler(Looper.getMainLooper());
+        private final long mFrameIntervalNanos;
+
+        private long[] mDurations = new long[MAX_FRAMES];
+        private long[] mDraining = new long[MAX_FRAMES];
+        private int mCount;
+        private int mFrameCount;
+        private int mDropped;
+
+        // Main thread only
+        private boolean mRunning;
+        private long mLastFrameNanos;
+
+        FrameStats(float refreshRate) {
+            mFrameIntervalNanos = (long) (1_000_000_000L / (refreshRate > 0 ? refreshRate : 60f));
+        }
+
+        void start() {
+            mMainHandler.post(new Runnable() {
+                @Override
+                public void run() {
+                    if (mRunning) return;
+                    mRunning = true;
+                    mLastFrameNanos = 0;
+                    Choreographer.getInstance().postFrameCallback(FrameStats.this);
+                }
+            });
+        }
+
+        void stop() {
+            mMainHandler.post(new Runnable() {
+                @Override
+                public void run() {
+                    mRunning = false;
+                    Choreographer.getInstance().removeFrameCallback(FrameStats.this);
+                }
+            });
+        }
+
+        @Override
+        public void doFrame(long frameTimeNanos) {
+            if (!mRunning) return;
+            if (mLastFrameNanos != 0) {
+                long duration = frameTimeNanos - mLastFrameNanos;
+                long missed = Math.round((double) duration / mFrameIntervalNanos) - 1;
+                synchronized (this) {
+                    if (mCount < mDurations.length) mDurations[mCount++] = duration;
+                    mFrameCount++;
+                    if (missed > 0) mDropped += (int) missed;
+                }
+            }
+            mLastFrameNanos = frameTimeNanos;
+            Choreographer.getInstance().postFrameCallback(this);
+        }
+
+        void drainInto(JavaOnlyMap sample) {
+            long[] durations;
+            int count;
+            int frames;
+            int dropped;
+            synchronized (this) {
+                durations = mDurations;
+                count = mCount;
+                frames = mFrameCount;
+                dropped = mDropped;
+                mDurations = mDraining;
+                mDraining = durations;
+                mCount = 0;
+                mFrameCount = 0;
+                mDropped = 0;
+            }
+            Arrays.sort(durations, 0, count);
+            sample.putInt("frames", frames);
+            sample.putInt("droppedFrames", dropped);
+            sample.putDouble("frameP50Ms", percentileMs(durations, count, 0.50));
+            sample.putDouble("frameP90Ms", percentileMs(durations, count, 0.90));
+            sample.putDouble("frameP99Ms", percentileMs(durations, count, 0.99));
+        }
+
+        /** Nearest-rank percentile of the first {@code count} sorted values; 0 if there are none. */
+        private static double percentileMs(long[] sorted, int count, double p) {
+            if (count == 0) return 0;
+            int rank = (int) Math.ceil(p * count) - 1;
+            return sorted[Math.max(0, Math.min(count - 1, rank))] / 1_000_000.0;
+        }
+    }
+}
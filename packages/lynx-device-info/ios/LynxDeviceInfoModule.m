@@ -24,6 +24,10 @@
         @"getDeviceId":     NSStringFromSelector(@selector(getDeviceId)),
         @"getSystemName":   NSStringFromSelector(@selector(getSystemName)),
         @"getSystemVersion":NSStringFromSelector(@selector(getSystemVersion)),
+        @"getAll":          NSStringFromSelector(@selector(getAll)),
+        @"getPerformanceClass": NSStringFromSelector(@selector(getPerformanceClass)),
+        @"startTelemetry":  NSStringFromSelector(@selector(startTelemetry:)),
+        @"stopTelemetry":   NSStringFromSelector(@selector(stopTelemetry)),
     };
 }
 
@@ -93,4 +97,70 @@
     return (version.length > 0) ? version : @"unknown";
 }
 
+/**
+ * Returns every value above in one dictionary, so JS needs a single bridge
+ * call. Built once per process: none of the values change while it runs.
+ */
+- (NSDictionary<NSString *, id> *)getAll {
+    static NSDictionary<NSString *, id> *snapshot;
+    static dispatch_once_t onceToken;
+    dispatch_once(&onceToken, ^{
+        snapshot = @{
+            @"brand":         [self getBrand],
+            @"model":         [self getModel],
+            @"sdkVersion":    @([self getSDKVersion]),
+            @"manufacturer":  [self getManufacturer],
+            @"deviceId":      [self getDeviceId],
+            @"systemName":    [self getSystemName],
+            @"systemVersion": [self getSystemVersion],
+        };
+    });
+    return snapshot;
+}
+
+/**
+ * Returns the hardware capabilities and a low/mid/high tier. iOS exposes no
+ * CPU frequency, heap limit or media performance class, so those are -1 / 0
+ * and the tier is derived from physical memory and core count.
+ */
+- (NSDictionary<NSString *, id> *)getPerformanceClass {
+    static NSDictionary<NSString *, id> *result;
+    static dispatch_once_t onceToken;
+    dispatch_once(&onceToken, ^{
+        NSProcessInfo *process = [NSProcessInfo processInfo];
+        unsigned long long ramMB = process.physicalMemory / (1024 * 1024);
+        NSUInteger cores = process.processorCount;
+        NSString *tier = @"mid";
+        // physicalMemory is below the marketed size (a 6 GB iPhone reports ~5.6 GiB), so the
+        // 6 GB and 3 GB cut-offs are 5 GiB and 2.5 GiB as on Android.
+        if (ramMB >= 5 * 1024 && cores >= 6) {
+            tier = @"high";
+        } else if (ramMB < 5 * 1024 / 2 || cores <= 2) {
+            tier = @"low";
+        }
+        result = @{
+            @"tier":                  tier,
+            @"cpuCores":              @(cores),
+            @"cpuMaxFreqMHz":         @(-1),
+            @"totalRamMB":            @(ramMB),
+            @"memoryClassMB":         @(-1),
+            @"isLowRamDevice":        @NO,
+            @"mediaPerformanceClass": @0,
+            @"refreshRate":           @([UIScreen mainScreen].maximumFramesPerSecond),
+        };
+    });
+    return result;
+}
+
+/**
+ * Telemetry is Android-only for now. Returns NO so the JS wrapper can tell
+ * subscribers that no samples will arrive.
+ */
+- (BOOL)startTelemetry:(NSDictionary *)options {
+    return NO;
+}
+
+- (void)stopTelemetry {
+}
+
 @end
@@ -5,7 +5,7 @@
  */
 
 import { NativeDeviceInfo } from "./native";
-import type { DeviceInfoInterface } from "./types";
+import type { DeviceInfoInterface, DeviceInfoSnapshot, PerformanceClass } from "./types";
 
 /**
  * Ensures a value returned from a native method is always a non-empty string.
@@ -17,10 +17,49 @@ function ensureString(value: unknown): string {
   return s.length > 0 ? s : "unknown";
 }
 
+/** Read on first use; device values do not change while the app runs. */
+let cachedSnapshot: Readonly<DeviceInfoSnapshot> | undefined;
+
+/**
+ * Reads every value with one native `getAll()` call (or the individual
+ * getters on native builds without it) and keeps the result.
+ */
+function readSnapshot(): Readonly<DeviceInfoSnapshot> {
+  if (cachedSnapshot) return cachedSnapshot;
+  const raw: Partial<Record<keyof DeviceInfoSnapshot, unknown>> =
+    typeof NativeDeviceInfo.getAll === "function"
+      ? NativeDeviceInfo.getAll()
+      : {
+          brand: NativeDeviceInfo.getBrand(),
+          model: NativeDeviceInfo.getModel(),
+          sdkVersion: NativeDeviceInfo.getSDKVersion(),
+          manufacturer: NativeDeviceInfo.getManufacturer(),
+          deviceId: NativeDeviceInfo.getDeviceId(),
+          systemName: NativeDeviceInfo.getSystemName(),
+          systemVersion: NativeDeviceInfo.getSystemVersion(),
+        };
+  cachedSnapshot = Object.freeze({
+    brand: ensureString(raw.brand),
+    model: ensureString(raw.model),
+    sdkVersion: typeof raw.sdkVersion === "number" ? raw.sdkVersion : -1,
+    manufacturer: ensureString(raw.manufacturer),
+    deviceId: ensureString(raw.deviceId),
+    systemName: ensureString(raw.systemName),
+    systemVersion: ensureString(raw.systemVersion),
+  });
+  return cachedSnapshot;
+}
+
+/** Read on first use, like the snapshot. */
+let cachedPerformanceClass: Readonly<PerformanceClass> | undefined;
+
 /**
  * DeviceInfo provides Promise-based access to device information
  * through the Lynx Native Module system (Android + iOS).
  *
+ * All values come from one native call, made on first use and cached; the
+ * individual getters read from that snapshot.
+ *
  * @example
  * ```ts
  * import { DeviceInfo } from '@kafitra/lynx-device-info';
@@ -32,12 +71,14 @@ function ensureString(value: unknown): string {
  * const deviceId     = await DeviceInfo.getDeviceId();     // "generic_x86"
  * const systemName   = await DeviceInfo.getSystemName();   // "Android"
  * const systemVer    = await DeviceInfo.getSystemVersion(); // "14"
+ * const all          = await DeviceInfo.getAll();           // { brand, model, ... }
+ * const { tier }     = await DeviceInfo.getPerformanceClass(); // "mid"
  * ```
  */
 export const DeviceInfo: DeviceInfoInterface = {
   async getBrand(): Promise<string> {
     try {
-      return ensureString(NativeDeviceInfo.getBrand());
+      return readSnapshot().brand;
     } catch (e) {
       throw new Error(
         `[lynx-device-info] Failed to get brand: ${e instanceof Error ? e.message : String(e)}`,
@@ -47,7 +88,7 @@ export const DeviceInfo: DeviceInfoInterface = {
 
   async getModel(): Promise<string> {
     try {
-      return ensureString(NativeDeviceInfo.getModel());
+      return readSnapshot().model;
     } catch (e) {
       throw new Error(
         `[lynx-device-info] Failed to get model: ${e instanceof Error ? e.message : String(e)}`,
@@ -57,7 +98,7 @@ export const DeviceInfo: DeviceInfoInterface = {
 
   async getSDKVersion(): Promise<number> {
     try {
-      return NativeDeviceInfo.getSDKVersion();
+      return readSnapshot().sdkVersion;
     } catch (e) {
       throw new Error(
         `[lynx-device-info] Failed to get SDK version: ${e instanceof Error ? e.message : String(e)}`,
@@ -67,7 +108,7 @@ export const DeviceInfo: DeviceInfoInterface = {
 
   async getManufacturer(): Promise<string> {
     try {
-      return ensureString(NativeDeviceInfo.getManufacturer());
+      return readSnapshot().manufacturer;
     } catch (e) {
       throw new Error(
         `[lynx-device-info] Failed to get manufacturer: ${e instanceof Error ? e.message : String(e)}`,
@@ -77,7 +118,7 @@ export const DeviceInfo: DeviceInfoInterface = {
 
   async getDeviceId(): Promise<string> {
     try {
-      return ensureString(NativeDeviceInfo.getDeviceId());
+      return readSnapshot().deviceId;
     } catch (e) {
       throw new Error(
         `[lynx-device-info] Failed to get device ID: ${e instanceof Error ? e.message : String(e)}`,
@@ -87,7 +128,7 @@ export const DeviceInfo: DeviceInfoInterface = {
 
   async getSystemName(): Promise<string> {
     try {
-      return ensureString(NativeDeviceInfo.getSystemName());
+      return readSnapshot().systemName;
     } catch (e) {
       throw new Error(
         `[lynx-device-info] Failed to get system name: ${e instanceof Error ? e.message : String(e)}`,
@@ -97,13 +138,36 @@ export const DeviceInfo: DeviceInfoInterface = {
 
   async getSystemVersion(): Promise<string> {
     try {
-      return ensureString(NativeDeviceInfo.getSystemVersion());
+      return readSnapshot().systemVersion;
     } catch (e) {
       throw new Error(
         `[lynx-device-info] Failed to get system version: ${e instanceof Error ? e.message : String(e)}`,
       );
     }
   },
+
+  async getAll(): Promise<Readonly<DeviceInfoSnapshot>> {
+    try {
+      return readSnapshot();
+    } catch (e) {
+      throw new Error(
+        `[lynx-device-info] Failed to get device info: ${e instanceof Error ? e.message : String(e)}`,
+      );
+    }
+  },
+
+  async getPerformanceClass(): Promise<Readonly<PerformanceClass>> {
+    try {
+      if (!cachedPerformanceClass) {
+        cachedPerformanceClass = Object.freeze({ ...NativeDeviceInfo.getPerformanceClass() });
+      }
+      return cachedPerformanceClass;
+    } catch (e) {
+      throw new Error(
+        `[lynx-device-info] Failed to get performance class: ${e instanceof Error ? e.message : String(e)}`,
+      );
+    }
+  },
 };
 
 // ---------------------------------------------------------------------------
@@ -139,5 +203,23 @@ export async function getSystemVersion(): Promise<string> {
   return DeviceInfo.getSystemVersion();
 }
 
+export async function getAll(): Promise<Readonly<DeviceInfoSnapshot>> {
+  return DeviceInfo.getAll();
+}
+
+export async function getPerformanceClass(): Promise<Readonly<PerformanceClass>> {
+  return DeviceInfo.getPerformanceClass();
+}
+
+export { subscribeTelemetry, shouldBackOff } from "./telemetry";
+
 // Re-export types for consumer convenience
-export type { DeviceInfoInterface, NativeLynxDeviceInfo } from "./types";
+export type {
+  DeviceInfoInterface,
+  DeviceInfoSnapshot,
+  NativeLynxDeviceInfo,
+  PerformanceClass,
+  PerformanceTier,
+  TelemetryOptions,
+  TelemetrySample,
+} from "./types";
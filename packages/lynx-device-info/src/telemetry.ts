@@ -0,0 +1,100 @@
+/**
+ * @kafitra/lynx-device-info
+ *
+ * Runtime telemetry — batched heap, thermal, battery saver and frame timing
+ * samples from the native module, delivered as Lynx global events.
+ */
+
+import { NativeDeviceInfo } from "./native";
+import type { TelemetryOptions, TelemetrySample } from "./types";
+
+/** Must match LynxDeviceInfoModule.TELEMETRY_EVENT. */
+const TELEMETRY_EVENT = "lynxDeviceInfoTelemetry";
+
+/** PowerManager.THERMAL_STATUS_SEVERE */
+const THERMAL_STATUS_SEVERE = 3;
+
+type BatchListener = (samples: TelemetrySample[]) => void;
+
+/**
+ * Declare the Lynx runtime global used to receive native events.
+ */
+declare const lynx: {
+  getJSModule(name: "GlobalEventEmitter"): {
+    addListener(event: string, listener: (...args: unknown[]) => void): void;
+    removeListener(event: string, listener: (...args: unknown[]) => void): void;
+  };
+};
+
+const listeners = new Set<BatchListener>();
+
+function dispatch(...args: unknown[]): void {
+  const samples = Array.isArray(args[0]) ? (args[0] as TelemetrySample[]) : [];
+  if (samples.length === 0) return;
+  for (const listener of Array.from(listeners)) {
+    try {
+      listener(samples);
+    } catch (e) {
+      console.error("[lynx-device-info] Telemetry listener threw:", e);
+    }
+  }
+}
+
+/**
+ * Subscribes to runtime telemetry. The native sampler starts with the first
+ * subscriber and stops when the last one unsubscribes, so telemetry costs
+ * nothing while unused. Options only take effect when the sampler starts;
+ * later subscribers share the running sampler.
+ *
+ * @returns A function that unsubscribes `listener`.
+ *
+ * @example
+ * ```ts
+ * const unsubscribe = subscribeTelemetry((samples) => {
+ *   if (samples.some(shouldBackOff)) pauseAnimations();
+ * }, { intervalMs: 500 });
+ * ```
+ */
+export function subscribeTelemetry(
+  listener: BatchListener,
+  options: TelemetryOptions = {},
+): () => void {
+  if (listeners.has(listener)) return () => unsubscribe(listener);
+  listeners.add(listener);
+  if (listeners.size === 1) {
+    lynx.getJSModule("GlobalEventEmitter").addListener(TELEMETRY_EVENT, dispatch);
+    try {
+      if (!NativeDeviceInfo.startTelemetry(options)) {
+        console.warn("[lynx-device-info] Telemetry is not available on this platform.");
+      }
+    } catch (e) {
+      unsubscribe(listener);
+      throw new Error(
+        `[lynx-device-info] Failed to start telemetry: ${e instanceof Error ? e.message : String(e)}`,
+      );
+    }
+  }
+  return () => unsubscribe(listener);
+}
+
+function unsubscribe(listener: BatchListener): void {
+  if (!listeners.delete(listener) || listeners.size > 0) return;
+  lynx.getJSModule("GlobalEventEmitter").removeListener(TELEMETRY_EVENT, dispatch);
+  try {
+    NativeDeviceInfo.stopTelemetry();
+  } catch {
+    // Already gone with the view.
+  }
+}
+
+/**
+ * Whether a sample suggests backing off expensive work: the device is
+ * severely throttled or worse, battery saver is on, or more than
+ * `maxDroppedRatio` of the interval's frames were dropped.
+ */
+export function shouldBackOff(sample: TelemetrySample, maxDroppedRatio = 0.1): boolean {
+  if (sample.thermalStatus >= THERMAL_STATUS_SEVERE || sample.powerSaveMode) return true;
+  if (sample.frames === undefined || sample.droppedFrames === undefined) return false;
+  const expected = sample.frames + sample.droppedFrames;
+  return expected > 0 && sample.droppedFrames / expected > maxDroppedRatio;
+}
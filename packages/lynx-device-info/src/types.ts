@@ -4,6 +4,83 @@
  * Type definitions for the DeviceInfo native module.
  */
 
+/**
+ * Every device value, as returned by {@link DeviceInfoInterface.getAll}.
+ */
+export interface DeviceInfoSnapshot {
+  brand: string;
+  model: string;
+  /** Android SDK version; 0 on iOS */
+  sdkVersion: number;
+  manufacturer: string;
+  deviceId: string;
+  systemName: string;
+  systemVersion: string;
+}
+
+/** Coarse hardware tier for adaptive rendering. */
+export type PerformanceTier = "low" | "mid" | "high";
+
+/**
+ * Hardware capabilities, as returned by {@link DeviceInfoInterface.getPerformanceClass}.
+ * Numbers the platform does not report are -1.
+ */
+export interface PerformanceClass {
+  /**
+   * "high": media performance class S or later, or at least 6 GB RAM, 8 cores and a 2.4 GHz core.
+   * "low": low-RAM device, under 3 GB RAM, 4 cores or fewer, or no core above 1.6 GHz.
+   * "mid": everything else.
+   * RAM sizes are marketed sizes; since the reported `totalRamMB` excludes reserved memory, the
+   * cut-offs applied to it are 5 GiB and 2.5 GiB.
+   */
+  tier: PerformanceTier;
+  /** CPU cores, including ones currently offline */
+  cpuCores: number;
+  /** Highest maximum core frequency in MHz; -1 on iOS */
+  cpuMaxFreqMHz: number;
+  totalRamMB: number;
+  /** Per-app Java heap limit in MB (ActivityManager.getMemoryClass); -1 on iOS */
+  memoryClassMB: number;
+  /** ActivityManager.isLowRamDevice; false on iOS */
+  isLowRamDevice: boolean;
+  /** Build.VERSION.MEDIA_PERFORMANCE_CLASS (e.g. 31, 33); 0 if undeclared */
+  mediaPerformanceClass: number;
+  /** Default display refresh rate in Hz */
+  refreshRate: number;
+}
+
+/** Options for {@link subscribeTelemetry}. */
+export interface TelemetryOptions {
+  /** Time between samples in ms (default 1000, at least 100) */
+  intervalMs?: number;
+  /** Samples per event (default 5) */
+  batchSize?: number;
+  /** Record frame timing; costs one main-thread callback per vsync (default true) */
+  frames?: boolean;
+}
+
+/** One telemetry sample, covering the interval since the previous one. */
+export interface TelemetrySample {
+  /** Epoch ms */
+  timestamp: number;
+  javaHeapUsedMB: number;
+  javaHeapMaxMB: number;
+  nativeHeapUsedMB: number;
+  /**
+   * PowerManager thermal status: 0 none, 1 light, 2 moderate, 3 severe,
+   * 4 critical, 5 emergency, 6 shutdown; -1 before Android 10
+   */
+  thermalStatus: number;
+  powerSaveMode: boolean;
+  /** Frames drawn in the interval; absent when `frames` is off */
+  frames?: number;
+  /** Vsyncs missed because a frame ran long */
+  droppedFrames?: number;
+  frameP50Ms?: number;
+  frameP90Ms?: number;
+  frameP99Ms?: number;
+}
+
 /**
  * Interface for the Lynx DeviceInfo native module methods.
  */
@@ -32,6 +109,18 @@ export interface DeviceInfoInterface {
 
   /** Returns the OS version string (e.g., "14", "17.0") */
   getSystemVersion(): Promise<string>;
+
+  /**
+   * Returns every value above from a single native call.
+   * The result is read once and reused for the rest of the session.
+   */
+  getAll(): Promise<Readonly<DeviceInfoSnapshot>>;
+
+  /**
+   * Returns the hardware capabilities and a low/mid/high tier, for turning
+   * off expensive effects on low-end devices. Read once and reused.
+   */
+  getPerformanceClass(): Promise<Readonly<PerformanceClass>>;
 }
 
 /**
@@ -46,4 +135,10 @@ export interface NativeLynxDeviceInfo {
   getDeviceId(): string;
   getSystemName(): string;
   getSystemVersion(): string;
+  /** Missing on native builds older than the JS package. */
+  getAll?(): DeviceInfoSnapshot;
+  getPerformanceClass(): PerformanceClass;
+  /** Returns false if the platform cannot send telemetry events. */
+  startTelemetry(options: TelemetryOptions): boolean;
+  stopTelemetry(): void;
 }
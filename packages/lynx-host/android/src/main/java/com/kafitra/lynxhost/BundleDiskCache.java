@@ -0,0 +1,314 @@
+package com.kafitra.lynxhost;
+
+import android.util.Log;
+
+import androidx.annotation.Nullable;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+
+/**
+ * BundleDiskCache — on-disk cache of network template bundles, keyed by URI.
+ *
+ * <p>Each entry is two files in the cache directory: {@code <key>.bundle} holds the body,
+ * {@code <key>.meta} the URI, the {@code ETag} / {@code Last-Modified} validators used for
+ * conditional revalidation and, once known, the body's SHA-256. Both are written to a temp
+ * file and renamed into place, so a crash never leaves a torn entry behind and a replaced
+ * bundle is swapped in atomically.
+ *
+ * <p>Entries are evicted least-recently-used first once the total body size exceeds the
+ * quota. Recency survives restarts through the body file's modification time, which is
+ * bumped on every hit.
+ *
+ * <p>Thread-safe. The index is loaded lazily on first use, so construction does no I/O.
+ */
+final class BundleDiskCache {
+
+    private static final String TAG = "BundleDiskCache";
+
+    private static final String BUNDLE_SUFFIX = ".bundle";
+    private static final String META_SUFFIX = ".meta";
+    private static final String TMP_SUFFIX = ".tmp";
+
+    private static final String KEY_URI = "uri";
+    private static final String KEY_ETAG = "etag";
+    private static final String KEY_LAST_MODIFIED = "lastModified";
+    private static final String KEY_SHA256 = "sha256";
+
+    /** Validators, hash and size of one cached bundle. */
+    static final class Entry {
+        final String uri;
+        @Nullable final String etag;
+        @Nullable final String lastModified;
+        /** Lowercase hex SHA-256 of the body, or {@code null} if it was never computed. */
+        @Nullable final String sha256;
+        final long length;
+
+        Entry(String uri, @Nullable String etag, @Nullable String lastModified,
+              @Nullable String sha256, long length) {
+            this.uri = uri;
+            this.etag = etag;
+            this.lastModified = lastModified;
+            this.sha256 = sha256;
+            this.length = length;
+        }
+    }
+
+    private final File mDirectory;
+    private long mQuotaBytes;
+
+    /** Cache key → entry, least recently used first. Guarded by {@code this}. */
+    private final LinkedHashMap<String, Entry> mIndex = new LinkedHashMap<>(16, 0.75f, true);
+    private long mTotalBytes;
+    private boolean mLoaded;
+
+    BundleDiskCache(File directory, long quotaBytes) {
+        mDirectory = directory;
+        mQuotaBytes = quotaBytes;
+    }
+
+    /** Change the byte quota; shrinking it evicts immediately. */
+    synchronized void setQuota(long quotaBytes) {
+        mQuotaBytes = quotaBytes;
+        if (mLoaded) trimToQuota();
+    }
+
+    /** Validators for {@code uri}, or {@code null} if it is not cached. */
+    @Nullable
+    synchronized Entry get(String uri) {
+        ensureLoaded();
+        return mIndex.get(keyFor(uri));
+    }
+
+    /**
+     * Read the cached body for {@code uri} and mark it most recently used.
+     * Returns {@code null} when there is no entry or the body file is gone.
+     */
+    @Nullable
+    byte[] read(String uri) {
+        String key = keyFor(uri);
+        File body;
+        synchronized (this) {
+            ensureLoaded();
+            if (mIndex.get(key) == null) return null;
+            body = bodyFile(key);
+            //noinspection ResultOfMethodCallIgnored
+            body.setLastModified(System.currentTimeMillis());
+        }
+        try {
+            return readFile(body);
+        } catch (IOException e) {
+            Log.w(TAG, "dropping unreadable entry for " + uri, e);
+            remove(uri);
+            return null;
+        }
+    }
+
+    /**
+     * Store {@code data} for {@code uri} with its validators and, if known, its SHA-256,
+     * replacing any previous entry and evicting as needed.
+     */
+    void put(String uri, byte[] data, @Nullable String etag, @Nullable String lastModified,
+             @Nullable String sha256) {
+        String key = keyFor(uri);
+        if (data.length > quota()) {
+            remove(uri);
+            return;
+        }
+        Entry entry = new Entry(uri, etag, lastModified, sha256, data.length);
+        try {
+            if (!mDirectory.isDirectory() && !mDirectory.mkdirs()) {
+                throw new IOException("cannot create " + mDirectory);
+            }
+            // Unique temp names: a revalidation may race a foreground load of the same URI.
+            File bodyTmp = File.createTempFile(key, TMP_SUFFIX, mDirectory);
+            try (OutputStream out = new FileOutputStream(bodyTmp)) {
+                out.write(data);
+            }
+            File metaTmp = writeMetaTemp(key, entry);
+            synchronized (this) {
+                ensureLoaded();
+                // Body first: a meta file without its body is discarded on load.
+                if (!bodyTmp.renameTo(bodyFile(key)) || !metaTmp.renameTo(metaFile(key))) {
+                    throw new IOException("rename failed for " + key);
+                }
+                Entry previous = mIndex.put(key, entry);
+                if (previous != null) mTotalBytes -= previous.length;
+                mTotalBytes += data.length;
+                trimToQuota();
+            }
+        } catch (IOException e) {
+            Log.w(TAG, "failed to cache " + uri, e);
+            remove(uri);
+        }
+    }
+
+    /**
+     * Record the SHA-256 of the cached body of {@code uri}, so it is not hashed again.
+     * Ignored if the entry is gone or was replaced by a body of a different length.
+     */
+    void recordSha256(String uri, String sha256, long length) {
+        String key = keyFor(uri);
+        Entry current = get(uri);
+        if (current == null || current.length != length) return;
+        Entry entry = new Entry(uri, current.etag, current.lastModified, sha256, length);
+        try {
+            File metaTmp = writeMetaTemp(key, entry);
+            synchronized (this) {
+                if (mIndex.get(key) != current || !metaTmp.renameTo(metaFile(key))) {
+                    //noinspection ResultOfMethodCallIgnored
+                    metaTmp.delete();
+                    return;
+                }
+                mIndex.put(key, entry);
+            }
+        } catch (IOException e) {
+            Log.w(TAG, "failed to record hash for " + uri, e);
+        }
+    }
+
+    /** Mark {@code uri} most recently used without reading it (e.g. after a 304). */
+    synchronized void touch(String uri) {
+        ensureLoaded();
+        String key = keyFor(uri);
+        if (mIndex.get(key) != null) {
+            //noinspection ResultOfMethodCallIgnored
+            bodyFile(key).setLastModified(System.currentTimeMillis());
+        }
+    }
+
+    synchronized void remove(String uri) {
+        ensureLoaded();
+        String key = keyFor(uri);
+        Entry entry = mIndex.remove(key);
+        if (entry != null) mTotalBytes -= entry.length;
+        deleteFiles(key);
+    }
+
+    /** Delete every entry. */
+    synchronized void clear() {
+        ensureLoaded();
+        for (String key : new ArrayList<>(mIndex.keySet())) deleteFiles(key);
+        mIndex.clear();
+        mTotalBytes = 0;
+    }
+
+    /** Total size of cached bodies in bytes. */
+    synchronized long size() {
+        ensureLoaded();
+        return mTotalBytes;
+    }
+
+    // -----------------------------------------------------------------------
+    // Internals
+    // -----------------------------------------------------------------------
+
+    private synchronized long quota() {
+        return mQuotaBytes;
+    }
+
+    /** Rebuild the index from disk, oldest access first. Caller holds the lock. */
+    private void ensureLoaded() {
+        if (mLoaded) return;
+        mLoaded = true;
+        File[] files = mDirectory.listFiles();
+        if (files == null) return;
+
+        List<File> bodies = new ArrayList<>();
+        for (File file : files) {
+            String name = file.getName();
+            if (name.endsWith(TMP_SUFFIX)) {
+                // Left over from an interrupted write.
+                //noinspection ResultOfMethodCallIgnored
+                file.delete();
+            } else if (name.endsWith(BUNDLE_SUFFIX)) {
+                bodies.add(file);
+            }
+        }
+        Collections.sort(bodies, (a, b) -> Long.compare(a.lastModified(), b.lastModified()));
+
+        for (File body : bodies) {
+            String name = body.getName();
+            String key = name.substring(0, name.length() - BUNDLE_SUFFIX.length());
+            Properties meta = new Properties();
+            try (InputStream in = new FileInputStream(metaFile(key))) {
+                meta.load(in);
+            } catch (IOException e) {
+                deleteFiles(key);
+                continue;
+            }
+            String uri = meta.getProperty(KEY_URI);
+            if (uri == null) {
+                deleteFiles(key);
+                continue;
+            }
+            mIndex.put(key, new Entry(uri, meta.getProperty(KEY_ETAG),
+                    meta.getProperty(KEY_LAST_MODIFIED), meta.getProperty(KEY_SHA256),
+                    body.length()));
+            mTotalBytes += body.length();
+        }
+        trimToQuota();
+    }
+
+    /** Evict least recently used entries until under quota. Caller holds the lock. */
+    private void trimToQuota() {
+        Iterator<Map.Entry<String, Entry>> it = mIndex.entrySet().iterator();
+        while (mTotalBytes > mQuotaBytes && it.hasNext()) {
+            Map.Entry<String, Entry> eldest = it.next();
+            it.remove();
+            mTotalBytes -= eldest.getValue().length;
+            deleteFiles(eldest.getKey());
+            Log.d(TAG, "evicted " + eldest.getValue().uri);
+        }
+    }
+
+    private File writeMetaTemp(String key, Entry entry) throws IOException {
+        Properties meta = new Properties();
+        meta.setProperty(KEY_URI, entry.uri);
+        if (entry.etag != null) meta.setProperty(KEY_ETAG, entry.etag);
+        if (entry.lastModified != null) meta.setProperty(KEY_LAST_MODIFIED, entry.lastModified);
+        if (entry.sha256 != null) meta.setProperty(KEY_SHA256, entry.sha256);
+        File metaTmp = File.createTempFile(key, TMP_SUFFIX, mDirectory);
+        try (OutputStream out = new FileOutputStream(metaTmp)) {
+            meta.store(out, null);
+        }
+        return metaTmp;
+    }
+
+    private void deleteFiles(String key) {
+        //noinspection ResultOfMethodCallIgnored
+        bodyFile(key).delete();
+        //noinspection ResultOfMethodCallIgnored
+        metaFile(key).delete();
+    }
+
+    private File bodyFile(String key) {
+        return new File(mDirectory, key + BUNDLE_SUFFIX);
+    }
+
+    private File metaFile(String key) {
+        return new File(mDirectory, key + META_SUFFIX);
+    }
+
+    private static byte[] readFile(File file) throws IOException {
+        try (FileInputStream in = new FileInputStream(file)) {
+            return BundleReader.readChannel(in.getChannel(), 0, in.getChannel().size());
+        }
+    }
+
+    /** SHA-1 of the URI as lowercase hex — safe as a file name. */
+    static String keyFor(String uri) {
+        return Digests.sha1Hex(uri);
+    }
+}
@@ -0,0 +1,15 @@
+package com.kafitra.lynxhost;
+
+import java.io.IOException;
+
+/**
+ * Thrown when a downloaded bundle's SHA-256 does not match the hash it was published with —
+ * a corrupt, truncated or tampered download. The bundle is discarded, never cached.
+ */
+final class BundleIntegrityException extends IOException {
+
+    BundleIntegrityException(String url, String expectedSha256, String actualSha256) {
+        super("integrity check failed for " + url + ": expected sha256 " + expectedSha256
+                + ", got " + actualSha256);
+    }
+}
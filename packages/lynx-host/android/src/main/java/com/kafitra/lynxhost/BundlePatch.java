@@ -0,0 +1,121 @@
+package com.kafitra.lynxhost;
+
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.security.MessageDigest;
+
+/**
+ * BundlePatch — applies a binary delta produced by {@code lynx ota} to a base bundle.
+ *
+ * <p>Patch layout, all integers unsigned 32-bit big-endian:
+ * <pre>
+ *   "LXDP"  magic
+ *   u8      version (1)
+ *   u32     base size
+ *   u32     target size
+ *   ops:    0x01 COPY   u32 offset, u32 length   — bytes from the base
+ *           0x02 INSERT u32 length, bytes        — literal bytes from the patch
+ *           0x00 END
+ * </pre>
+ *
+ * <p>The patch is consumed as a stream and the target is written straight into one array
+ * sized from the header, so memory stays at base + target regardless of the patch size.
+ * The header's target size must equal the size the caller expects (from the update
+ * manifest) before anything is allocated, so a corrupt or hostile patch cannot force a huge
+ * allocation. Every op is bounds-checked against both arrays before it is applied.
+ *
+ * <p>Plain Java (no Android dependencies).
+ */
+final class BundlePatch {
+
+    private static final byte[] MAGIC = {'L', 'X', 'D', 'P'};
+    private static final int VERSION = 1;
+
+    private static final int OP_END = 0x00;
+    private static final int OP_COPY = 0x01;
+    private static final int OP_INSERT = 0x02;
+
+    private BundlePatch() {}
+
+    /**
+     * Apply the patch read from {@code patch} to {@code base}.
+     *
+     * @param targetSize the size the result must have; a patch declaring any other size is
+     *                   rejected before the target is allocated.
+     * @param digest     updated with the target bytes in order, or {@code null}.
+     * @throws IOException if the patch is malformed, truncated, made for a different base or
+     *                     declares a different target size.
+     */
+    static byte[] apply(byte[] base, long targetSize, InputStream patch, MessageDigest digest)
+            throws IOException {
+        DataInputStream in = new DataInputStream(patch);
+        byte[] magic = new byte[MAGIC.length];
+        in.readFully(magic);
+        for (int i = 0; i < MAGIC.length; i++) {
+            if (magic[i] != MAGIC[i]) throw new IOException("not a bundle patch");
+        }
+        int version = in.readUnsignedByte();
+        if (version != VERSION) throw new IOException("unsupported patch version " + version);
+
+        long baseSize = readU32(in);
+        if (baseSize != base.length) {
+            throw new IOException("patch expects a " + baseSize + " byte base, got " + base.length);
+        }
+        long declaredSize = readU32(in);
+        if (declaredSize != targetSize) {
+            throw new IOException("patch produces a " + declaredSize + " byte bundle, expected "
+                    + targetSize);
+        }
+        byte[] target = new byte[BundleReader.checkedSize(targetSize)];
+
+        int position = 0;
+        while (true) {
+            BundleReader.checkInterrupted();
+            int op = in.read();
+            if (op == -1) throw new EOFException("patch truncated at byte " + position);
+            if (op == OP_END) break;
+            if (op == OP_COPY) {
+                long offset = readU32(in);
+                int length = checkedLength(readU32(in), position, target.length);
+                if (offset + length > base.length) {
+                    throw new IOException("copy past the end of the base at byte " + position);
+                }
+                System.arraycopy(base, (int) offset, target, position, length);
+                if (digest != null) digest.update(target, position, length);
+                position += length;
+            } else if (op == OP_INSERT) {
+                int length = checkedLength(readU32(in), position, target.length);
+                int end = position + length;
+                while (position < end) {
+                    BundleReader.checkInterrupted();
+                    int read = in.read(target, position,
+                            Math.min(end - position, BundleReader.BUFFER_SIZE));
+                    if (read == -1) throw new EOFException("patch truncated at byte " + position);
+                    if (digest != null) digest.update(target, position, read);
+                    position += read;
+                }
+            } else {
+                throw new IOException("unknown patch op 0x" + Integer.toHexString(op));
+            }
+        }
+        if (position != target.length) {
+            throw new IOException("patch produced " + position + " of " + target.length + " bytes");
+        }
+        return target;
+    }
+
+    private static long readU32(DataInputStream in) throws IOException {
+        return in.readInt() & 0xFFFFFFFFL;
+    }
+
+    /** {@code length} as an int, if it fits in the rest of the expected target. */
+    private static int checkedLength(long length, int position, int targetSize)
+            throws IOException {
+        if (length > targetSize - position) {
+            throw new IOException("op overruns the target at byte " + position);
+        }
+        return (int) length;
+    }
+}
@@ -0,0 +1,229 @@
+package com.kafitra.lynxhost;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.util.Arrays;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * BundleReader — reads whole bundles into a single {@code byte[]} with as few copies as possible.
+ *
+ * <p>When the length is known up front (uncompressed assets, cache files, responses with a
+ * {@code Content-Length}) the array is allocated once at its final size and filled in place —
+ * no growing buffer, no {@code toByteArray()} copy. Only streams of unknown length fall back
+ * to a growing buffer.
+ *
+ * <p>Gzip-compressed bundles (recognised by the {@code 1f 8b 08} magic) are inflated while
+ * they stream in. For a file, the uncompressed size stored in the gzip trailer pre-sizes the
+ * output, so the compressed bytes are never held in memory as a whole.
+ *
+ * <p>Stream reads can feed a {@link MessageDigest} as the bytes arrive, so a bundle is
+ * hashed in the same pass that reads it.
+ *
+ * <p>Plain Java (no Android dependencies), so the read paths can be benchmarked on a JVM.
+ */
+final class BundleReader {
+
+    /** Chunk size for streams of unknown length. */
+    static final int BUFFER_SIZE = 16 * 1024;
+
+    /** Gzip header: ID1, ID2, CM = deflate. */
+    private static final byte[] GZIP_MAGIC = {(byte) 0x1f, (byte) 0x8b, (byte) 0x08};
+    /** Size of the gzip trailer's ISIZE field (uncompressed length mod 2^32). */
+    private static final int GZIP_ISIZE_BYTES = 4;
+    /** Initial output capacity per compressed byte when the inflated size is unknown. */
+    private static final int GZIP_EXPANSION_GUESS = 4;
+
+    private BundleReader() {}
+
+    /**
+     * Read {@code length} bytes starting at {@code offset} with positional reads, leaving the
+     * channel's own position untouched.
+     */
+    static byte[] readChannel(FileChannel channel, long offset, long length) throws IOException {
+        byte[] data = new byte[checkedSize(length)];
+        ByteBuffer buffer = ByteBuffer.wrap(data);
+        long position = offset;
+        while (buffer.hasRemaining()) {
+            int read = channel.read(buffer, position);
+            if (read == -1) {
+                throw new EOFException("expected " + length + " bytes, got " + buffer.position());
+            }
+            position += read;
+        }
+        return data;
+    }
+
+    /**
+     * Whether the {@code length} bytes at {@code offset} of {@code channel} are a gzip file.
+     * Positional read; the channel's position is untouched.
+     */
+    static boolean isGzip(FileChannel channel, long offset, long length) throws IOException {
+        if (length < GZIP_MAGIC.length + GZIP_ISIZE_BYTES) return false;
+        ByteBuffer head = ByteBuffer.allocate(GZIP_MAGIC.length);
+        while (head.hasRemaining()) {
+            if (channel.read(head, offset + head.position()) == -1) return false;
+        }
+        return startsWithMagic(head.array());
+    }
+
+    /**
+     * The uncompressed length recorded in the trailer of the gzip file at {@code offset}.
+     * Exact for single-member files under 4 GB — which bundles always are.
+     */
+    static long gzipInflatedSize(FileChannel channel, long offset, long length)
+            throws IOException {
+        ByteBuffer trailer = ByteBuffer.allocate(GZIP_ISIZE_BYTES);
+        long start = offset + length - GZIP_ISIZE_BYTES;
+        while (trailer.hasRemaining()) {
+            if (channel.read(trailer, start + trailer.position()) == -1) return -1;
+        }
+        byte[] b = trailer.array();
+        return (b[0] & 0xffL) | (b[1] & 0xffL) << 8 | (b[2] & 0xffL) << 16 | (b[3] & 0xffL) << 24;
+    }
+
+    /**
+     * Peek at the next bytes of {@code in} without consuming them and report whether they
+     * are a gzip header. {@code in} must support mark/reset (e.g. a {@link BufferedInputStream}).
+     */
+    static boolean isGzip(InputStream in) throws IOException {
+        in.mark(GZIP_MAGIC.length);
+        try {
+            byte[] head = new byte[GZIP_MAGIC.length];
+            int offset = 0;
+            while (offset < head.length) {
+                int read = in.read(head, offset, head.length - offset);
+                if (read == -1) return false;
+                offset += read;
+            }
+            return startsWithMagic(head);
+        } finally {
+            in.reset();
+        }
+    }
+
+    /**
+     * Inflate the gzip stream {@code in} to its end.
+     *
+     * @param inflatedSize     uncompressed length if known (gzip trailer), else {@code <= 0}.
+     * @param compressedLength compressed length if known, used to size the output buffer
+     *                         when {@code inflatedSize} is unknown; else {@code <= 0}.
+     */
+    static byte[] readGzip(InputStream in, long inflatedSize, long compressedLength)
+            throws IOException {
+        return readGzip(in, inflatedSize, compressedLength, null);
+    }
+
+    /**
+     * {@link #readGzip(InputStream, long, long)}, updating {@code digest} (if non-null) with
+     * the inflated bytes as they are read.
+     */
+    static byte[] readGzip(InputStream in, long inflatedSize, long compressedLength,
+                           MessageDigest digest) throws IOException {
+        InputStream gzip = digesting(new GZIPInputStream(in, BUFFER_SIZE), digest);
+        if (inflatedSize > 0) return readPresized(gzip, inflatedSize, false);
+        int capacity = compressedLength > 0
+                ? checkedSize(Math.min(compressedLength * GZIP_EXPANSION_GUESS, Integer.MAX_VALUE / 2))
+                : BUFFER_SIZE;
+        return readUnknownLength(gzip, new ByteArrayOutputStream(capacity));
+    }
+
+    /**
+     * Read {@code in} to the end. With {@code expectedLength > 0} the result is read straight
+     * into an array of that size; if the stream turns out longer, the remainder is appended
+     * through a growing buffer, and if it is shorter an {@link EOFException} is thrown.
+     */
+    static byte[] readStream(InputStream in, long expectedLength) throws IOException {
+        return readStream(in, expectedLength, null);
+    }
+
+    /**
+     * {@link #readStream(InputStream, long)}, updating {@code digest} (if non-null) with the
+     * bytes as they are read.
+     */
+    static byte[] readStream(InputStream in, long expectedLength, MessageDigest digest)
+            throws IOException {
+        in = digesting(in, digest);
+        if (expectedLength <= 0) return readUnknownLength(in, null);
+        return readPresized(in, expectedLength, true);
+    }
+
+    /**
+     * Read into an array of {@code size} bytes. A longer stream is read on through a growing
+     * buffer. A shorter one throws when {@code exact}, otherwise the array is trimmed.
+     */
+    private static byte[] readPresized(InputStream in, long size, boolean exact)
+            throws IOException {
+        byte[] data = new byte[checkedSize(size)];
+        int offset = 0;
+        while (offset < data.length) {
+            checkInterrupted();
+            int read = in.read(data, offset, data.length - offset);
+            if (read == -1) {
+                if (exact) throw new EOFException("expected " + size + " bytes, got " + offset);
+                return Arrays.copyOf(data, offset);
+            }
+            offset += read;
+        }
+        int next = in.read();
+        if (next == -1) return data;
+
+        // Declared length was short — keep what we have and read on.
+        ByteArrayOutputStream out = new ByteArrayOutputStream(data.length + BUFFER_SIZE);
+        out.write(data, 0, data.length);
+        out.write(next);
+        return readUnknownLength(in, out);
+    }
+
+    private static byte[] readUnknownLength(InputStream in, ByteArrayOutputStream out)
+            throws IOException {
+        if (out == null) out = new ByteArrayOutputStream(BUFFER_SIZE);
+        byte[] buffer = new byte[BUFFER_SIZE];
+        int length;
+        while ((length = in.read(buffer)) != -1) {
+            checkInterrupted();
+            out.write(buffer, 0, length);
+        }
+        return out.toByteArray();
+    }
+
+    private static InputStream digesting(InputStream in, MessageDigest digest) {
+        return digest != null ? new DigestInputStream(in, digest) : in;
+    }
+
+    private static boolean startsWithMagic(byte[] head) {
+        for (int i = 0; i < GZIP_MAGIC.length; i++) {
+            if (head[i] != GZIP_MAGIC[i]) return false;
+        }
+        return true;
+    }
+
+    static void checkInterrupted() throws InterruptedIOException {
+        if (Thread.currentThread().isInterrupted()) {
+            throw new InterruptedIOException("Template load cancelled");
+        }
+    }
+
+    /**
+     * Whether {@code e} reports a cancelled load rather than a failed one. Socket timeouts are
+     * {@link InterruptedIOException}s too, so only a real interrupt counts.
+     */
+    static boolean isCancellation(IOException e) {
+        return e instanceof InterruptedIOException && Thread.currentThread().isInterrupted();
+    }
+
+    static int checkedSize(long length) throws IOException {
+        if (length > Integer.MAX_VALUE - 8) {
+            throw new IOException("bundle too large: " + length + " bytes");
+        }
+        return (int) length;
+    }
+}
@@ -0,0 +1,266 @@
+package com.kafitra.lynxhost;
+
+import android.content.Context;
+import android.os.Handler;
+import android.os.Looper;
+import android.util.Log;
+
+import androidx.annotation.MainThread;
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import org.json.JSONException;
+import org.json.JSONObject;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.net.HttpURLConnection;
+import java.net.URL;
+
+/**
+ * DevReloadClient — live reload for debug builds, pushed by {@code lynx dev}.
+ *
+ * <p>Holds one long-lived Server-Sent Events connection to the dev server's reload endpoint
+ * and reports every bundle change as soon as the server sees it: no polling, no request per
+ * tick, no thread per check. The connection lives on a single thread for the lifetime of the
+ * client, not on a {@code LynxScheduler} pool, where it would hold one of the few I/O threads
+ * for the whole session. The server sends a keepalive comment every 15 s, and a stream that
+ * stays silent for {@link #READ_TIMEOUT_MS} counts as dropped, so a half-open connection (device
+ * unplugged, network switched) is noticed too. When the stream drops the client reconnects with
+ * exponential backoff, and on reconnect the server's current bundle ETag is compared with the
+ * last one seen, so a change made while disconnected is not missed.
+ *
+ * <p>Versions are compared by content hash, so a rebuild that produces an identical bundle does
+ * not trigger a reload. Built with a {@link Context}, the client also points
+ * {@link TemplateLoader} at the update manifest {@code lynx dev} serves for the bundle, so a
+ * reload downloads only a patch against the previous build instead of the whole bundle.
+ *
+ * <p>Events, as sent by {@code lynx dev}:
+ * <pre>
+ *   event: hello            data: {"etag": "…", "sha256": "…"}   — on connect, current version
+ *   event: bundle-changed   data: {"etag": "…", "sha256": "…"}   — after each rebuild
+ * </pre>
+ *
+ * <p>{@link #start()} and {@link #stop()} must be called on the main thread; the listener is
+ * invoked on the main thread.
+ */
+public final class DevReloadClient {
+
+    private static final String TAG = "DevReloadClient";
+
+    /** Path of the event stream served by {@code lynx dev}. */
+    public static final String EVENTS_PATH = "/events";
+
+    private static final int CONNECT_TIMEOUT_MS = 2000;
+    /** About 2.5× the server's 15 s keepalive interval, so one late keepalive is tolerated. */
+    private static final int READ_TIMEOUT_MS = 40_000;
+    private static final long INITIAL_BACKOFF_MS = 250;
+    private static final long MAX_BACKOFF_MS = 8000;
+
+    private static final String EVENT_HELLO = "hello";
+    private static final String EVENT_BUNDLE_CHANGED = "bundle-changed";
+
+    /** Receives bundle change notifications on the main thread. */
+    public interface Listener {
+        void onBundleChanged();
+    }
+
+    private final String mEventsUrl;
+    private final Listener mListener;
+    private final Handler mMainHandler = new Handler(Looper.getMainLooper());
+
+    /** Guarded by {@code this}. */
+    private Thread mThread;
+    /** Guarded by {@code this}. */
+    private HttpURLConnection mConnection;
+    /** Version (hash, else ETag) of the bundle the app last saw; connection thread only. */
+    private String mLastVersion;
+    /** Whether the last {@link #listen()} got the stream open; connection thread only. */
+    private boolean mConnected;
+
+    /**
+     * @param eventsUrl the dev server's event stream, e.g. {@code http://localhost:3001/events}
+     *                  — see {@link #eventsUrlFor(String)}.
+     */
+    public DevReloadClient(@NonNull String eventsUrl, @NonNull Listener listener) {
+        mEventsUrl = eventsUrl;
+        mListener = listener;
+    }
+
+    /**
+     * Listen for changes to {@code bundleUrl} on the {@link #eventsUrlFor(String) default
+     * event stream}, and have {@link TemplateLoader} update it from the dev server's
+     * {@link #manifestUrlFor(String) manifest} — reloads then fetch only a patch.
+     */
+    public DevReloadClient(@NonNull Context context, @NonNull String bundleUrl,
+                           @NonNull Listener listener) {
+        this(eventsUrlFor(bundleUrl), listener);
+        TemplateLoader.getInstance(context).setManifestUrl(bundleUrl, manifestUrlFor(bundleUrl));
+    }
+
+    /**
+     * The event stream {@code lynx dev} serves for {@code bundleUrl}: same host, the next
+     * port up ({@code http://localhost:3000/main.lynx.bundle} →
+     * {@code http://localhost:3001/events}).
+     */
+    @NonNull
+    public static String eventsUrlFor(@NonNull String bundleUrl) {
+        return devServerUrl(bundleUrl, EVENTS_PATH);
+    }
+
+    /**
+     * The update manifest {@code lynx dev} serves for {@code bundleUrl}, next to the event
+     * stream ({@code http://localhost:3001/main.lynx.bundle.manifest.json}).
+     */
+    @NonNull
+    public static String manifestUrlFor(@NonNull String bundleUrl) {
+        String name = bundleUrl.substring(bundleUrl.lastIndexOf('/') + 1);
+        return devServerUrl(bundleUrl, "/" + name + UpdateManifest.SUFFIX);
+    }
+
+    private static String devServerUrl(String bundleUrl, String path) {
+        try {
+            URL url = new URL(bundleUrl);
+            int port = url.getPort() != -1 ? url.getPort() : url.getDefaultPort();
+            return new URL(url.getProtocol(), url.getHost(), port + 1, path).toString();
+        } catch (IOException e) {
+            throw new IllegalArgumentException("not a URL: " + bundleUrl, e);
+        }
+    }
+
+    /** Open the connection. Does nothing if already started. */
+    @MainThread
+    public synchronized void start() {
+        if (mThread != null) return;
+        mThread = new Thread(this::run, "LynxDevReload");
+        mThread.setDaemon(true);
+        mThread.start();
+    }
+
+    /** Close the connection and stop reconnecting. No listener calls follow. */
+    @MainThread
+    public void stop() {
+        HttpURLConnection connection;
+        synchronized (this) {
+            if (mThread == null) return;
+            mThread.interrupt();
+            mThread = null;
+            connection = mConnection;
+            mConnection = null;
+        }
+        // Unblocks the pending read; the thread then sees the interrupt and exits.
+        if (connection != null) connection.disconnect();
+        mMainHandler.removeCallbacksAndMessages(null);
+    }
+
+    // -----------------------------------------------------------------------
+    // Connection thread
+    // -----------------------------------------------------------------------
+
+    private void run() {
+        long backoffMs = INITIAL_BACKOFF_MS;
+        while (!Thread.currentThread().isInterrupted()) {
+            mConnected = false;
+            try {
+                listen();
+            } catch (IOException e) {
+                Log.d(TAG, "reload stream unavailable: " + e.getMessage());
+            }
+            // A stream that was open, however it ended (keepalive timeout, server restart),
+            // reconnects quickly; only failed connects back off further.
+            if (mConnected) backoffMs = INITIAL_BACKOFF_MS;
+            if (Thread.currentThread().isInterrupted()) return;
+            try {
+                Thread.sleep(backoffMs);
+            } catch (InterruptedException e) {
+                return;
+            }
+            backoffMs = Math.min(backoffMs * 2, MAX_BACKOFF_MS);
+        }
+    }
+
+    /**
+     * Read events until the stream ends. Sets {@link #mConnected} once the server accepted
+     * the connection, which resets the backoff.
+     */
+    private void listen() throws IOException {
+        HttpURLConnection connection = (HttpURLConnection) new URL(mEventsUrl).openConnection();
+        connection.setConnectTimeout(CONNECT_TIMEOUT_MS);
+        // Events arrive only when something changes, but keepalives arrive every 15 s: a
+        // longer silence means the connection is gone, and the timeout triggers a reconnect.
+        connection.setReadTimeout(READ_TIMEOUT_MS);
+        connection.setRequestProperty("Accept", "text/event-stream");
+        synchronized (this) {
+            if (mThread != Thread.currentThread()) return;
+            mConnection = connection;
+        }
+        try {
+            if (connection.getResponseCode() != HttpURLConnection.HTTP_OK) {
+                throw new IOException("HTTP " + connection.getResponseCode());
+            }
+            synchronized (this) {
+                // Stopped while connecting: disconnect() may have raced the connect.
+                if (mThread != Thread.currentThread()) return;
+            }
+            mConnected = true;
+            Log.d(TAG, "connected to " + mEventsUrl);
+            try (BufferedReader reader = new BufferedReader(
+                    new InputStreamReader(connection.getInputStream(), "UTF-8"))) {
+                String event = null;
+                StringBuilder data = new StringBuilder();
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    if (line.isEmpty()) {
+                        if (event != null) onEvent(event, data.toString());
+                        event = null;
+                        data.setLength(0);
+                    } else if (line.startsWith("event:")) {
+                        event = line.substring(6).trim();
+                    } else if (line.startsWith("data:")) {
+                        if (data.length() > 0) data.append('\n');
+                        data.append(line.substring(5).trim());
+                    }
+                    // Comments (":keepalive") and unknown fields are ignored.
+                }
+            }
+        } finally {
+            synchronized (this) {
+                if (mConnection == connection) mConnection = null;
+            }
+            connection.disconnect();
+        }
+    }
+
+    private void onEvent(String event, String data) {
+        if (!EVENT_HELLO.equals(event) && !EVENT_BUNDLE_CHANGED.equals(event)) return;
+        String version = parseVersion(data);
+        String previous = mLastVersion;
+        mLastVersion = version;
+        // The first hello only records the version the app started with.
+        boolean changed = EVENT_BUNDLE_CHANGED.equals(event)
+                ? version == null || !version.equals(previous)
+                : previous != null && version != null && !version.equals(previous);
+        if (!changed) return;
+        Log.d(TAG, "bundle changed (" + version + ")");
+        final Thread owner = Thread.currentThread();
+        mMainHandler.post(() -> {
+            synchronized (DevReloadClient.this) {
+                if (mThread != owner) return;
+            }
+            mListener.onBundleChanged();
+        });
+    }
+
+    /** The content hash from an event, else its ETag. */
+    @Nullable
+    private static String parseVersion(String data) {
+        try {
+            JSONObject json = new JSONObject(data);
+            String sha256 = json.optString("sha256", null);
+            return sha256 != null ? sha256 : json.optString("etag", null);
+        } catch (JSONException e) {
+            return null;
+        }
+    }
+}
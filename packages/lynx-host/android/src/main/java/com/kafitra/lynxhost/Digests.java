@@ -0,0 +1,47 @@
+package com.kafitra.lynxhost;
+
+import java.nio.charset.Charset;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+/**
+ * Digests — hashing helpers shared by the cache, the patcher and the update manifest.
+ *
+ * <p>Plain Java (no Android dependencies).
+ */
+final class Digests {
+
+    private Digests() {}
+
+    /** A new SHA-256 digest. Every Java platform is required to provide it. */
+    static MessageDigest sha256() {
+        return getInstance("SHA-256");
+    }
+
+    /** SHA-256 of {@code data} as lowercase hex. */
+    static String sha256Hex(byte[] data) {
+        return hex(sha256().digest(data));
+    }
+
+    /** SHA-1 of the UTF-8 bytes of {@code text} as lowercase hex. */
+    static String sha1Hex(String text) {
+        return hex(getInstance("SHA-1").digest(text.getBytes(Charset.forName("UTF-8"))));
+    }
+
+    static String hex(byte[] hash) {
+        StringBuilder hex = new StringBuilder(hash.length * 2);
+        for (byte b : hash) {
+            hex.append(Character.forDigit((b >> 4) & 0xF, 16))
+                    .append(Character.forDigit(b & 0xF, 16));
+        }
+        return hex.toString();
+    }
+
+    private static MessageDigest getInstance(String algorithm) {
+        try {
+            return MessageDigest.getInstance(algorithm);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package com.kafitra.lynxhost;
+
+/**
+ * Handle to a pending {@link TemplateLoader#load} request.
+ */
+public interface LoadHandle {
+
+    /**
+     * Stop delivering the result to this request's callback. The underlying fetch is
+     * cancelled only once every request sharing it has been cancelled. Calling this after
+     * the callback has run is a no-op.
+     */
+    void cancel();
+}
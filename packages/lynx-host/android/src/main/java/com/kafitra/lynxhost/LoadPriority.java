@@ -0,0 +1,16 @@
+package com.kafitra.lynxhost;
+
+/**
+ * Scheduling priority for template loads on the shared loader executor.
+ *
+ * <p>Queued loads are started in priority order, FIFO within the same priority.
+ * A load already running is never pre-empted.
+ */
+public enum LoadPriority {
+    /** The bundle a visible surface is waiting on. */
+    HIGH,
+    /** Default for {@link LynxTemplateProvider}. */
+    NORMAL,
+    /** Speculative work (prefetch) — runs only when nothing more urgent is queued. */
+    LOW
+}
@@ -0,0 +1,50 @@
+package com.kafitra.lynxhost;
+
+import com.kafitra.lynxscheduler.LynxScheduler;
+import com.kafitra.lynxscheduler.Priority;
+import com.kafitra.lynxscheduler.Task;
+
+/**
+ * LoaderExecutor — maps template loads onto the shared {@link LynxScheduler} pools.
+ *
+ * <p>Every load runs on the {@link LynxScheduler#io() I/O pool} (at most
+ * {@link LynxScheduler#IO_POOL_SIZE} threads, shared with the other packages' I/O) at the
+ * {@link Priority} matching its {@link LoadPriority}; excess work waits in the pool's queue
+ * ordered by priority, then submission order. A {@link LoadPriority#LOW} load (prefetch,
+ * background revalidation) therefore starts only when no more urgent load is waiting. It is
+ * kept off the single {@link LynxScheduler#background() background} thread because it blocks on
+ * the network, which would stall the short tasks queued there. Raising a queued load re-sorts
+ * it in the queue.
+ */
+final class LoaderExecutor {
+
+    /** Queue {@code body} at {@code priority}. */
+    Task submit(Runnable body, LoadPriority priority) {
+        return LynxScheduler.io().submit(body, toPriority(priority));
+    }
+
+    /**
+     * Move a still-queued task to a more urgent priority. Returns {@code false} if the task
+     * already started (or finished) and was left alone.
+     */
+    boolean raisePriority(Task task, LoadPriority priority) {
+        if (toPriority(priority).compareTo(task.getPriority()) >= 0) return false;
+        return task.requeue(LynxScheduler.io(), toPriority(priority));
+    }
+
+    /** Drop {@code task} from the queue, or interrupt it if it is already running. */
+    void cancel(Task task) {
+        task.cancel();
+    }
+
+    private static Priority toPriority(LoadPriority priority) {
+        switch (priority) {
+            case HIGH:
+                return Priority.HIGH;
+            case LOW:
+                return Priority.LOW;
+            default:
+                return Priority.NORMAL;
+        }
+    }
+}
@@ -0,0 +1,381 @@
+package com.kafitra.lynxhost;
+
+import android.app.Activity;
+import android.app.Application;
+import android.os.Bundle;
+import android.os.Handler;
+import android.os.Looper;
+import android.os.SystemClock;
+import android.util.Log;
+import android.view.View;
+import android.view.ViewTreeObserver;
+
+import androidx.annotation.MainThread;
+import androidx.annotation.NonNull;
+
+import com.kafitra.lynxscheduler.LynxScheduler;
+import com.kafitra.lynxscheduler.Priority;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * LynxBootstrap — runs {@code Application.onCreate()} initialization as a graph of named
+ * steps instead of one long sequence on the main thread.
+ *
+ * <p>Each step declares where it runs and which steps it needs first:
+ * <ul>
+ *   <li>{@link Mode#MAIN} — on the main thread, inside {@link #start(Application)};</li>
+ *   <li>{@link Mode#BACKGROUND} — on the shared {@code LynxScheduler.cpu()} pool, in parallel
+ *       with the main-thread steps and each other;</li>
+ *   <li>{@link Mode#DEFERRED} — on the same pool once the first Activity has drawn its first
+ *       frame, for work the first screen does not need.</li>
+ * </ul>
+ * A step starts as soon as all of its dependencies have finished. {@link #start(Application)}
+ * returns once every {@code MAIN} and {@code BACKGROUND} step is done, so the main thread is
+ * held only for the longer of the two paths rather than their sum, and everything the first
+ * screen relies on is in place when the Activity is created.
+ *
+ * <pre>{@code
+ * new LynxBootstrap()
+ *         .addStep("fresco", Mode.BACKGROUND, this::initFresco)
+ *         .addStep("image-service", Mode.BACKGROUND, this::registerImageService, "fresco")
+ *         .addStep("lynx-env", Mode.MAIN, this::initLynxEnv)
+ *         .addStep("autolink", Mode.MAIN, LynxAutolinkRegistry::registerAll, "lynx-env")
+ *         .start(this);
+ * }</pre>
+ *
+ * <p>Every step is timed; the timings are logged under the {@code LynxBootstrap} tag and available from
+ * {@link #getTimings()}, and traced through {@link StartupTracer}. An exception thrown by a {@code MAIN} or {@code BACKGROUND} step is
+ * rethrown from {@link #start(Application)}; one thrown by a deferred step is rethrown on the
+ * main thread. Steps depending on a failed step do not run.
+ */
+public final class LynxBootstrap {
+
+    private static final String TAG = "LynxBootstrap";
+
+    /** Where and when a step runs. */
+    public enum Mode {
+        /** On the main thread, before {@link #start(Application)} returns. */
+        MAIN,
+        /** On a shared CPU pool thread, before {@link #start(Application)} returns. */
+        BACKGROUND,
+        /** On a shared CPU pool thread, after the first Activity has drawn its first frame. */
+        DEFERRED
+    }
+
+    /** How long one step took. */
+    public static final class StepTiming {
+        public final String name;
+        public final Mode mode;
+        /** Start, in milliseconds since {@link #start(Application)} was called. */
+        public final long startMs;
+        public final long durationMs;
+        public final String threadName;
+
+        StepTiming(String name, Mode mode, long startMs, long durationMs, String threadName) {
+            this.name = name;
+            this.mode = mode;
+            this.startMs = startMs;
+            this.durationMs = durationMs;
+            this.threadName = threadName;
+        }
+
+        @Override
+        public String toString() {
+            return String.format(Locale.ROOT, "%-20s %-10s +%4d ms %5d ms  %s",
+                    name, mode, startMs, durationMs, threadName);
+        }
+    }
+
+    private static final class Step {
+        final String name;
+        final Mode mode;
+        final Runnable body;
+        final String[] dependsOn;
+        final List<Step> dependents = new ArrayList<>();
+        /** Dependencies not finished yet. Guarded by the bootstrap. */
+        int waitingFor;
+
+        Step(String name, Mode mode, Runnable body, String[] dependsOn) {
+            this.name = name;
+            this.mode = mode;
+            this.body = body;
+            this.dependsOn = dependsOn;
+        }
+    }
+
+    private final Map<String, Step> mSteps = new LinkedHashMap<>();
+    private final Handler mMainHandler = new Handler(Looper.getMainLooper());
+    /** Guarded by {@code this}. */
+    private final List<StepTiming> mTimings = new ArrayList<>();
+    /** Main-thread steps whose dependencies have finished. Guarded by {@code this}. */
+    private final ArrayDeque<Step> mMainReady = new ArrayDeque<>();
+    /** Deferred steps ready to run before the first frame was drawn. Guarded by {@code this}. */
+    private final List<Step> mDeferredReady = new ArrayList<>();
+    /** {@code MAIN} and {@code BACKGROUND} steps not finished yet. Guarded by {@code this}. */
+    private int mCriticalRemaining;
+    /** Guarded by {@code this}. */
+    private boolean mFirstFrameDrawn;
+    /** First failure of a critical step. Guarded by {@code this}. */
+    private Throwable mFailure;
+    private long mStartNanos;
+
+    /**
+     * Add a step. Dependencies must be added before {@link #start(Application)}; a
+     * {@code MAIN} or {@code BACKGROUND} step cannot depend on a deferred one.
+     */
+    @NonNull
+    public LynxBootstrap addStep(@NonNull String name, @NonNull Mode mode, @NonNull Runnable body,
+                                 @NonNull String... dependsOn) {
+        if (mSteps.containsKey(name)) {
+            throw new IllegalArgumentException("duplicate bootstrap step: " + name);
+        }
+        mSteps.put(name, new Step(name, mode, body, dependsOn));
+        return this;
+    }
+
+    /**
+     * Run every step. Returns when all {@code MAIN} and {@code BACKGROUND} steps have
+     * finished; deferred steps run after the first frame of the first Activity.
+     */
+    @MainThread
+    public void start(@NonNull Application application) {
+        if (Looper.myLooper() != Looper.getMainLooper()) {
+            throw new IllegalStateException("LynxBootstrap.start() must be called on the main thread");
+        }
+        link();
+        StartupTracer.Section section = StartupTracer.begin("bootstrap");
+        mStartNanos = SystemClock.elapsedRealtimeNanos();
+
+        List<Step> ready = new ArrayList<>();
+        synchronized (this) {
+            for (Step step : mSteps.values()) {
+                if (step.mode != Mode.DEFERRED) mCriticalRemaining++;
+                if (step.waitingFor == 0) ready.add(step);
+            }
+        }
+        for (Step step : ready) schedule(step);
+
+        boolean interrupted = false;
+        while (true) {
+            Step next;
+            synchronized (this) {
+                while (mMainReady.isEmpty() && mCriticalRemaining > 0 && mFailure == null) {
+                    try {
+                        wait();
+                    } catch (InterruptedException e) {
+                        // Startup cannot be abandoned half-way; restore the flag afterwards.
+                        interrupted = true;
+                    }
+                }
+                if (mFailure != null) {
+                    section.close();
+                    throw asRuntime(mFailure);
+                }
+                if (mMainReady.isEmpty()) break;
+                next = mMainReady.poll();
+            }
+            run(next);
+        }
+        if (interrupted) Thread.currentThread().interrupt();
+        section.close();
+        logSummary();
+        runDeferredAfterFirstFrame(application);
+    }
+
+    /** Timings of the steps finished so far, in completion order. */
+    @NonNull
+    public synchronized List<StepTiming> getTimings() {
+        return Collections.unmodifiableList(new ArrayList<>(mTimings));
+    }
+
+    // -----------------------------------------------------------------------
+    // Scheduling
+    // -----------------------------------------------------------------------
+
+    /** Resolve dependencies and reject unknown names, deferred prerequisites and cycles. */
+    private void link() {
+        for (Step step : mSteps.values()) {
+            for (String name : step.dependsOn) {
+                Step dependency = mSteps.get(name);
+                if (dependency == null) {
+                    throw new IllegalArgumentException(
+                            "bootstrap step " + step.name + " depends on unknown step " + name);
+                }
+                if (dependency.mode == Mode.DEFERRED && step.mode != Mode.DEFERRED) {
+                    throw new IllegalArgumentException("bootstrap step " + step.name
+                            + " cannot depend on deferred step " + name);
+                }
+                dependency.dependents.add(step);
+                step.waitingFor++;
+            }
+        }
+        // Kahn's algorithm: every step must become ready eventually.
+        Map<Step, Integer> waiting = new LinkedHashMap<>();
+        ArrayDeque<Step> queue = new ArrayDeque<>();
+        for (Step step : mSteps.values()) {
+            waiting.put(step, step.waitingFor);
+            if (step.waitingFor == 0) queue.add(step);
+        }
+        int visited = 0;
+        while (!queue.isEmpty()) {
+            Step step = queue.poll();
+            visited++;
+            for (Step dependent : step.dependents) {
+                int left = waiting.get(dependent) - 1;
+                waiting.put(dependent, left);
+                if (left == 0) queue.add(dependent);
+            }
+        }
+        if (visited != mSteps.size()) {
+            throw new IllegalArgumentException("bootstrap steps have a dependency cycle");
+        }
+    }
+
+    private void schedule(final Step step) {
+        switch (step.mode) {
+            case MAIN:
+                synchronized (this) {
+                    mMainReady.add(step);
+                    notifyAll();
+                }
+                break;
+            case BACKGROUND:
+                // The main thread is blocked on these, so they go ahead of other queued work.
+                LynxScheduler.cpu().submit(() -> run(step), Priority.HIGH);
+                break;
+            case DEFERRED:
+                synchronized (this) {
+                    if (!mFirstFrameDrawn) {
+                        mDeferredReady.add(step);
+                        return;
+                    }
+                }
+                LynxScheduler.cpu().submit(() -> run(step), Priority.NORMAL);
+                break;
+        }
+    }
+
+    private void run(Step step) {
+        long start = SystemClock.elapsedRealtimeNanos();
+        try (StartupTracer.Section ignored = StartupTracer.begin("bootstrap:" + step.name)) {
+            step.body.run();
+        } catch (Throwable t) {
+            onFailed(step, t);
+            return;
+        }
+        long end = SystemClock.elapsedRealtimeNanos();
+        StepTiming timing = new StepTiming(step.name, step.mode,
+                (start - mStartNanos) / 1_000_000, (end - start) / 1_000_000,
+                Thread.currentThread().getName());
+        Log.d(TAG, timing.toString());
+
+        List<Step> ready = new ArrayList<>();
+        synchronized (this) {
+            mTimings.add(timing);
+            if (step.mode != Mode.DEFERRED) mCriticalRemaining--;
+            for (Step dependent : step.dependents) {
+                if (--dependent.waitingFor == 0) ready.add(dependent);
+            }
+            notifyAll();
+        }
+        for (Step dependent : ready) schedule(dependent);
+    }
+
+    private void onFailed(Step step, final Throwable t) {
+        Log.e(TAG, "bootstrap step " + step.name + " failed", t);
+        if (step.mode == Mode.DEFERRED) {
+            mMainHandler.post(() -> {
+                throw asRuntime(t);
+            });
+            return;
+        }
+        synchronized (this) {
+            if (mFailure == null) mFailure = t;
+            notifyAll();
+        }
+    }
+
+    /**
+     * Run deferred steps once the first Activity has drawn: they then compete only with work
+     * the user is already looking at, not with getting the first frame out.
+     */
+    private void runDeferredAfterFirstFrame(final Application application) {
+        synchronized (this) {
+            if (mDeferredReady.isEmpty()) {
+                mFirstFrameDrawn = true;
+                return;
+            }
+        }
+        application.registerActivityLifecycleCallbacks(new ActivityCallbacks() {
+            @Override
+            public void onActivityResumed(@NonNull Activity activity) {
+                application.unregisterActivityLifecycleCallbacks(this);
+                final View decor = activity.getWindow().getDecorView();
+                decor.getViewTreeObserver().addOnDrawListener(new ViewTreeObserver.OnDrawListener() {
+                    private boolean mDrawn;
+
+                    @Override
+                    public void onDraw() {
+                        if (mDrawn) return;
+                        mDrawn = true;
+                        // Listeners cannot be removed during dispatch; also lets the frame finish.
+                        mMainHandler.post(() -> {
+                            decor.getViewTreeObserver().removeOnDrawListener(this);
+                            onFirstFrame();
+                        });
+                    }
+                });
+            }
+        });
+    }
+
+    private void onFirstFrame() {
+        List<Step> ready;
+        synchronized (this) {
+            mFirstFrameDrawn = true;
+            ready = new ArrayList<>(mDeferredReady);
+            mDeferredReady.clear();
+        }
+        for (Step step : ready) schedule(step);
+    }
+
+    private synchronized void logSummary() {
+        long wallMs = (SystemClock.elapsedRealtimeNanos() - mStartNanos) / 1_000_000;
+        long mainMs = 0;
+        long backgroundMs = 0;
+        for (StepTiming timing : mTimings) {
+            if (timing.mode == Mode.MAIN) {
+                mainMs += timing.durationMs;
+            } else {
+                backgroundMs += timing.durationMs;
+            }
+        }
+        Log.i(TAG, "bootstrap took " + wallMs + " ms on the main thread ("
+                + mainMs + " ms main-thread steps, " + backgroundMs + " ms in background)");
+    }
+
+    private static RuntimeException asRuntime(Throwable t) {
+        if (t instanceof RuntimeException) return (RuntimeException) t;
+        if (t instanceof Error) throw (Error) t;
+        return new RuntimeException(t);
+    }
+
+    /** No-op base so only the needed callback is overridden. */
+    private abstract static class ActivityCallbacks
+            implements Application.ActivityLifecycleCallbacks {
+        @Override public void onActivityCreated(@NonNull Activity a, Bundle b) {}
+        @Override public void onActivityStarted(@NonNull Activity a) {}
+        @Override public void onActivityResumed(@NonNull Activity a) {}
+        @Override public void onActivityPaused(@NonNull Activity a) {}
+        @Override public void onActivityStopped(@NonNull Activity a) {}
+        @Override public void onActivitySaveInstanceState(@NonNull Activity a, @NonNull Bundle b) {}
+        @Override public void onActivityDestroyed(@NonNull Activity a) {}
+    }
+}
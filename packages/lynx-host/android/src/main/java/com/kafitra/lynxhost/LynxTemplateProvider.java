@@ -0,0 +1,103 @@
+package com.kafitra.lynxhost;
+
+import android.content.Context;
+
+import com.lynx.tasm.provider.AbsTemplateProvider;
+
+import java.util.Collections;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * LynxTemplateProvider — drop-in {@link AbsTemplateProvider} backed by the shared
+ * {@link TemplateLoader}.
+ *
+ * <p>Supports two kinds of URI:
+ * <ul>
+ *   <li>Network URL ({@code http://} / {@code https://}) — loaded from the dev server, falling
+ *       back to the bundled {@code main.lynx.bundle} asset when the server is unreachable.</li>
+ *   <li>Anything else — treated as a file name in the APK's {@code assets/} folder.</li>
+ * </ul>
+ *
+ * <p>Create one provider per {@code LynxView} (or per screen) and call {@link #cancelPending()}
+ * when the view is destroyed, so loads nobody is waiting for any more are dropped.
+ *
+ * <pre>{@code
+ * LynxViewBuilder builder = new LynxViewBuilder();
+ * builder.setTemplateProvider(new LynxTemplateProvider(context));
+ * }</pre>
+ */
+public class LynxTemplateProvider extends AbsTemplateProvider {
+
+    private final TemplateLoader mLoader;
+    private final LoadPriority mPriority;
+    private final Set<TrackedCallback> mPending =
+            Collections.newSetFromMap(new ConcurrentHashMap<TrackedCallback, Boolean>());
+
+    public LynxTemplateProvider(Context context) {
+        this(context, LoadPriority.NORMAL);
+    }
+
+    /**
+     * @param priority priority of this provider's loads on the shared executor — e.g.
+     *                 {@link LoadPriority#HIGH} for the surface currently on screen.
+     */
+    public LynxTemplateProvider(Context context, LoadPriority priority) {
+        mLoader = TemplateLoader.getInstance(context);
+        mPriority = priority;
+    }
+
+    @Override
+    public void loadTemplate(String uri, Callback callback) {
+        TrackedCallback tracked = new TrackedCallback(callback,
+                StartupTracer.beginAsync("loadTemplate " + uri));
+        mPending.add(tracked);
+        tracked.handle = mLoader.load(uri, mPriority, tracked);
+    }
+
+    /**
+     * Warm the shared caches with {@code uri} at low priority. See
+     * {@link TemplateLoader#prefetch(String)}.
+     */
+    public void prefetch(String uri) {
+        mLoader.prefetch(uri);
+    }
+
+    /** Cancel every load started through this provider that has not completed yet. */
+    public void cancelPending() {
+        for (TrackedCallback tracked : mPending) {
+            mPending.remove(tracked);
+            LoadHandle handle = tracked.handle;
+            if (handle != null) handle.cancel();
+        }
+    }
+
+    /**
+     * Forwards to the Lynx callback, drops itself from {@link #mPending} once delivered and
+     * ends the load's trace span.
+     */
+    private final class TrackedCallback implements Callback {
+        private final Callback mDelegate;
+        private final StartupTracer.Section mTrace;
+        volatile LoadHandle handle;
+
+        TrackedCallback(Callback delegate, StartupTracer.Section trace) {
+            mDelegate = delegate;
+            mTrace = trace;
+        }
+
+        @Override
+        public void onSuccess(byte[] template) {
+            mPending.remove(this);
+            mTrace.close();
+            mDelegate.onSuccess(template);
+        }
+
+        @Override
+        public void onFailed(String msg) {
+            mPending.remove(this);
+            mTrace.close();
+            mDelegate.onFailed(msg);
+        }
+    }
+}
@@ -0,0 +1,187 @@
+package com.kafitra.lynxhost;
+
+import android.content.Context;
+import android.content.MutableContextWrapper;
+import android.os.Handler;
+import android.os.Looper;
+import android.util.Log;
+import android.view.ViewGroup;
+import android.view.ViewParent;
+
+import androidx.annotation.MainThread;
+import androidx.annotation.NonNull;
+
+import com.lynx.tasm.LynxView;
+import com.lynx.tasm.LynxViewBuilder;
+import com.lynx.tasm.LynxViewClient;
+
+import java.util.ArrayDeque;
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+/**
+ * LynxViewPool — builds {@link LynxView}s ahead of time so a screen does not pay for view
+ * construction when it opens.
+ *
+ * <p>Call {@link #prewarm()} from {@code Application.onCreate()}, after {@code LynxEnv} is
+ * initialized. The build is posted to the main thread and runs as soon as
+ * {@code Application.onCreate()} returns, while the first Activity is still being created; if
+ * the Activity asks for a view before that, {@link #acquire(Context)} runs the queued build
+ * right away instead of waiting for it. Combine it with
+ * {@link TemplateLoader#prefetch(String, LoadPriority)} so the template loads in the
+ * background at the same time.
+ *
+ * <p>Pooled views are built inside a {@link MutableContextWrapper} around the application
+ * context and re-pointed at the Activity when acquired. Every view gets its own
+ * {@link LynxTemplateProvider} at {@link LoadPriority#HIGH}; {@link #release(LynxView)} cancels
+ * its pending loads and destroys the view. A released view is never reused. The first screen
+ * drawn by a pooled view ends the {@link StartupTracer} timeline, which is then written out.
+ *
+ * <pre>{@code
+ * // Application.onCreate()
+ * LynxViewPool pool = LynxViewPool.getInstance(this);
+ * pool.setViewConfig(builder -> builder.addBehaviors(new XElementBehaviors().create()));
+ * pool.prewarm();
+ *
+ * // Activity.onCreate() / onDestroy()
+ * mLynxView = LynxViewPool.getInstance(this).acquire(this);
+ * LynxViewPool.getInstance(this).release(mLynxView);
+ * }</pre>
+ *
+ * <p>All methods must be called on the main thread.
+ */
+public final class LynxViewPool {
+
+    private static final String TAG = "LynxViewPool";
+
+    /** Adds behaviors and other settings to every view the pool builds. */
+    public interface ViewConfig {
+        void configure(@NonNull LynxViewBuilder builder);
+    }
+
+    private static LynxViewPool sInstance;
+    /** Whether the startup timeline has been written for this process. */
+    private static boolean sFirstScreenTraced;
+
+    private final Context mAppContext;
+    private final Handler mMainHandler = new Handler(Looper.getMainLooper());
+    /** Built views waiting for an Activity. */
+    private final ArrayDeque<LynxView> mIdle = new ArrayDeque<>();
+    /** Template provider of every view built and not yet released. */
+    private final Map<LynxView, LynxTemplateProvider> mProviders = new IdentityHashMap<>();
+    /** Builds posted by {@link #prewarm()} that have not run yet. */
+    private int mPendingBuilds;
+    private ViewConfig mConfig;
+
+    private final Runnable mBuildTask = new Runnable() {
+        @Override
+        public void run() {
+            if (mPendingBuilds == 0) return;
+            mPendingBuilds--;
+            long start = System.nanoTime();
+            mIdle.add(build(new MutableContextWrapper(mAppContext)));
+            Log.d(TAG, "prewarmed a LynxView in "
+                    + (System.nanoTime() - start) / 1_000_000 + " ms");
+        }
+    };
+
+    /** Ends the startup timeline at the first screen drawn by any pooled view. */
+    private final LynxViewClient mFirstScreenClient = new LynxViewClient() {
+        @Override
+        public void onFirstScreen() {
+            if (sFirstScreenTraced) return;
+            sFirstScreenTraced = true;
+            StartupTracer.mark("first-screen");
+            Log.i(TAG, "first screen " + StartupTracer.uptimeMs() + " ms after process start");
+            StartupTracer.writeAsync(mAppContext);
+        }
+    };
+
+    private LynxViewPool(Context context) {
+        mAppContext = context.getApplicationContext();
+    }
+
+    /** The shared pool for this process. */
+    @MainThread
+    public static LynxViewPool getInstance(@NonNull Context context) {
+        if (sInstance == null) sInstance = new LynxViewPool(context);
+        return sInstance;
+    }
+
+    /** How every view is configured. Must be set before the first build. */
+    @MainThread
+    public void setViewConfig(@NonNull ViewConfig config) {
+        mConfig = config;
+    }
+
+    /** Queue one more view to be built on the main thread as soon as it is free. */
+    @MainThread
+    public void prewarm() {
+        requireConfig();
+        mPendingBuilds++;
+        mMainHandler.post(mBuildTask);
+    }
+
+    /**
+     * A view for {@code context} (normally the Activity): a prewarmed one if available,
+     * otherwise one built now. Pass it to {@link #release(LynxView)} when done.
+     */
+    @MainThread
+    @NonNull
+    public LynxView acquire(@NonNull Context context) {
+        requireConfig();
+        if (mIdle.isEmpty() && mPendingBuilds > 0) {
+            // The queued build has not run yet; doing it now is no slower than waiting.
+            mMainHandler.removeCallbacks(mBuildTask);
+            mBuildTask.run();
+            for (int i = 0; i < mPendingBuilds; i++) mMainHandler.post(mBuildTask);
+        }
+        LynxView view = mIdle.poll();
+        if (view == null) return build(context);
+        ((MutableContextWrapper) view.getContext()).setBaseContext(context);
+        return view;
+    }
+
+    /** Cancel the view's pending template loads, detach and destroy it. */
+    @MainThread
+    public void release(@NonNull LynxView view) {
+        LynxTemplateProvider provider = mProviders.remove(view);
+        if (provider != null) provider.cancelPending();
+        ViewParent parent = view.getParent();
+        if (parent instanceof ViewGroup) ((ViewGroup) parent).removeView(view);
+        view.destroy();
+        if (view.getContext() instanceof MutableContextWrapper) {
+            // Do not keep the Activity reachable through a destroyed view.
+            ((MutableContextWrapper) view.getContext()).setBaseContext(mAppContext);
+        }
+    }
+
+    /** Destroy every idle view and drop queued builds — e.g. on memory pressure. */
+    @MainThread
+    public void clear() {
+        mPendingBuilds = 0;
+        mMainHandler.removeCallbacks(mBuildTask);
+        LynxView view;
+        while ((view = mIdle.poll()) != null) release(view);
+    }
+
+    private LynxView build(Context context) {
+        LynxTemplateProvider provider = new LynxTemplateProvider(context, LoadPriority.HIGH);
+        LynxView view;
+        try (StartupTracer.Section ignored = StartupTracer.begin("LynxViewBuilder.build")) {
+            LynxViewBuilder builder = new LynxViewBuilder();
+            builder.setTemplateProvider(provider);
+            mConfig.configure(builder);
+            view = builder.build(context);
+        }
+        mProviders.put(view, provider);
+        if (!sFirstScreenTraced) view.addLynxViewClient(mFirstScreenClient);
+        return view;
+    }
+
+    private void requireConfig() {
+        if (mConfig == null) {
+            throw new IllegalStateException("LynxViewPool.setViewConfig() was not called");
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.kafitra.lynxhost;
+
+import android.content.Context;
+
+import com.lynx.jsbridge.LynxMethod;
+import com.lynx.jsbridge.LynxModule;
+
+/**
+ * StartupTraceModule — exposes the {@link StartupTracer} timeline to JS.
+ *
+ * <h3>Registration:</h3>
+ * <pre>
+ * LynxEnv.inst().registerModule("LynxStartupTrace", StartupTraceModule.class);
+ * </pre>
+ * {@code lynx link} does this automatically.
+ */
+public class StartupTraceModule extends LynxModule {
+
+    public StartupTraceModule(Context context) {
+        super(context);
+    }
+
+    /**
+     * Returns the startup timeline recorded so far, as a Chrome trace event JSON string.
+     *
+     * @return see {@link StartupTracer#toJson()}
+     */
+    @LynxMethod
+    public String getTimeline() {
+        return StartupTracer.toJson();
+    }
+
+    /**
+     * Records a point in time on the timeline, e.g. {@code "app-interactive"} once JS has
+     * fetched its initial data.
+     */
+    @LynxMethod
+    public void mark(String name) {
+        if (name != null) StartupTracer.mark("js:" + name);
+    }
+}
@@ -0,0 +1,225 @@
+package com.kafitra.lynxhost;
+
+import android.content.Context;
+import android.os.Build;
+import android.os.Process;
+import android.os.SystemClock;
+import android.os.Trace;
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+
+import com.kafitra.lynxscheduler.LynxScheduler;
+import com.kafitra.lynxscheduler.Priority;
+
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * StartupTracer — records where cold start time goes: bootstrap steps, template loads,
+ * {@code LynxView} construction and the first screen.
+ *
+ * <p>Every span is emitted twice: as an {@link Trace android.os.Trace} section, so it shows up
+ * in Perfetto / systrace captures, and into a small in-process timeline measured from process
+ * start. The timeline is written to {@link #FILE_NAME} in the app's files directory once the
+ * first screen is drawn, can be read from JS through {@link StartupTraceModule}, and is pulled
+ * and summarized by {@code lynx trace}. It uses the Chrome trace event format, so the file
+ * also opens directly in {@code ui.perfetto.dev}.
+ *
+ * <p>Recording stops after {@link #MAX_EVENTS} events, which keeps the cost bounded for the
+ * rest of the process lifetime. All methods are thread-safe.
+ */
+public final class StartupTracer {
+
+    private static final String TAG = "StartupTracer";
+
+    /** Timeline file in {@link Context#getFilesDir()}. */
+    public static final String FILE_NAME = "lynx-startup-trace.json";
+
+    static final int MAX_EVENTS = 512;
+    /** {@link Trace} rejects longer section names. */
+    private static final int MAX_SECTION_NAME = 127;
+
+    /** Process start on the {@link SystemClock#elapsedRealtime()} clock, in ms. */
+    private static final long PROCESS_START_MS = Build.VERSION.SDK_INT >= 24
+            ? Process.getStartElapsedRealtime()
+            : SystemClock.elapsedRealtime();
+
+    private static final AtomicInteger sAsyncCookie = new AtomicInteger();
+    /** Guarded by {@code StartupTracer.class}. */
+    private static final List<Event> sEvents = new ArrayList<>();
+    /** Guarded by {@code StartupTracer.class}. */
+    private static final Map<Integer, String> sThreadNames = new HashMap<>();
+
+    private static final class Event {
+        final String name;
+        final long startUs;
+        /** {@code -1} for an instant. */
+        final long durationUs;
+        final int threadId;
+
+        Event(String name, long startUs, long durationUs, int threadId) {
+            this.name = name;
+            this.startUs = startUs;
+            this.durationUs = durationUs;
+            this.threadId = threadId;
+        }
+    }
+
+    /** An open span; {@link #close()} ends it. */
+    public interface Section extends AutoCloseable {
+        @Override
+        void close();
+    }
+
+    private StartupTracer() {}
+
+    /**
+     * Start a span on the calling thread. Close it on the same thread — {@link Trace} sections
+     * nest per thread:
+     * <pre>{@code
+     * try (StartupTracer.Section ignored = StartupTracer.begin("autolink")) {
+     *     LynxAutolinkRegistry.registerAll();
+     * }
+     * }</pre>
+     */
+    @NonNull
+    public static Section begin(@NonNull final String name) {
+        Trace.beginSection(sectionName(name));
+        final long startNanos = SystemClock.elapsedRealtimeNanos();
+        return () -> {
+            Trace.endSection();
+            record(name, startNanos, SystemClock.elapsedRealtimeNanos());
+        };
+    }
+
+    /**
+     * Start a span that may end on another thread, e.g. a template load from request to
+     * callback. Shown as an async slice on Android 10+.
+     */
+    @NonNull
+    public static Section beginAsync(@NonNull final String name) {
+        final int cookie = sAsyncCookie.incrementAndGet();
+        final String section = sectionName(name);
+        if (Build.VERSION.SDK_INT >= 29) Trace.beginAsyncSection(section, cookie);
+        final long startNanos = SystemClock.elapsedRealtimeNanos();
+        return () -> {
+            if (Build.VERSION.SDK_INT >= 29) Trace.endAsyncSection(section, cookie);
+            record(name, startNanos, SystemClock.elapsedRealtimeNanos());
+        };
+    }
+
+    /** Record a point in time, e.g. {@code first-screen}. */
+    public static void mark(@NonNull String name) {
+        long now = SystemClock.elapsedRealtimeNanos();
+        add(new Event(name, sinceStartUs(now), -1, Process.myTid()));
+    }
+
+    /** Milliseconds from process start to now. */
+    public static long uptimeMs() {
+        return SystemClock.elapsedRealtime() - PROCESS_START_MS;
+    }
+
+    /**
+     * The timeline as a Chrome trace event document:
+     * <pre>
+     * { "traceEvents": [ { "name": "…", "ph": "X", "ts": µs, "dur": µs, "pid": …, "tid": … }, … ],
+     *   "displayTimeUnit": "ms" }
+     * </pre>
+     * {@code ts} is measured from process start. Instants use {@code "ph": "i"}.
+     */
+    @NonNull
+    public static String toJson() {
+        try {
+            JSONArray events = new JSONArray();
+            int pid = Process.myPid();
+            synchronized (StartupTracer.class) {
+                for (Map.Entry<Integer, String> thread : sThreadNames.entrySet()) {
+                    events.put(new JSONObject()
+                            .put("name", "thread_name")
+                            .put("ph", "M")
+                            .put("pid", pid)
+                            .put("tid", thread.getKey())
+                            .put("args", new JSONObject().put("name", thread.getValue())));
+                }
+                for (Event event : sEvents) {
+                    JSONObject json = new JSONObject()
+                            .put("name", event.name)
+                            .put("ts", event.startUs)
+                            .put("pid", pid)
+                            .put("tid", event.threadId);
+                    if (event.durationUs >= 0) {
+                        json.put("ph", "X").put("dur", event.durationUs);
+                    } else {
+                        json.put("ph", "i").put("s", "p");
+                    }
+                    events.put(json);
+                }
+            }
+            return new JSONObject()
+                    .put("traceEvents", events)
+                    .put("displayTimeUnit", "ms")
+                    .toString();
+        } catch (JSONException e) {
+            // Only thrown for non-finite numbers, which are never recorded.
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /** Write {@link #toJson()} to {@link #FILE_NAME}, replacing the previous run's file. */
+    public static void writeTo(@NonNull Context context) throws IOException {
+        File dir = context.getFilesDir();
+        File target = new File(dir, FILE_NAME);
+        File temp = new File(dir, FILE_NAME + ".tmp");
+        try (OutputStream out = new FileOutputStream(temp)) {
+            out.write(toJson().getBytes("UTF-8"));
+        }
+        if (!temp.renameTo(target)) {
+            throw new IOException("could not replace " + target);
+        }
+    }
+
+    /** {@link #writeTo(Context)} on the shared I/O pool at low priority; failures are logged. */
+    public static void writeAsync(@NonNull Context context) {
+        final Context appContext = context.getApplicationContext();
+        LynxScheduler.io().submit(() -> {
+            try {
+                writeTo(appContext);
+            } catch (IOException e) {
+                Log.w(TAG, "could not write the startup trace: " + e.getMessage());
+            }
+        }, Priority.LOW);
+    }
+
+    private static void record(String name, long startNanos, long endNanos) {
+        add(new Event(name, sinceStartUs(startNanos), (endNanos - startNanos) / 1000,
+                Process.myTid()));
+    }
+
+    private static synchronized void add(Event event) {
+        if (sEvents.size() >= MAX_EVENTS) return;
+        sEvents.add(event);
+        if (!sThreadNames.containsKey(event.threadId)) {
+            sThreadNames.put(event.threadId, Thread.currentThread().getName());
+        }
+    }
+
+    private static long sinceStartUs(long elapsedNanos) {
+        return elapsedNanos / 1000 - PROCESS_START_MS * 1000;
+    }
+
+    private static String sectionName(String name) {
+        return name.length() <= MAX_SECTION_NAME ? name : name.substring(0, MAX_SECTION_NAME);
+    }
+}
@@ -0,0 +1,413 @@
+package com.kafitra.lynxhost;
+
+import android.content.Context;
+import android.content.res.AssetFileDescriptor;
+import android.util.Log;
+
+import androidx.annotation.Nullable;
+
+import java.io.BufferedInputStream;
+import java.io.FileInputStream;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.security.MessageDigest;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * TemplateFetcher — reads template bytes from the network or the APK assets.
+ *
+ * <p>Network responses are stored in a {@link BundleDiskCache} together with their
+ * {@code ETag} / {@code Last-Modified} validators. Later fetches of the same URI send
+ * {@code If-None-Match} / {@code If-Modified-Since}; a {@code 304} is served from memory or
+ * disk without transferring the body again.
+ *
+ * <p>Every body read — network, disk or asset — is also put in the {@link TemplateMemoryCache}
+ * under the URI it was read for.
+ *
+ * <p>Bodies are read into a single pre-sized array whenever the length is known (see
+ * {@link BundleReader}). Uncompressed assets — declare {@code noCompress 'bundle'} in the app's
+ * {@code androidResources} — are read straight from the APK through their
+ * {@link AssetFileDescriptor} in one positional read.
+ *
+ * <p>Gzip-compressed bundles are inflated while streaming, whether the gzip comes from a
+ * {@code Content-Encoding: gzip} response or is the bundle file itself (detected by its magic
+ * bytes — e.g. a {@code main.lynx.bundle} compressed by {@code lynx prebuild}). Caches always
+ * hold the inflated bytes.
+ *
+ * <p>With delta updates enabled, a network bundle is first checked against its
+ * {@link UpdateManifest}. When the cached copy — or the copy packaged in the APK — is out of
+ * date and the manifest lists a patch from it, only the patch is downloaded and applied
+ * ({@link BundlePatch}); the result must match the manifest's SHA-256 before it replaces the
+ * cached copy. Anything else falls back to a full download.
+ *
+ * <p>Every network body is hashed with SHA-256 while it streams in — no second pass over the
+ * bytes. When an expected hash is known (the update manifest, or an {@value #SHA256_HEADER}
+ * response header) a mismatch rejects the body, so a corrupt or truncated download is never
+ * cached or handed to Lynx and the caller falls back to the cached copy. The hash is stored
+ * with the cache entry, so cached bundles are not hashed again.
+ *
+ * <p>Blocking; always called on a loader thread (see {@link LoaderExecutor}). Stream reads check the
+ * thread's interrupt flag between chunks so a cancelled load stops promptly.
+ */
+final class TemplateFetcher {
+
+    private static final String TAG = "TemplateFetcher";
+
+    /** Response header carrying the hex SHA-256 of the uncompressed bundle. */
+    static final String SHA256_HEADER = "X-Bundle-SHA256";
+
+    private static final int CONNECT_TIMEOUT_MS = 10000;
+    private static final int READ_TIMEOUT_MS = 15000;
+
+    private final Context mContext;
+    private final BundleDiskCache mDiskCache;
+    private final TemplateMemoryCache mMemoryCache;
+    private volatile boolean mDeltaUpdates;
+    /** Bundle URI → manifest URL registered with {@link #setManifestUrl}. */
+    private final Map<String, String> mManifestUrls = new ConcurrentHashMap<>();
+
+    TemplateFetcher(Context context, BundleDiskCache diskCache, TemplateMemoryCache memoryCache) {
+        mContext = context.getApplicationContext();
+        mDiskCache = diskCache;
+        mMemoryCache = memoryCache;
+    }
+
+    void setDeltaUpdates(boolean enabled) {
+        mDeltaUpdates = enabled;
+    }
+
+    void setManifestUrl(String uri, @Nullable String manifestUrl) {
+        if (manifestUrl != null) {
+            mManifestUrls.put(uri, manifestUrl);
+        } else {
+            mManifestUrls.remove(uri);
+        }
+    }
+
+    /**
+     * Where to look for {@code uri}'s update manifest: a URL registered for it, else — with
+     * delta updates on — next to the bundle. {@code null} if updates are plain downloads.
+     */
+    @Nullable
+    private String manifestUrlFor(String uri) {
+        String registered = mManifestUrls.get(uri);
+        if (registered != null) return registered;
+        return mDeltaUpdates ? UpdateManifest.urlFor(uri) : null;
+    }
+
+    /**
+     * Load {@code uri}: {@code http(s)://} URIs from the network, anything else as an asset
+     * name. When a network load fails — including a failed integrity check — the last cached copy is returned if there is one,
+     * otherwise {@code fallbackAsset} (when set) — this keeps a dev build usable while the
+     * dev server is down.
+     */
+    byte[] fetch(String uri, @Nullable String fallbackAsset) throws IOException {
+        if (isNetworkUri(uri)) {
+            try {
+                return fetchNetwork(uri, fallbackAsset);
+            } catch (IOException e) {
+                if (BundleReader.isCancellation(e)) throw e;
+                if (e instanceof BundleIntegrityException) Log.w(TAG, e.getMessage());
+                byte[] cached = readCached(uri);
+                if (cached != null) return cached;
+                if (fallbackAsset == null) throw e;
+                return fetchAsset(fallbackAsset);
+            }
+        }
+        return fetchAsset(uri);
+    }
+
+    /** The cached copy of {@code uri} without contacting the server, or {@code null}. */
+    @Nullable
+    byte[] readCached(String uri) {
+        byte[] data = mMemoryCache.get(uri);
+        if (data != null) return data;
+        data = mDiskCache.read(uri);
+        if (data != null) mMemoryCache.put(uri, data);
+        return data;
+    }
+
+    static boolean isNetworkUri(String uri) {
+        return uri.startsWith("http://") || uri.startsWith("https://");
+    }
+
+    /**
+     * Fetch the current version of {@code uri}, refreshing the caches — through its update
+     * manifest when delta updates are on and the server publishes one, otherwise with a
+     * conditional GET. {@code packagedAsset} is the copy of this bundle shipped in the APK,
+     * usable as a patch base when nothing is cached yet.
+     */
+    byte[] fetchNetwork(String uri, @Nullable String packagedAsset) throws IOException {
+        String manifestUrl = manifestUrlFor(uri);
+        if (manifestUrl != null) {
+            byte[] updated = fetchUpdate(uri, manifestUrl, packagedAsset);
+            if (updated != null) return updated;
+        }
+        return fetchBody(uri, null);
+    }
+
+    /**
+     * Conditional GET of {@code uri}, refreshing the disk cache. Returns the cached body on
+     * {@code 304 Not Modified}.
+     *
+     * @param expectedSha256 hash the body must have, or {@code null} to take it from the
+     *                       {@value #SHA256_HEADER} header when the server sends one.
+     * @throws BundleIntegrityException if the body does not match the expected hash.
+     */
+    private byte[] fetchBody(String uri, @Nullable String expectedSha256) throws IOException {
+        BundleDiskCache.Entry cached = mDiskCache.get(uri);
+        HttpURLConnection connection = openConnection(uri);
+        // Asking explicitly turns off HttpURLConnection's transparent gunzip, so the body is
+        // inflated here, streaming, and Content-Length stays meaningful.
+        connection.setRequestProperty("Accept-Encoding", "gzip");
+        if (cached != null) {
+            if (cached.etag != null) {
+                connection.setRequestProperty("If-None-Match", cached.etag);
+            }
+            if (cached.lastModified != null) {
+                connection.setRequestProperty("If-Modified-Since", cached.lastModified);
+            }
+        }
+        try {
+            int code = connection.getResponseCode();
+            if (code == HttpURLConnection.HTTP_NOT_MODIFIED && cached != null) {
+                mDiskCache.touch(uri);
+                byte[] body = readCached(uri);
+                if (body != null
+                        && (expectedSha256 == null || expectedSha256.equals(cachedSha256(uri, body)))) {
+                    return body;
+                }
+                // Entry vanished between the check and the read, or it is not the version the
+                // manifest names — fetch it unconditionally.
+                mDiskCache.remove(uri);
+                mMemoryCache.remove(uri);
+                return fetchBody(uri, expectedSha256);
+            }
+            if (code != HttpURLConnection.HTTP_OK) {
+                throw new IOException("HTTP " + code + " for " + uri);
+            }
+            if (expectedSha256 == null) expectedSha256 = headerSha256(connection);
+            byte[] body;
+            MessageDigest digest = Digests.sha256();
+            // -1 when unknown, e.g. chunked responses.
+            int contentLength = connection.getContentLength();
+            try (InputStream in = new BufferedInputStream(
+                    connection.getInputStream(), BundleReader.BUFFER_SIZE)) {
+                boolean gzip = "gzip".equalsIgnoreCase(connection.getContentEncoding())
+                        || BundleReader.isGzip(in);
+                body = gzip
+                        ? BundleReader.readGzip(in, -1, contentLength, digest)
+                        : BundleReader.readStream(in, contentLength, digest);
+            }
+            String sha256 = Digests.hex(digest.digest());
+            if (expectedSha256 != null && !expectedSha256.equals(sha256)) {
+                throw new BundleIntegrityException(uri, expectedSha256, sha256);
+            }
+            String etag = connection.getHeaderField("ETag");
+            String lastModified = connection.getHeaderField("Last-Modified");
+            // Cached even without validators — it still beats the packaged asset offline.
+            mDiskCache.put(uri, body, etag, lastModified, sha256);
+            mMemoryCache.put(uri, body);
+            return body;
+        } finally {
+            connection.disconnect();
+        }
+    }
+
+    /**
+     * Bring {@code uri} up to date through its update manifest. Returns {@code null} when the
+     * server publishes no manifest for it.
+     */
+    @Nullable
+    private byte[] fetchUpdate(String uri, String manifestUrl, @Nullable String packagedAsset)
+            throws IOException {
+        UpdateManifest manifest = fetchManifest(manifestUrl);
+        if (manifest == null) return null;
+
+        // The version we already have: the cached copy, else the one packaged in the APK.
+        byte[] base = readCached(uri);
+        boolean cached = base != null;
+        String baseSha256 = cached ? cachedSha256(uri, base) : null;
+        if (!cached && packagedAsset != null) {
+            try {
+                base = fetchAsset(packagedAsset);
+                baseSha256 = Digests.sha256Hex(base);
+            } catch (FileNotFoundException e) {
+                base = null;
+            }
+        }
+        if (base == null) return fetchBody(uri, manifest.sha256);
+
+        if (manifest.sha256.equals(baseSha256)) {
+            if (cached) {
+                mDiskCache.touch(uri);
+            } else {
+                store(uri, base, baseSha256);
+            }
+            return base;
+        }
+
+        String patchUrl = manifest.patchFrom(baseSha256);
+        if (patchUrl != null) {
+            try {
+                byte[] patched = fetchPatched(patchUrl, base, manifest);
+                store(uri, patched, manifest.sha256);
+                Log.i(TAG, "updated " + uri + " with a delta patch");
+                return patched;
+            } catch (IOException e) {
+                // A timeout on the patch is just another failed patch; only an interrupt stops.
+                if (BundleReader.isCancellation(e)) throw e;
+                Log.w(TAG, "delta update of " + uri + " failed, downloading in full", e);
+            }
+        }
+        return fetchBody(uri, manifest.sha256);
+    }
+
+    /** GET the update manifest at {@code manifestUrl}; {@code null} on {@code 404}. */
+    @Nullable
+    private UpdateManifest fetchManifest(String manifestUrl) throws IOException {
+        HttpURLConnection connection = openConnection(manifestUrl);
+        try {
+            int code = connection.getResponseCode();
+            if (code == HttpURLConnection.HTTP_NOT_FOUND) return null;
+            if (code != HttpURLConnection.HTTP_OK) {
+                throw new IOException("HTTP " + code + " for " + manifestUrl);
+            }
+            byte[] json;
+            try (InputStream in = connection.getInputStream()) {
+                json = BundleReader.readStream(in, connection.getContentLength());
+            }
+            return UpdateManifest.parse(manifestUrl, new String(json, Charset.forName("UTF-8")));
+        } finally {
+            connection.disconnect();
+        }
+    }
+
+    /**
+     * Download the patch at {@code patchUrl} and apply it to {@code base} as it streams in.
+     * The result is rejected unless its size and SHA-256 match {@code manifest}.
+     */
+    private byte[] fetchPatched(String patchUrl, byte[] base, UpdateManifest manifest)
+            throws IOException {
+        HttpURLConnection connection = openConnection(patchUrl);
+        connection.setRequestProperty("Accept-Encoding", "gzip");
+        try {
+            int code = connection.getResponseCode();
+            if (code != HttpURLConnection.HTTP_OK) {
+                throw new IOException("HTTP " + code + " for " + patchUrl);
+            }
+            MessageDigest digest = Digests.sha256();
+            byte[] patched;
+            try (InputStream in = new BufferedInputStream(
+                    connection.getInputStream(), BundleReader.BUFFER_SIZE)) {
+                boolean gzip = "gzip".equalsIgnoreCase(connection.getContentEncoding())
+                        || BundleReader.isGzip(in);
+                // The manifest's size bounds the allocation before any of the patch is applied.
+                patched = BundlePatch.apply(base, manifest.size,
+                        gzip ? new GZIPInputStream(in, BundleReader.BUFFER_SIZE) : in, digest);
+            }
+            String sha256 = Digests.hex(digest.digest());
+            if (!sha256.equals(manifest.sha256)) {
+                throw new BundleIntegrityException(patchUrl, manifest.sha256, sha256);
+            }
+            return patched;
+        } finally {
+            connection.disconnect();
+        }
+    }
+
+    /**
+     * SHA-256 of the cached body of {@code uri}, from the cache metadata when recorded,
+     * otherwise computed once and recorded.
+     */
+    private String cachedSha256(String uri, byte[] body) {
+        BundleDiskCache.Entry entry = mDiskCache.get(uri);
+        if (entry != null && entry.sha256 != null && entry.length == body.length) {
+            return entry.sha256;
+        }
+        String sha256 = Digests.sha256Hex(body);
+        mDiskCache.recordSha256(uri, sha256, body.length);
+        return sha256;
+    }
+
+    /** Swap {@code data} in as the current version of {@code uri} in both caches. */
+    private void store(String uri, byte[] data, String sha256) {
+        mDiskCache.put(uri, data, null, null, sha256);
+        mMemoryCache.put(uri, data);
+    }
+
+    /** Lowercase hex from the {@value #SHA256_HEADER} header, or {@code null}. */
+    @Nullable
+    private static String headerSha256(HttpURLConnection connection) {
+        String value = connection.getHeaderField(SHA256_HEADER);
+        if (value == null) return null;
+        value = value.trim().toLowerCase(Locale.ROOT);
+        return value.isEmpty() ? null : value;
+    }
+
+    private static HttpURLConnection openConnection(String url) throws IOException {
+        HttpURLConnection connection = (HttpURLConnection) new URL(url).openConnection();
+        connection.setConnectTimeout(CONNECT_TIMEOUT_MS);
+        connection.setReadTimeout(READ_TIMEOUT_MS);
+        return connection;
+    }
+
+    private byte[] fetchAsset(String name) throws IOException {
+        byte[] data = mMemoryCache.get(name);
+        if (data != null) return data;
+        data = readUncompressedAsset(name);
+        if (data == null) {
+            // Compressed in the APK: available() reports the inflated size of an asset stream.
+            InputStream asset = mContext.getAssets().open(name);
+            int length = asset.available();
+            try (InputStream in = new BufferedInputStream(asset, BundleReader.BUFFER_SIZE)) {
+                data = BundleReader.isGzip(in)
+                        ? BundleReader.readGzip(in, -1, length)
+                        : BundleReader.readStream(in, length);
+            }
+        }
+        mMemoryCache.put(name, data);
+        return data;
+    }
+
+    /**
+     * Read an asset stored uncompressed in the APK with one positional read at its offset —
+     * or, for a gzip bundle, inflate it into an array pre-sized from the gzip trailer.
+     * Returns {@code null} if the asset is compressed by the APK (it has no file descriptor).
+     */
+    @Nullable
+    private byte[] readUncompressedAsset(String name) throws IOException {
+        AssetFileDescriptor descriptor;
+        try {
+            descriptor = mContext.getAssets().openFd(name);
+        } catch (FileNotFoundException e) {
+            return null;
+        }
+        long length = descriptor.getLength();
+        if (length == AssetFileDescriptor.UNKNOWN_LENGTH) {
+            descriptor.close();
+            return null;
+        }
+        // The stream owns the descriptor and closes it. Its channel spans the whole APK,
+        // so read at the asset's start offset.
+        try (FileInputStream in = descriptor.createInputStream()) {
+            FileChannel channel = in.getChannel();
+            long offset = descriptor.getStartOffset();
+            if (BundleReader.isGzip(channel, offset, length)) {
+                // The stream itself is bounded to the asset's region.
+                long inflatedSize = BundleReader.gzipInflatedSize(channel, offset, length);
+                return BundleReader.readGzip(
+                        new BufferedInputStream(in, BundleReader.BUFFER_SIZE), inflatedSize, length);
+            }
+            return BundleReader.readChannel(channel, offset, length);
+        }
+    }
+}
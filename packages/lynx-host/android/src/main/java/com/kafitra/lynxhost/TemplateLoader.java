@@ -0,0 +1,361 @@
+package com.kafitra.lynxhost;
+
+import android.content.ComponentCallbacks2;
+import android.content.Context;
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.kafitra.lynxscheduler.Task;
+import com.lynx.tasm.provider.AbsTemplateProvider;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * TemplateLoader — process-wide entry point for loading Lynx template bundles.
+ *
+ * <p>Every load runs on the shared {@code LynxScheduler} I/O pool (see {@link LoaderExecutor})
+ * instead of a thread per request, so the number of concurrent fetches is bounded no matter
+ * how many surfaces are opened.
+ * Concurrent loads of the same URI are collapsed: the first request starts the fetch, later
+ * ones attach to it, and the result fans out to every attached callback. A more urgent
+ * request joining a queued load raises that load's priority.
+ *
+ * <p>Network bundles are kept in an on-disk LRU cache (see {@link #setDiskCacheQuota}) and
+ * revalidated with {@code If-None-Match} on each load. With
+ * {@link #setStaleWhileRevalidate(boolean) stale-while-revalidate} enabled, a cached bundle
+ * is returned immediately and refreshed in the background for the next load.
+ *
+ * <p>With {@link #setDeltaUpdates(boolean) delta updates} enabled, network bundles are
+ * updated through a manifest published next to them: only a binary patch against the cached
+ * or packaged version is downloaded, verified against the manifest's SHA-256 and atomically
+ * swapped into the disk cache.
+ *
+ * <p>Recently loaded bytes are also kept in a size-bounded in-memory LRU. Asset bundles
+ * (and, with stale-while-revalidate, network bundles) found there are delivered synchronously,
+ * with no I/O or thread hop. {@link #prefetch(String)} warms the caches ahead of time.
+ *
+ * <p>Callbacks run on a loader thread, or on the calling thread for a memory hit. Callers
+ * receive shared {@code byte[]} instances, which must be treated as read-only.
+ */
+public final class TemplateLoader {
+
+    private static final String TAG = "TemplateLoader";
+
+    /** Asset served when a network load fails. */
+    public static final String DEFAULT_FALLBACK_ASSET = "main.lynx.bundle";
+
+    /** Default byte quota of the on-disk bundle cache. */
+    public static final long DEFAULT_DISK_CACHE_BYTES = 32L * 1024 * 1024;
+
+    private static final String DISK_CACHE_DIR = "lynx-bundles";
+
+    /** Default byte quota of the in-memory cache: 1/16 of the heap, at most 16 MB. */
+    public static final long DEFAULT_MEMORY_CACHE_BYTES =
+            Math.min(Runtime.getRuntime().maxMemory() / 16, 16L * 1024 * 1024);
+
+    /** Handle returned for requests that completed synchronously. */
+    private static final LoadHandle COMPLETED = () -> { };
+
+    /** Prefetches only fill the caches; nobody consumes the result. */
+    private static final AbsTemplateProvider.Callback PREFETCH_CALLBACK =
+            new AbsTemplateProvider.Callback() {
+                @Override
+                public void onSuccess(byte[] template) {
+                }
+
+                @Override
+                public void onFailed(String msg) {
+                    Log.d(TAG, "prefetch failed: " + msg);
+                }
+            };
+
+    private static volatile TemplateLoader sInstance;
+
+    /** One shared fetch and the requests waiting on it. Guarded by the loader's lock. */
+    private final class InFlight implements Runnable {
+        final String uri;
+        final List<Request> waiters = new ArrayList<>(2);
+        Task task;
+
+        InFlight(String uri) {
+            this.uri = uri;
+        }
+
+        @Override
+        public void run() {
+            byte[] data = null;
+            String error = null;
+            try (StartupTracer.Section ignored = StartupTracer.begin("template-fetch " + uri)) {
+                data = fetch(uri);
+            } catch (InterruptedIOException e) {
+                // A socket timeout is an InterruptedIOException too: only a load every waiter
+                // gave up on is cancelled, anything else is reported as a failure.
+                if (isCancelled()) {
+                    Log.d(TAG, "load cancelled: " + uri);
+                } else {
+                    error = e.getMessage() != null ? e.getMessage() : e.toString();
+                }
+            } catch (Exception e) {
+                error = e.getMessage() != null ? e.getMessage() : e.toString();
+            }
+
+            List<Request> targets;
+            synchronized (TemplateLoader.this) {
+                if (mInFlight.get(uri) == this) mInFlight.remove(uri);
+                targets = new ArrayList<>(waiters);
+                waiters.clear();
+                for (Request request : targets) request.done = true;
+            }
+            for (Request request : targets) {
+                if (data != null) {
+                    request.callback.onSuccess(data);
+                } else if (error != null) {
+                    request.callback.onFailed(error);
+                }
+            }
+        }
+
+        private boolean isCancelled() {
+            if (Thread.currentThread().isInterrupted()) return true;
+            synchronized (TemplateLoader.this) {
+                return waiters.isEmpty();
+            }
+        }
+    }
+
+    /** One caller's interest in an {@link InFlight} fetch. */
+    private final class Request implements LoadHandle {
+        final InFlight load;
+        final AbsTemplateProvider.Callback callback;
+        /** Set once the callback has been claimed for delivery or cancelled. */
+        boolean done;
+
+        Request(InFlight load, AbsTemplateProvider.Callback callback) {
+            this.load = load;
+            this.callback = callback;
+        }
+
+        @Override
+        public void cancel() {
+            synchronized (TemplateLoader.this) {
+                if (done) return;
+                done = true;
+                load.waiters.remove(this);
+                if (load.waiters.isEmpty()) {
+                    if (mInFlight.get(load.uri) == load) mInFlight.remove(load.uri);
+                    mExecutor.cancel(load.task);
+                }
+            }
+        }
+    }
+
+    private final BundleDiskCache mDiskCache;
+    private final TemplateMemoryCache mMemoryCache =
+            new TemplateMemoryCache(DEFAULT_MEMORY_CACHE_BYTES);
+    private final TemplateFetcher mFetcher;
+    private final LoaderExecutor mExecutor = new LoaderExecutor();
+    private final Map<String, InFlight> mInFlight = new HashMap<>();
+    /** URIs with a background revalidation queued or running. Guarded by {@code this}. */
+    private final Set<String> mRevalidating = new HashSet<>();
+    private volatile String mFallbackAsset = DEFAULT_FALLBACK_ASSET;
+    private volatile boolean mStaleWhileRevalidate;
+
+    private TemplateLoader(Context context) {
+        mDiskCache = new BundleDiskCache(
+                new File(context.getCacheDir(), DISK_CACHE_DIR), DEFAULT_DISK_CACHE_BYTES);
+        mFetcher = new TemplateFetcher(context, mDiskCache, mMemoryCache);
+    }
+
+    /** The shared loader for this process. */
+    public static TemplateLoader getInstance(Context context) {
+        TemplateLoader instance = sInstance;
+        if (instance == null) {
+            synchronized (TemplateLoader.class) {
+                instance = sInstance;
+                if (instance == null) {
+                    instance = new TemplateLoader(context.getApplicationContext());
+                    sInstance = instance;
+                }
+            }
+        }
+        return instance;
+    }
+
+    /**
+     * Asset to serve when a network load fails, or {@code null} to report the failure.
+     * Defaults to {@link #DEFAULT_FALLBACK_ASSET}.
+     */
+    public void setFallbackAsset(@Nullable String assetName) {
+        mFallbackAsset = assetName;
+    }
+
+    /**
+     * When enabled, a network URI with a disk-cached copy is served from disk immediately and
+     * revalidated in the background at {@link LoadPriority#LOW}; the refreshed bundle is used
+     * on the next load. Off by default, so every load is revalidated before it returns.
+     */
+    public void setStaleWhileRevalidate(boolean enabled) {
+        mStaleWhileRevalidate = enabled;
+    }
+
+    /**
+     * When enabled, each network load first fetches {@code <uri>.manifest.json} (written by
+     * {@code lynx ota}). If the cached bundle — or, with nothing cached, the fallback asset
+     * packaged in the APK — is out of date and the manifest lists a patch from it, only that
+     * patch is downloaded and applied on the loader thread. The result replaces the cached
+     * copy only if it matches the manifest's SHA-256; otherwise, and when no patch applies,
+     * the bundle is downloaded in full. URIs without a manifest load as before. Off by default.
+     */
+    public void setDeltaUpdates(boolean enabled) {
+        mFetcher.setDeltaUpdates(enabled);
+    }
+
+    /**
+     * Update {@code uri} through the manifest at {@code manifestUrl}, as with
+     * {@link #setDeltaUpdates(boolean)} but for this URI only and from any location — e.g. the
+     * manifest {@code lynx dev} serves for the dev bundle (see
+     * {@link DevReloadClient#manifestUrlFor(String)}). Pass {@code null} to unregister.
+     */
+    public void setManifestUrl(@NonNull String uri, @Nullable String manifestUrl) {
+        mFetcher.setManifestUrl(uri, manifestUrl);
+    }
+
+    /**
+     * Byte quota of the on-disk bundle cache. Least recently used bundles are evicted once it
+     * is exceeded. Defaults to {@link #DEFAULT_DISK_CACHE_BYTES}; {@code 0} disables caching.
+     */
+    public void setDiskCacheQuota(long bytes) {
+        mDiskCache.setQuota(bytes);
+    }
+
+    /** Delete every bundle in the on-disk cache. Performs I/O — avoid the main thread. */
+    public void clearDiskCache() {
+        mDiskCache.clear();
+    }
+
+    /**
+     * Byte quota of the in-memory cache. Defaults to {@link #DEFAULT_MEMORY_CACHE_BYTES};
+     * {@code 0} disables it.
+     */
+    public void setMemoryCacheQuota(long bytes) {
+        mMemoryCache.setQuota(bytes);
+    }
+
+    /**
+     * Release cached bytes under memory pressure. Forward
+     * {@link ComponentCallbacks2#onTrimMemory(int)} from the Application.
+     */
+    public void trimMemory(int level) {
+        if (level >= ComponentCallbacks2.TRIM_MEMORY_BACKGROUND) {
+            mMemoryCache.trimTo(0f);
+        } else if (level >= ComponentCallbacks2.TRIM_MEMORY_RUNNING_LOW) {
+            mMemoryCache.trimTo(0.5f);
+        }
+    }
+
+    /**
+     * Warm the caches with {@code uri} in the background, e.g. the next page of a flow.
+     * Runs at {@link LoadPriority#LOW} on the background lane, so it never holds up a
+     * foreground load; a foreground load of the same URI joins it and raises its priority.
+     * Does nothing if the bytes are already in memory.
+     */
+    public void prefetch(@NonNull String uri) {
+        prefetch(uri, LoadPriority.LOW);
+    }
+
+    /**
+     * {@link #prefetch(String)} at {@code priority} — e.g. {@link LoadPriority#HIGH} from
+     * {@code Application.onCreate()} for the first screen's template, so it loads while the
+     * Activity and its view are being created.
+     */
+    public void prefetch(@NonNull String uri, @NonNull LoadPriority priority) {
+        if (mMemoryCache.get(uri) != null) return;
+        load(uri, priority, PREFETCH_CALLBACK);
+    }
+
+    /**
+     * Load {@code uri} and deliver the bytes to {@code callback} on a loader thread.
+     * If a load of the same URI is already queued or running, this request joins it.
+     * Served from memory, the callback runs synchronously before this method returns.
+     *
+     * @return a handle that cancels this request.
+     */
+    @NonNull
+    public LoadHandle load(@NonNull String uri, @NonNull LoadPriority priority,
+                           @NonNull AbsTemplateProvider.Callback callback) {
+        byte[] hit = peekMemory(uri);
+        if (hit != null) {
+            callback.onSuccess(hit);
+            return COMPLETED;
+        }
+        synchronized (this) {
+            InFlight load = mInFlight.get(uri);
+            if (load == null) {
+                load = new InFlight(uri);
+                mInFlight.put(uri, load);
+                load.task = mExecutor.submit(load, priority);
+            } else {
+                mExecutor.raisePriority(load.task, priority);
+            }
+            Request request = new Request(load, callback);
+            load.waiters.add(request);
+            return request;
+        }
+    }
+
+    /**
+     * Bytes for {@code uri} that can be served without any I/O. Network bundles qualify only
+     * with stale-while-revalidate, since otherwise every load must revalidate first.
+     */
+    @Nullable
+    private byte[] peekMemory(String uri) {
+        if (!TemplateFetcher.isNetworkUri(uri)) return mMemoryCache.get(uri);
+        if (!mStaleWhileRevalidate) return null;
+        byte[] stale = mMemoryCache.get(uri);
+        if (stale != null) revalidateInBackground(uri);
+        return stale;
+    }
+
+    private byte[] fetch(String uri) throws IOException {
+        if (mStaleWhileRevalidate && TemplateFetcher.isNetworkUri(uri)) {
+            byte[] stale = mFetcher.readCached(uri);
+            if (stale != null) {
+                revalidateInBackground(uri);
+                return stale;
+            }
+        }
+        return mFetcher.fetch(uri, mFallbackAsset);
+    }
+
+    private void revalidateInBackground(final String uri) {
+        synchronized (this) {
+            if (!mRevalidating.add(uri)) return;
+        }
+        mExecutor.submit(() -> {
+            try {
+                mFetcher.fetchNetwork(uri, mFallbackAsset);
+            } catch (IOException e) {
+                Log.d(TAG, "background revalidation failed for " + uri + ": " + e.getMessage());
+            } finally {
+                synchronized (TemplateLoader.this) {
+                    mRevalidating.remove(uri);
+                }
+            }
+        }, LoadPriority.LOW);
+    }
+
+    /** Number of distinct URIs currently queued or being fetched. */
+    public synchronized int getInFlightCount() {
+        return mInFlight.size();
+    }
+}
@@ -0,0 +1,64 @@
+package com.kafitra.lynxhost;
+
+import android.util.LruCache;
+
+import androidx.annotation.Nullable;
+
+/**
+ * TemplateMemoryCache — size-bounded LRU of recently loaded template bytes, keyed by URI.
+ *
+ * <p>Cached arrays are handed out as-is (no copy) and must be treated as read-only.
+ * Thread-safe. A quota of {@code 0} disables the cache.
+ */
+final class TemplateMemoryCache {
+
+    private final LruCache<String, byte[]> mCache;
+    private volatile boolean mEnabled;
+
+    TemplateMemoryCache(long quotaBytes) {
+        mCache = new LruCache<String, byte[]>(toCacheSize(quotaBytes)) {
+            @Override
+            protected int sizeOf(String key, byte[] value) {
+                return value.length;
+            }
+        };
+        mEnabled = quotaBytes > 0;
+    }
+
+    @Nullable
+    byte[] get(String uri) {
+        return mEnabled ? mCache.get(uri) : null;
+    }
+
+    void put(String uri, byte[] data) {
+        // A single bundle larger than the quota would just evict everything else.
+        if (mEnabled && data.length <= mCache.maxSize()) mCache.put(uri, data);
+    }
+
+    void remove(String uri) {
+        mCache.remove(uri);
+    }
+
+    void setQuota(long quotaBytes) {
+        mEnabled = quotaBytes > 0;
+        if (mEnabled) {
+            mCache.resize(toCacheSize(quotaBytes));
+        } else {
+            mCache.evictAll();
+        }
+    }
+
+    /** Shrink to {@code fraction} of the current size (0 empties it). */
+    void trimTo(float fraction) {
+        mCache.trimToSize((int) (mCache.size() * fraction));
+    }
+
+    long size() {
+        return mCache.size();
+    }
+
+    private static int toCacheSize(long quotaBytes) {
+        // LruCache needs a positive max size even while disabled.
+        return (int) Math.max(1, Math.min(quotaBytes, Integer.MAX_VALUE));
+    }
+}
@@ -0,0 +1,86 @@
+package com.kafitra.lynxhost;
+
+import androidx.annotation.Nullable;
+
+import org.json.JSONArray;
+import org.json.JSONException;
+import org.json.JSONObject;
+
+import java.io.IOException;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * UpdateManifest — describes the current version of a network bundle and the patches that
+ * lead to it. Published next to the bundle as {@code <bundle>.manifest.json} by
+ * {@code lynx ota}:
+ * <pre>
+ * {
+ *   "version": 1,
+ *   "sha256": "…",          // SHA-256 of the current (uncompressed) bundle
+ *   "size": 4194304,
+ *   "patches": [
+ *     { "from": "…", "url": "main.lynx.bundle.3f2a9c1e.patch", "size": 5120 }
+ *   ]
+ * }
+ * </pre>
+ * Patch URLs are resolved against the manifest URL.
+ */
+final class UpdateManifest {
+
+    /** Appended to a bundle URI to locate its manifest. */
+    static final String SUFFIX = ".manifest.json";
+
+    private static final int VERSION = 1;
+
+    /** Lowercase hex SHA-256 of the current bundle. */
+    final String sha256;
+    final long size;
+    /** Base SHA-256 → absolute patch URL. */
+    private final Map<String, String> mPatches;
+
+    private UpdateManifest(String sha256, long size, Map<String, String> patches) {
+        this.sha256 = sha256;
+        this.size = size;
+        mPatches = patches;
+    }
+
+    static String urlFor(String bundleUri) {
+        return bundleUri + SUFFIX;
+    }
+
+    /** URL of a patch from the bundle hashing to {@code baseSha256}, or {@code null}. */
+    @Nullable
+    String patchFrom(String baseSha256) {
+        return mPatches.get(baseSha256);
+    }
+
+    static UpdateManifest parse(String manifestUrl, String json) throws IOException {
+        try {
+            JSONObject root = new JSONObject(json);
+            int version = root.optInt("version", VERSION);
+            if (version != VERSION) {
+                throw new IOException("unsupported manifest version " + version);
+            }
+            String sha256 = root.getString("sha256").toLowerCase(Locale.ROOT);
+            long size = root.getLong("size");
+
+            Map<String, String> patches = new HashMap<>();
+            JSONArray list = root.optJSONArray("patches");
+            if (list != null) {
+                URL base = new URL(manifestUrl);
+                for (int i = 0; i < list.length(); i++) {
+                    JSONObject patch = list.getJSONObject(i);
+                    patches.put(patch.getString("from").toLowerCase(Locale.ROOT),
+                            new URL(base, patch.getString("url")).toString());
+                }
+            }
+            return new UpdateManifest(sha256, size, patches);
+        } catch (JSONException | MalformedURLException e) {
+            throw new IOException("invalid update manifest " + manifestUrl + ": " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,12 @@
+#!/bin/sh
+# Decode the CLI's LXDP fixture with BundlePatch on the local JVM (no Android SDK needed).
+set -e
+cd "$(dirname "$0")"
+OUT=build/classes
+mkdir -p "$OUT"
+javac -encoding UTF-8 -d "$OUT" \
+  ../android/src/main/java/com/kafitra/lynxhost/BundlePatch.java \
+  ../android/src/main/java/com/kafitra/lynxhost/BundleReader.java \
+  ../android/src/main/java/com/kafitra/lynxhost/Digests.java \
+  src/com/kafitra/lynxhost/BundlePatchCheck.java
+java -cp "$OUT" com.kafitra.lynxhost.BundlePatchCheck
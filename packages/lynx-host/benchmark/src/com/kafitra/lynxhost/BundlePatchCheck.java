@@ -0,0 +1,98 @@
+package com.kafitra.lynxhost;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.security.MessageDigest;
+import java.util.Arrays;
+
+/**
+ * BundlePatchCheck — decodes the LXDP fixture written by the CLI's encoder with
+ * {@link BundlePatch} and checks the malformed-patch cases the CLI's tests also cover.
+ *
+ * <p>The fixture lives in {@code packages/lynx-cli/src/__tests__/fixtures}; both sides must
+ * decode {@code patch.lxdp} against {@code base.bin} to exactly {@code target.bin}. Run with
+ * {@code ./check-patch.sh} from this directory.
+ */
+public final class BundlePatchCheck {
+
+    private static int failures;
+
+    private BundlePatchCheck() {}
+
+    public static void main(String[] args) throws Exception {
+        File dir = new File(args.length > 0 ? args[0]
+                : "../../lynx-cli/src/__tests__/fixtures");
+        byte[] base = Files.readAllBytes(new File(dir, "base.bin").toPath());
+        byte[] target = Files.readAllBytes(new File(dir, "target.bin").toPath());
+        byte[] patch = Files.readAllBytes(new File(dir, "patch.lxdp").toPath());
+
+        MessageDigest digest = MessageDigest.getInstance("SHA-256");
+        byte[] result = BundlePatch.apply(base, target.length, new ByteArrayInputStream(patch),
+                digest);
+        check("fixture decodes to target.bin", Arrays.equals(result, target));
+        check("digest covers the target",
+                Arrays.equals(digest.digest(), MessageDigest.getInstance("SHA-256").digest(target)));
+
+        for (int length = 0; length < patch.length; length++) {
+            rejects("truncated to " + length + " bytes", base, target.length,
+                    Arrays.copyOf(patch, length));
+        }
+        rejects("different base size", Arrays.copyOf(base, base.length - 1), target.length,
+                patch);
+        rejects("different target size", base, target.length + 1, patch);
+        rejects("copy past the end of the base", new byte[16], 8,
+                raw(16, 8, 0x01, 0, 0, 0, 12, 0, 0, 0, 8, 0x00));
+        rejects("copy overflowing 32 bits", new byte[16], 8,
+                raw(16, 8, 0x01, 0xff, 0xff, 0xff, 0xfc, 0, 0, 0, 8, 0x00));
+        rejects("op overrunning the target", new byte[16], 4,
+                raw(16, 4, 0x02, 0, 0, 0, 5, 1, 2, 3, 4, 5, 0x00));
+        rejects("short target", new byte[16], 8,
+                raw(16, 8, 0x01, 0, 0, 0, 0, 0, 0, 0, 4, 0x00));
+        rejects("unknown op", new byte[16], 0, raw(16, 0, 0x7f));
+
+        if (failures > 0) {
+            System.out.println(failures + " check(s) failed");
+            System.exit(1);
+        }
+        System.out.println("BundlePatch matches the CLI fixture");
+    }
+
+    private static void check(String name, boolean ok) {
+        if (!ok) {
+            failures++;
+            System.out.println("FAIL " + name);
+        }
+    }
+
+    private static void rejects(String name, byte[] base, long targetSize, byte[] patch) {
+        try {
+            BundlePatch.apply(base, targetSize, new ByteArrayInputStream(patch), null);
+            check(name + " is rejected", false);
+        } catch (IOException expected) {
+            // malformed patches must surface as IOException, never as a runtime exception
+        }
+    }
+
+    /** A patch by hand: header, then raw op bytes; END is not appended. */
+    private static byte[] raw(int baseSize, int targetSize, int... ops) {
+        byte[] out = new byte[13 + ops.length];
+        out[0] = 'L';
+        out[1] = 'X';
+        out[2] = 'D';
+        out[3] = 'P';
+        out[4] = 1;
+        putU32(out, 5, baseSize);
+        putU32(out, 9, targetSize);
+        for (int i = 0; i < ops.length; i++) out[13 + i] = (byte) ops[i];
+        return out;
+    }
+
+    private static void putU32(byte[] out, int at, int value) {
+        out[at] = (byte) (value >>> 24);
+        out[at + 1] = (byte) (value >>> 16);
+        out[at + 2] = (byte) (value >>> 8);
+        out[at + 3] = (byte) value;
+    }
+}
@@ -0,0 +1,165 @@
+package com.kafitra.lynxhost;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.util.Locale;
+import java.util.Random;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * BundleReadBenchmark — compares bundle read strategies on a plain JVM.
+ *
+ * <ul>
+ *   <li>{@code legacy}   — 4 KB buffer into a growing {@code ByteArrayOutputStream}, then
+ *       {@code toByteArray()} (what the template providers did before).</li>
+ *   <li>{@code presized} — {@link BundleReader#readStream} with the declared length.</li>
+ *   <li>{@code sha256}   — the same, hashing the bytes as they stream in (network downloads).</li>
+ *   <li>{@code channel}  — {@link BundleReader#readChannel}, the uncompressed-asset path.</li>
+ *   <li>{@code gz-legacy} — the legacy loop over a {@code GZIPInputStream}.</li>
+ *   <li>{@code gz-stream} — {@link BundleReader#readGzip} pre-sized from the gzip trailer, the
+ *       path for a gzip bundle stored uncompressed in the APK.</li>
+ * </ul>
+ *
+ * <p>The gzip rows read a gzip copy of the same bundle; alloc/size is relative to the
+ * inflated size.
+ *
+ * <p>Reports mean wall time and bytes allocated per load (HotSpot's per-thread allocation
+ * counter), for several bundle sizes. Run with {@code ./run.sh} from this directory.
+ */
+public final class BundleReadBenchmark {
+
+    private static final int[] SIZES = {256 * 1024, 2 * 1024 * 1024, 8 * 1024 * 1024};
+    private static final int WARMUP_ITERATIONS = 20;
+    private static final int ITERATIONS = 50;
+
+    private interface Strategy {
+        byte[] read(File file) throws IOException;
+    }
+
+    public static void main(String[] args) throws IOException {
+        com.sun.management.ThreadMXBean threads =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        String[] names = {"legacy", "presized", "sha256", "channel", "gz-legacy", "gz-stream"};
+        Strategy[] strategies = {
+                BundleReadBenchmark::readLegacy,
+                file -> {
+                    try (InputStream in = new FileInputStream(file)) {
+                        return BundleReader.readStream(in, file.length());
+                    }
+                },
+                file -> {
+                    try (InputStream in = new FileInputStream(file)) {
+                        return BundleReader.readStream(in, file.length(), Digests.sha256());
+                    }
+                },
+                file -> {
+                    try (FileInputStream in = new FileInputStream(file)) {
+                        return BundleReader.readChannel(in.getChannel(), 0, file.length());
+                    }
+                },
+                file -> readLegacy(new GZIPInputStream(new FileInputStream(gzipOf(file)))),
+                file -> {
+                    File gz = gzipOf(file);
+                    try (FileInputStream in = new FileInputStream(gz)) {
+                        long inflated = BundleReader.gzipInflatedSize(in.getChannel(), 0, gz.length());
+                        return BundleReader.readGzip(
+                                new BufferedInputStream(in, BundleReader.BUFFER_SIZE),
+                                inflated, gz.length());
+                    }
+                },
+        };
+
+        System.out.printf(Locale.US, "%-10s %-9s %12s %16s %10s%n",
+                "size", "strategy", "mean ms", "alloc/load KB", "alloc/size");
+        for (int size : SIZES) {
+            File file = createBundle(size);
+            File gz = gzipOf(file);
+            try (InputStream in = new FileInputStream(file);
+                 OutputStream out = new GZIPOutputStream(new FileOutputStream(gz))) {
+                byte[] buffer = new byte[BundleReader.BUFFER_SIZE];
+                int length;
+                while ((length = in.read(buffer)) != -1) out.write(buffer, 0, length);
+            }
+            try {
+                for (int s = 0; s < strategies.length; s++) {
+                    Strategy strategy = strategies[s];
+                    for (int i = 0; i < WARMUP_ITERATIONS; i++) consume(strategy.read(file));
+
+                    long threadId = Thread.currentThread().getId();
+                    long allocatedBefore = threads.getThreadAllocatedBytes(threadId);
+                    long start = System.nanoTime();
+                    for (int i = 0; i < ITERATIONS; i++) consume(strategy.read(file));
+                    long elapsed = System.nanoTime() - start;
+                    long allocated = threads.getThreadAllocatedBytes(threadId) - allocatedBefore;
+
+                    double perLoad = (double) allocated / ITERATIONS;
+                    System.out.printf(Locale.US, "%-10s %-9s %12.3f %16.1f %10.2f%n",
+                            formatSize(size), names[s],
+                            elapsed / 1e6 / ITERATIONS, perLoad / 1024, perLoad / size);
+                }
+            } finally {
+                //noinspection ResultOfMethodCallIgnored
+                file.delete();
+                //noinspection ResultOfMethodCallIgnored
+                gz.delete();
+            }
+        }
+    }
+
+    private static byte[] readLegacy(File file) throws IOException {
+        return readLegacy(new FileInputStream(file));
+    }
+
+    private static byte[] readLegacy(InputStream source) throws IOException {
+        try (InputStream in = source;
+             ByteArrayOutputStream out = new ByteArrayOutputStream()) {
+            byte[] buffer = new byte[4096];
+            int length;
+            while ((length = in.read(buffer)) != -1) out.write(buffer, 0, length);
+            return out.toByteArray();
+        }
+    }
+
+    private static File gzipOf(File file) {
+        return new File(file.getPath() + ".gz");
+    }
+
+    /** Roughly bundle-like data: half random bytes, half repeated tokens (compresses ~2:1). */
+    private static File createBundle(int size) throws IOException {
+        File file = File.createTempFile("bundle-bench", ".lynx.bundle");
+        byte[] data = new byte[size];
+        Random random = new Random(size);
+        byte[] token = "createElement(\"view\",{className:".getBytes("UTF-8");
+        for (int i = 0; i < size; i += 64) {
+            int end = Math.min(size, i + 64);
+            if ((i / 64) % 2 == 0) {
+                for (int j = i; j < end; j++) data[j] = (byte) random.nextInt(256);
+            } else {
+                for (int j = i; j < end; j++) data[j] = token[(j - i) % token.length];
+            }
+        }
+        try (OutputStream out = new FileOutputStream(file)) {
+            out.write(data);
+        }
+        return file;
+    }
+
+    private static int sink;
+
+    /** Keep the JIT from discarding reads whose result is unused. */
+    private static void consume(byte[] data) {
+        sink += data[data.length - 1];
+    }
+
+    private static String formatSize(int bytes) {
+        return bytes >= 1024 * 1024 ? (bytes / (1024 * 1024)) + " MB" : (bytes / 1024) + " KB";
+    }
+}
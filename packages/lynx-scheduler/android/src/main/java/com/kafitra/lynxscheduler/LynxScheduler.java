@@ -0,0 +1,80 @@
+package com.kafitra.lynxscheduler;
+
+import android.os.Process;
+import android.util.Log;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * LynxScheduler — the thread pools shared by all Kafitra Lynx native packages.
+ *
+ * <p>Three process-wide {@link TaskPool}s, sized once from the CPU count:
+ * <ul>
+ *   <li>{@link #io()} — blocking work: files, network, storage. {@link #IO_POOL_SIZE} threads.</li>
+ *   <li>{@link #cpu()} — computation: parsing, decoding, image encoding. {@link #CPU_POOL_SIZE}
+ *       threads, one fewer than the cores so the main thread keeps one.</li>
+ *   <li>{@link #background()} — short, non-blocking work nobody waits on (telemetry sampling,
+ *       cache warm-ups from sysfs or memory). One thread at background priority, so it never
+ *       competes with foreground work for a core.</li>
+ * </ul>
+ *
+ * <p>Because {@link #background()} has a single thread, one blocking task there delays every
+ * task behind it. Speculative work that blocks on the network or disk (prefetches, file
+ * writes) belongs on {@link #io()} at {@link Priority#LOW} instead: it then starts only when no
+ * more urgent I/O is queued.
+ *
+ * <p>Within a pool, queued tasks start in {@link Priority} order. Threads are named after their
+ * pool ({@code LynxIO-1}, {@code LynxCPU-2}, {@code LynxBg-1}), are daemons, and exit when
+ * idle. Every pool keeps queue-depth and latency {@link PoolMetrics}; {@link #logMetrics()}
+ * writes them to logcat.
+ */
+public final class LynxScheduler {
+
+    private static final String TAG = "LynxScheduler";
+
+    private static final int CORES = Runtime.getRuntime().availableProcessors();
+    public static final int IO_POOL_SIZE = Math.max(2, Math.min(4, CORES));
+    public static final int CPU_POOL_SIZE = Math.max(2, Math.min(4, CORES - 1));
+
+    private static final TaskPool sIo =
+            new TaskPool("LynxIO", IO_POOL_SIZE, Process.THREAD_PRIORITY_DEFAULT);
+    private static final TaskPool sCpu =
+            new TaskPool("LynxCPU", CPU_POOL_SIZE, Process.THREAD_PRIORITY_DEFAULT);
+    private static final TaskPool sBackground =
+            new TaskPool("LynxBg", 1, Process.THREAD_PRIORITY_BACKGROUND);
+
+    private LynxScheduler() {}
+
+    /** Pool for blocking I/O. */
+    public static TaskPool io() {
+        return sIo;
+    }
+
+    /** Pool for CPU-bound work. */
+    public static TaskPool cpu() {
+        return sCpu;
+    }
+
+    /**
+     * Single background-priority thread for short, non-blocking work nobody is waiting on. Do
+     * not block here; use {@link #io()} at {@link Priority#LOW} for speculative I/O.
+     */
+    public static TaskPool background() {
+        return sBackground;
+    }
+
+    /** A snapshot of every pool. */
+    public static List<PoolMetrics> getMetrics() {
+        List<PoolMetrics> metrics = new ArrayList<>(3);
+        metrics.add(sIo.getMetrics());
+        metrics.add(sCpu.getMetrics());
+        metrics.add(sBackground.getMetrics());
+        return metrics;
+    }
+
+    /** Log one line per pool at INFO under the {@code LynxScheduler} tag. */
+    public static void logMetrics() {
+        for (PoolMetrics metrics : getMetrics()) Log.i(TAG, metrics.toString());
+    }
+}
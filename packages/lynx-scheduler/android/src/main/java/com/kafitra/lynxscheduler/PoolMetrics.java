@@ -0,0 +1,61 @@
+package com.kafitra.lynxscheduler;
+
+import java.util.Locale;
+
+/**
+ * A snapshot of one {@link TaskPool}'s load, from {@link TaskPool#getMetrics()}.
+ *
+ * <p>Wait time is from the moment a task became runnable until it started, i.e. how long it
+ * queued behind other work; run time is how long it then took. Both cover completed tasks.
+ * A pool whose wait times grow while its threads are all active is contended.
+ */
+public final class PoolMetrics {
+    public final String name;
+    /** Maximum threads. */
+    public final int size;
+    /** Threads running a task right now. */
+    public final int active;
+    /** Tasks waiting right now. */
+    public final int queued;
+    /** Deepest the queue has been. */
+    public final int peakQueued;
+    public final long submitted;
+    public final long completed;
+    public final long cancelled;
+    public final long avgWaitNanos;
+    /** Approximate: the upper bound of a power-of-two millisecond bucket. */
+    public final long p95WaitNanos;
+    public final long maxWaitNanos;
+    public final long avgRunNanos;
+    public final long maxRunNanos;
+
+    PoolMetrics(String name, int size, int active, int queued, int peakQueued,
+                long submitted, long completed, long cancelled,
+                long avgWaitNanos, long p95WaitNanos, long maxWaitNanos,
+                long avgRunNanos, long maxRunNanos) {
+        this.name = name;
+        this.size = size;
+        this.active = active;
+        this.queued = queued;
+        this.peakQueued = peakQueued;
+        this.submitted = submitted;
+        this.completed = completed;
+        this.cancelled = cancelled;
+        this.avgWaitNanos = avgWaitNanos;
+        this.p95WaitNanos = p95WaitNanos;
+        this.maxWaitNanos = maxWaitNanos;
+        this.avgRunNanos = avgRunNanos;
+        this.maxRunNanos = maxRunNanos;
+    }
+
+    /** e.g. {@code LynxIO: 2/4 active, 3 queued (peak 9), 120 done, 1 cancelled, wait avg 1.2 / p95 4.0 / max 6.8 ms, run avg 8.1 / max 40.2 ms} */
+    @Override
+    public String toString() {
+        return String.format(Locale.US,
+                "%s: %d/%d active, %d queued (peak %d), %d done, %d cancelled, "
+                        + "wait avg %.1f / p95 %.1f / max %.1f ms, run avg %.1f / max %.1f ms",
+                name, active, size, queued, peakQueued, completed, cancelled,
+                avgWaitNanos / 1e6, p95WaitNanos / 1e6, maxWaitNanos / 1e6,
+                avgRunNanos / 1e6, maxRunNanos / 1e6);
+    }
+}
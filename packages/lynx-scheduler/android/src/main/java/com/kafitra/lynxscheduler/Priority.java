@@ -0,0 +1,14 @@
+package com.kafitra.lynxscheduler;
+
+/**
+ * Order in which queued tasks of one {@link TaskPool} start. Tasks of equal priority start in
+ * submission order.
+ */
+public enum Priority {
+    /** Something on screen is waiting for the result. */
+    HIGH,
+    /** Default for ordinary work. */
+    NORMAL,
+    /** Speculative or deferrable work: prefetch, warm-up, housekeeping. */
+    LOW
+}
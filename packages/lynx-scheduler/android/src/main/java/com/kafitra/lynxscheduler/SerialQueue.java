@@ -0,0 +1,83 @@
+package com.kafitra.lynxscheduler;
+
+import android.util.Log;
+
+import java.util.ArrayDeque;
+import java.util.concurrent.Executor;
+
+/**
+ * SerialQueue — runs its tasks one at a time, in submission order, on a shared
+ * {@link TaskPool}, without owning a thread.
+ *
+ * <p>Between two tasks the queue goes back through the pool, so a busy queue does not keep a
+ * pool thread to itself. {@link #close()} ties the queue to its owner's lifetime: queued tasks
+ * are dropped and later ones rejected, so nothing runs for an owner that is gone.
+ */
+public final class SerialQueue implements Executor {
+
+    private static final String TAG = "LynxScheduler";
+
+    private final TaskPool mPool;
+    private final String mName;
+    private final Priority mPriority;
+
+    // Guarded by this
+    private final ArrayDeque<Runnable> mPending = new ArrayDeque<>();
+    private Task mActive;
+    private boolean mClosed;
+
+    SerialQueue(TaskPool pool, String name, Priority priority) {
+        mPool = pool;
+        mName = name;
+        mPriority = priority;
+    }
+
+    public String getName() {
+        return mName;
+    }
+
+    /** Queue {@code command}; dropped with a warning once the queue is closed. */
+    @Override
+    public synchronized void execute(Runnable command) {
+        if (mClosed) {
+            Log.w(TAG, mName + " is closed, dropping task");
+            return;
+        }
+        mPending.add(command);
+        if (mActive == null) scheduleNext();
+    }
+
+    /**
+     * Drop the queued tasks and reject new ones, including one submitted to the pool that has
+     * not started yet. A task that is already running finishes. Safe to call more than once.
+     *
+     * <p>Dropped tasks never run: an owner whose tasks complete callbacks must fail those
+     * callbacks itself.
+     */
+    public synchronized void close() {
+        mClosed = true;
+        mPending.clear();
+        if (mActive != null && mActive.cancelIfNotStarted()) mActive = null;
+    }
+
+    public synchronized boolean isClosed() {
+        return mClosed;
+    }
+
+    private void scheduleNext() {
+        final Runnable next = mPending.poll();
+        if (next == null) {
+            mActive = null;
+            return;
+        }
+        mActive = mPool.submit(() -> {
+            try {
+                next.run();
+            } finally {
+                synchronized (SerialQueue.this) {
+                    scheduleNext();
+                }
+            }
+        }, mPriority);
+    }
+}
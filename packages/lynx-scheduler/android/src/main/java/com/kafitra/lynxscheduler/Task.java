@@ -0,0 +1,171 @@
+package com.kafitra.lynxscheduler;
+
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A unit of work submitted to a {@link TaskPool}.
+ *
+ * <p>Cancelling a task that has not started removes it from its queue (or its timer, for a
+ * delayed task); cancelling a running task interrupts its thread.
+ */
+public final class Task implements Runnable, Comparable<Task> {
+
+    private static final AtomicLong sSeq = new AtomicLong();
+
+    private static final int DELAYED = 0;
+    private static final int QUEUED = 1;
+    private static final int RUNNING = 2;
+    private static final int DONE = 3;
+    private static final int CANCELLED = 4;
+
+    private final Runnable mBody;
+    private final long mSeq = sSeq.getAndIncrement();
+
+    /** Only changes while the task is out of every queue, so queue order stays consistent. */
+    private volatile Priority mPriority;
+
+    // Guarded by this
+    private int mState;
+    private TaskPool mPool;
+    private Thread mRunner;
+    private ScheduledFuture<?> mTimer;
+    /** When the task became runnable; wait time is measured from here. */
+    private long mQueuedAtNanos;
+
+    Task(Runnable body, TaskPool pool, Priority priority, boolean delayed) {
+        mBody = body;
+        mPool = pool;
+        mPriority = priority;
+        mState = delayed ? DELAYED : QUEUED;
+        mQueuedAtNanos = System.nanoTime();
+    }
+
+    public Priority getPriority() {
+        return mPriority;
+    }
+
+    /** Whether the task finished running or was cancelled. */
+    public synchronized boolean isDone() {
+        return mState == DONE || mState == CANCELLED;
+    }
+
+    public synchronized boolean isCancelled() {
+        return mState == CANCELLED;
+    }
+
+    /**
+     * Cancel the task. Returns {@code false} if it had already finished or been cancelled.
+     */
+    public boolean cancel() {
+        return cancel(true);
+    }
+
+    /**
+     * Cancel the task only if it has not started. Returns {@code false} if it is running, has
+     * finished or was already cancelled; a running task is not interrupted.
+     */
+    boolean cancelIfNotStarted() {
+        return cancel(false);
+    }
+
+    private boolean cancel(boolean interruptRunning) {
+        TaskPool pool;
+        boolean queued = false;
+        synchronized (this) {
+            pool = mPool;
+            switch (mState) {
+                case DELAYED:
+                    if (mTimer != null) mTimer.cancel(false);
+                    break;
+                case QUEUED:
+                    queued = true;
+                    break;
+                case RUNNING:
+                    if (!interruptRunning) return false;
+                    mRunner.interrupt();
+                    break;
+                default:
+                    return false;
+            }
+            mState = CANCELLED;
+        }
+        if (queued) pool.dequeue(this);
+        pool.recordCancelled();
+        return true;
+    }
+
+    /**
+     * Move a task that has not started to {@code priority} on {@code pool}, which may be the
+     * pool it is queued on. Returns {@code false} if the task already started, finished or was
+     * cancelled, and was left alone.
+     */
+    public boolean requeue(TaskPool pool, Priority priority) {
+        TaskPool from;
+        synchronized (this) {
+            if (mState != QUEUED && mState != DELAYED) return false;
+            from = mPool;
+            // The queue orders on insertion, so the task has to be re-inserted to move.
+            if (mState == QUEUED && !from.dequeue(this)) return false;
+            mPool = pool;
+            mPriority = priority;
+            if (mState == DELAYED) return true;
+        }
+        pool.enqueue(this, from != pool);
+        return true;
+    }
+
+    // --- TaskPool -------------------------------------------------------------------------
+
+    synchronized TaskPool pool() {
+        return mPool;
+    }
+
+    synchronized void setTimer(ScheduledFuture<?> timer) {
+        mTimer = timer;
+    }
+
+    /** Called by the timer of a delayed task; false if it was cancelled meanwhile. */
+    synchronized boolean promote() {
+        if (mState != DELAYED) return false;
+        mState = QUEUED;
+        mQueuedAtNanos = System.nanoTime();
+        return true;
+    }
+
+    @Override
+    public void run() {
+        TaskPool pool;
+        long waitNanos;
+        synchronized (this) {
+            if (mState != QUEUED) return;
+            mState = RUNNING;
+            mRunner = Thread.currentThread();
+            pool = mPool;
+            waitNanos = System.nanoTime() - mQueuedAtNanos;
+        }
+        long start = System.nanoTime();
+        try {
+            mBody.run();
+        } finally {
+            long runNanos = System.nanoTime() - start;
+            boolean completed;
+            synchronized (this) {
+                mRunner = null;
+                // A task cancelled while running was already counted by cancel().
+                completed = mState == RUNNING;
+                if (completed) mState = DONE;
+                // Don't leak a late interrupt into the next task on this pooled thread.
+                Thread.interrupted();
+            }
+            if (completed) pool.recordCompleted(waitNanos, runNanos);
+        }
+    }
+
+    @Override
+    public int compareTo(Task other) {
+        int byPriority = mPriority.compareTo(other.mPriority);
+        if (byPriority != 0) return byPriority;
+        return Long.compare(mSeq, other.mSeq);
+    }
+}
@@ -0,0 +1,194 @@
+package com.kafitra.lynxscheduler;
+
+import android.os.Process;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * TaskPool — a bounded pool of named daemon threads with a {@link Priority}-ordered queue and
+ * queue-depth and latency metrics.
+ *
+ * <p>At most {@link #getSize()} tasks run at once; the rest wait, ordered by priority, then
+ * submission order. Idle threads exit after a keep-alive, so a pool nobody uses holds no
+ * threads. The pools are process-wide and never shut down; get them from {@link LynxScheduler}.
+ * Work tied to an object's lifetime goes through a {@link SerialQueue} or keeps its
+ * {@link Task} and is cancelled with the object.
+ */
+public final class TaskPool implements Executor {
+
+    private static final long KEEP_ALIVE_SECONDS = 30;
+    /** Wait-time histogram: bucket {@code i} counts waits under {@code 2^i} ms, the last one the rest. */
+    private static final int WAIT_BUCKETS = 13;
+
+    private final String mName;
+    private final int mSize;
+    private final ThreadPoolExecutor mExecutor;
+
+    private final AtomicLong mSubmitted = new AtomicLong();
+    private final AtomicLong mCompleted = new AtomicLong();
+    private final AtomicLong mCancelled = new AtomicLong();
+    private final AtomicInteger mPeakQueued = new AtomicInteger();
+    private final AtomicLong mTotalWaitNanos = new AtomicLong();
+    private final AtomicLong mMaxWaitNanos = new AtomicLong();
+    private final AtomicLong mTotalRunNanos = new AtomicLong();
+    private final AtomicLong mMaxRunNanos = new AtomicLong();
+    private final AtomicLongArray mWaitHistogram = new AtomicLongArray(WAIT_BUCKETS);
+
+    TaskPool(String name, int size, final int threadPriority) {
+        mName = name;
+        mSize = size;
+        final AtomicInteger threadCount = new AtomicInteger();
+        ThreadFactory factory = r -> {
+            Thread thread = new Thread(() -> {
+                Process.setThreadPriority(threadPriority);
+                r.run();
+            }, name + "-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+        mExecutor = new ThreadPoolExecutor(size, size, KEEP_ALIVE_SECONDS, TimeUnit.SECONDS,
+                new PriorityBlockingQueue<Runnable>(), factory);
+        mExecutor.allowCoreThreadTimeOut(true);
+    }
+
+    public String getName() {
+        return mName;
+    }
+
+    /** Maximum number of tasks running at once. */
+    public int getSize() {
+        return mSize;
+    }
+
+    /** Queue {@code command} at {@link Priority#NORMAL}. */
+    @Override
+    public void execute(Runnable command) {
+        submit(command, Priority.NORMAL);
+    }
+
+    /** Queue {@code body} at {@code priority}. */
+    public Task submit(Runnable body, Priority priority) {
+        Task task = new Task(body, this, priority, false);
+        enqueue(task, true);
+        return task;
+    }
+
+    /**
+     * Queue {@code body} at {@code priority} once {@code delayMs} has passed. Until then the
+     * task holds no pool thread; all pools share one timer thread.
+     */
+    public Task schedule(Runnable body, long delayMs, Priority priority) {
+        final Task task = new Task(body, this, priority, true);
+        task.setTimer(Timer.INSTANCE.schedule(() -> {
+            if (task.promote()) task.pool().enqueue(task, true);
+        }, Math.max(0, delayMs), TimeUnit.MILLISECONDS));
+        return task;
+    }
+
+    /**
+     * A queue on this pool that runs its tasks one at a time, in order, at {@code priority}.
+     * Use it instead of a private single-thread executor.
+     */
+    public SerialQueue newSerialQueue(String name, Priority priority) {
+        return new SerialQueue(this, name, priority);
+    }
+
+    /** Counters since the pool was created, and the current queue depth. */
+    public PoolMetrics getMetrics() {
+        long completed = mCompleted.get();
+        return new PoolMetrics(mName, mSize,
+                mExecutor.getActiveCount(),
+                mExecutor.getQueue().size(),
+                mPeakQueued.get(),
+                mSubmitted.get(),
+                completed,
+                mCancelled.get(),
+                completed == 0 ? 0 : mTotalWaitNanos.get() / completed,
+                waitPercentileNanos(0.95),
+                mMaxWaitNanos.get(),
+                completed == 0 ? 0 : mTotalRunNanos.get() / completed,
+                mMaxRunNanos.get());
+    }
+
+    // --- Task -----------------------------------------------------------------------------
+
+    void enqueue(Task task, boolean countSubmitted) {
+        if (countSubmitted) mSubmitted.incrementAndGet();
+        mExecutor.execute(task);
+        updateMax(mPeakQueued, mExecutor.getQueue().size());
+    }
+
+    boolean dequeue(Task task) {
+        return mExecutor.remove(task);
+    }
+
+    void recordCompleted(long waitNanos, long runNanos) {
+        mCompleted.incrementAndGet();
+        mTotalWaitNanos.addAndGet(waitNanos);
+        mTotalRunNanos.addAndGet(runNanos);
+        updateMax(mMaxWaitNanos, waitNanos);
+        updateMax(mMaxRunNanos, runNanos);
+        long waitMs = TimeUnit.NANOSECONDS.toMillis(waitNanos);
+        int bucket = 0;
+        while (bucket < WAIT_BUCKETS - 1 && waitMs >= (1L << bucket)) bucket++;
+        mWaitHistogram.incrementAndGet(bucket);
+    }
+
+    void recordCancelled() {
+        mCancelled.incrementAndGet();
+    }
+
+    /** Upper bound of the histogram bucket holding the {@code p} quantile, capped at the max. */
+    private long waitPercentileNanos(double p) {
+        long total = 0;
+        for (int i = 0; i < WAIT_BUCKETS; i++) total += mWaitHistogram.get(i);
+        if (total == 0) return 0;
+        long rank = (long) Math.ceil(p * total);
+        long seen = 0;
+        long max = mMaxWaitNanos.get();
+        for (int i = 0; i < WAIT_BUCKETS - 1; i++) {
+            seen += mWaitHistogram.get(i);
+            if (seen >= rank) return Math.min(max, TimeUnit.MILLISECONDS.toNanos(1L << i));
+        }
+        return max;
+    }
+
+    private static void updateMax(AtomicLong max, long value) {
+        long current;
+        while (value > (current = max.get()) && !max.compareAndSet(current, value)) {
+            // retry
+        }
+    }
+
+    private static void updateMax(AtomicInteger max, int value) {
+        int current;
+        while (value > (current = max.get()) && !max.compareAndSet(current, value)) {
+            // retry
+        }
+    }
+
+    /** The one timer thread behind {@link #schedule}; it only moves tasks into their pool. */
+    private static final class Timer {
+        static final ScheduledThreadPoolExecutor INSTANCE = newTimer();
+
+        private static ScheduledThreadPoolExecutor newTimer() {
+            ScheduledThreadPoolExecutor timer = new ScheduledThreadPoolExecutor(1, r -> {
+                Thread thread = new Thread(r, "LynxTimer");
+                thread.setDaemon(true);
+                return thread;
+            });
+            timer.setRemoveOnCancelPolicy(true);
+            timer.setKeepAliveTime(KEEP_ALIVE_SECONDS, TimeUnit.SECONDS);
+            timer.allowCoreThreadTimeOut(true);
+            return timer;
+        }
+    }
+}
@@ -22,20 +22,28 @@ import java.util.Map;
  * </pre>
  *
  * <p>All values are stored as Strings under the shared preferences file
- * {@code kafitra_lynx_storage}.</p>
+ * {@code kafitra_lynx_storage}. The file is opened when the module is created,
+ * which starts the platform's own background load; the first call from JS
+ * still waits if that load has not finished. Writes are applied in memory at
+ * once and flushed to disk in the background.</p>
  */
 public class LynxStorageModule extends LynxModule {
 
     private static final String PREFS_NAME = "kafitra_lynx_storage";
     private final Context mContext;
+    /** Kept instead of looked up by name on every call. */
+    private final SharedPreferences mPrefs;
 
     public LynxStorageModule(Context context) {
         super(context);
         this.mContext = context;
+        // getSharedPreferences() loads the file on a thread of its own; opening it here gives
+        // that load a head start before the first call from JS.
+        mPrefs = context.getSharedPreferences(PREFS_NAME, Context.MODE_PRIVATE);
     }
 
     private SharedPreferences prefs() {
-        return mContext.getSharedPreferences(PREFS_NAME, Context.MODE_PRIVATE);
+        return mPrefs;
     }
 
     /**